@@ -0,0 +1,394 @@
+package io.atlassian.fugue.extensions.functions;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Memoizers for the multi-argument functions {@link Function3},
+ * {@link Function4}, {@link Function5} and {@link Function6}.
+ * <p>
+ * Each memoizer caches the result for every distinct combination of arguments
+ * in a hash table specialised for its arity. The arguments are hashed and
+ * compared in place, so a lookup does not allocate a composite key such as a
+ * tuple or {@link io.atlassian.fugue.Pair}. Lookups are lock-free; computing a
+ * missing result happens outside any lock, so concurrent callers may compute
+ * the same result more than once but all of them return the one that was
+ * stored first.
+ * <p>
+ * Results are held strongly for as long as the memoized function is reachable,
+ * so the cache grows with the number of distinct argument combinations. Like
+ * any cache key, the argument types should be values, that is they should be
+ * immutable and have correct hashcode and equals implementations. Null
+ * arguments and null results are permitted.
+ *
+ * @since 5.0.0
+ */
+public final class Memoizers {
+
+  private Memoizers() {
+    throw new UnsupportedOperationException("This class is not instantiable.");
+  }
+
+  /**
+   * Memoizes a three argument function.
+   *
+   * @param f the function who's output will be memoized, must not be null
+   * @param <A> the type of the first argument to the function
+   * @param <B> the type of the second argument to the function
+   * @param <C> the type of the third argument to the function
+   * @param <Z> the type of the result of the function
+   * @return a function that memoizes the results of f
+   */
+  public static <A, B, C, Z> Function3<A, B, C, Z> memoize(final Function3<A, B, C, Z> f) {
+    return (f instanceof Memoized3) ? f : new Memoized3<>(f);
+  }
+
+  /**
+   * Memoizes a four argument function.
+   *
+   * @param f the function who's output will be memoized, must not be null
+   * @param <A> the type of the first argument to the function
+   * @param <B> the type of the second argument to the function
+   * @param <C> the type of the third argument to the function
+   * @param <D> the type of the fourth argument to the function
+   * @param <Z> the type of the result of the function
+   * @return a function that memoizes the results of f
+   */
+  public static <A, B, C, D, Z> Function4<A, B, C, D, Z> memoize(final Function4<A, B, C, D, Z> f) {
+    return (f instanceof Memoized4) ? f : new Memoized4<>(f);
+  }
+
+  /**
+   * Memoizes a five argument function.
+   *
+   * @param f the function who's output will be memoized, must not be null
+   * @param <A> the type of the first argument to the function
+   * @param <B> the type of the second argument to the function
+   * @param <C> the type of the third argument to the function
+   * @param <D> the type of the fourth argument to the function
+   * @param <E> the type of the fifth argument to the function
+   * @param <Z> the type of the result of the function
+   * @return a function that memoizes the results of f
+   */
+  public static <A, B, C, D, E, Z> Function5<A, B, C, D, E, Z> memoize(final Function5<A, B, C, D, E, Z> f) {
+    return (f instanceof Memoized5) ? f : new Memoized5<>(f);
+  }
+
+  /**
+   * Memoizes a six argument function.
+   *
+   * @param f the function who's output will be memoized, must not be null
+   * @param <A> the type of the first argument to the function
+   * @param <B> the type of the second argument to the function
+   * @param <C> the type of the third argument to the function
+   * @param <D> the type of the fourth argument to the function
+   * @param <E> the type of the fifth argument to the function
+   * @param <F> the type of the sixth argument to the function
+   * @param <Z> the type of the result of the function
+   * @return a function that memoizes the results of f
+   */
+  public static <A, B, C, D, E, F, Z> Function6<A, B, C, D, E, F, Z> memoize(final Function6<A, B, C, D, E, F, Z> f) {
+    return (f instanceof Memoized6) ? f : new Memoized6<>(f);
+  }
+
+  static int hash(final int h, final Object o) {
+    return 31 * h + Objects.hashCode(o);
+  }
+
+  // spread the higher bits down, as the table index only uses the lower ones
+  static int spread(final int h) {
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Hash table shared by the arity specific memoizers. Entries are immutable
+   * and form a linked list per bucket. Readers traverse the buckets without
+   * locking, writers insert at the head of a bucket and resize while holding
+   * the table's monitor, publishing a new bucket array when they resize.
+   *
+   * @param <E> the entry type
+   */
+  static abstract class Table<E extends Table.Entry<E>> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile AtomicReferenceArray<E> buckets = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private int size;
+
+    final E head(final int hash) {
+      final AtomicReferenceArray<E> b = buckets;
+      return b.get(hash & (b.length() - 1));
+    }
+
+    /**
+     * Add an entry to the head of its bucket. Must be called while holding the
+     * monitor, after checking that no equal entry exists.
+     *
+     * @param hash the hash of the entry's arguments
+     * @param entry the entry, whose next is the current head of the bucket
+     */
+    final void add(final int hash, final E entry) {
+      final AtomicReferenceArray<E> b = buckets;
+      b.set(hash & (b.length() - 1), entry);
+      if (++size > (b.length() >> 2) * 3) {
+        resize(b);
+      }
+    }
+
+    private void resize(final AtomicReferenceArray<E> old) {
+      final AtomicReferenceArray<E> b = new AtomicReferenceArray<>(old.length() << 1);
+      final int mask = b.length() - 1;
+      for (int i = 0; i < old.length(); i++) {
+        for (E e = old.get(i); e != null; e = e.next) {
+          final int index = e.hash & mask;
+          b.set(index, e.withNext(b.get(index)));
+        }
+      }
+      buckets = b;
+    }
+
+    /**
+     * A memoized result and its arguments.
+     *
+     * @param <E> the entry type
+     */
+    static abstract class Entry<E extends Entry<E>> {
+      final int hash;
+      final E next;
+
+      Entry(final int hash, final E next) {
+        this.hash = hash;
+        this.next = next;
+      }
+
+      /**
+       * Copy this entry in front of another bucket, used when resizing.
+       *
+       * @param next the new next entry
+       * @return a copy of this entry
+       */
+      abstract E withNext(E next);
+    }
+  }
+
+  static final class Memoized3<A, B, C, Z> extends Table<Memoized3.Entry3<A, B, C, Z>> implements Function3<A, B, C, Z> {
+    private final Function3<A, B, C, Z> f;
+
+    Memoized3(final Function3<A, B, C, Z> f) {
+      this.f = requireNonNull(f, "f");
+    }
+
+    @Override public Z apply(final A a, final B b, final C c) {
+      final int hash = spread(hash(hash(hash(0, a), b), c));
+      for (Entry3<A, B, C, Z> e = head(hash); e != null; e = e.next) {
+        if (e.hash == hash && e.matches(a, b, c)) {
+          return e.value;
+        }
+      }
+      final Z z = f.apply(a, b, c);
+      synchronized (this) {
+        final Entry3<A, B, C, Z> head = head(hash);
+        for (Entry3<A, B, C, Z> e = head; e != null; e = e.next) {
+          if (e.hash == hash && e.matches(a, b, c)) {
+            return e.value;
+          }
+        }
+        add(hash, new Entry3<>(hash, a, b, c, z, head));
+      }
+      return z;
+    }
+
+    static final class Entry3<A, B, C, Z> extends Table.Entry<Entry3<A, B, C, Z>> {
+      final A a;
+      final B b;
+      final C c;
+      final Z value;
+
+      Entry3(final int hash, final A a, final B b, final C c, final Z value, final Entry3<A, B, C, Z> next) {
+        super(hash, next);
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.value = value;
+      }
+
+      boolean matches(final A a, final B b, final C c) {
+        return Objects.equals(this.a, a) && Objects.equals(this.b, b) && Objects.equals(this.c, c);
+      }
+
+      @Override Entry3<A, B, C, Z> withNext(final Entry3<A, B, C, Z> next) {
+        return new Entry3<>(hash, a, b, c, value, next);
+      }
+    }
+  }
+
+  static final class Memoized4<A, B, C, D, Z> extends Table<Memoized4.Entry4<A, B, C, D, Z>> implements Function4<A, B, C, D, Z> {
+    private final Function4<A, B, C, D, Z> f;
+
+    Memoized4(final Function4<A, B, C, D, Z> f) {
+      this.f = requireNonNull(f, "f");
+    }
+
+    @Override public Z apply(final A a, final B b, final C c, final D d) {
+      final int hash = spread(hash(hash(hash(hash(0, a), b), c), d));
+      for (Entry4<A, B, C, D, Z> e = head(hash); e != null; e = e.next) {
+        if (e.hash == hash && e.matches(a, b, c, d)) {
+          return e.value;
+        }
+      }
+      final Z z = f.apply(a, b, c, d);
+      synchronized (this) {
+        final Entry4<A, B, C, D, Z> head = head(hash);
+        for (Entry4<A, B, C, D, Z> e = head; e != null; e = e.next) {
+          if (e.hash == hash && e.matches(a, b, c, d)) {
+            return e.value;
+          }
+        }
+        add(hash, new Entry4<>(hash, a, b, c, d, z, head));
+      }
+      return z;
+    }
+
+    static final class Entry4<A, B, C, D, Z> extends Table.Entry<Entry4<A, B, C, D, Z>> {
+      final A a;
+      final B b;
+      final C c;
+      final D d;
+      final Z value;
+
+      Entry4(final int hash, final A a, final B b, final C c, final D d, final Z value, final Entry4<A, B, C, D, Z> next) {
+        super(hash, next);
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+        this.value = value;
+      }
+
+      boolean matches(final A a, final B b, final C c, final D d) {
+        return Objects.equals(this.a, a) && Objects.equals(this.b, b) && Objects.equals(this.c, c) && Objects.equals(this.d, d);
+      }
+
+      @Override Entry4<A, B, C, D, Z> withNext(final Entry4<A, B, C, D, Z> next) {
+        return new Entry4<>(hash, a, b, c, d, value, next);
+      }
+    }
+  }
+
+  static final class Memoized5<A, B, C, D, E, Z> extends Table<Memoized5.Entry5<A, B, C, D, E, Z>> implements Function5<A, B, C, D, E, Z> {
+    private final Function5<A, B, C, D, E, Z> f;
+
+    Memoized5(final Function5<A, B, C, D, E, Z> f) {
+      this.f = requireNonNull(f, "f");
+    }
+
+    @Override public Z apply(final A a, final B b, final C c, final D d, final E e) {
+      final int hash = spread(hash(hash(hash(hash(hash(0, a), b), c), d), e));
+      for (Entry5<A, B, C, D, E, Z> x = head(hash); x != null; x = x.next) {
+        if (x.hash == hash && x.matches(a, b, c, d, e)) {
+          return x.value;
+        }
+      }
+      final Z z = f.apply(a, b, c, d, e);
+      synchronized (this) {
+        final Entry5<A, B, C, D, E, Z> head = head(hash);
+        for (Entry5<A, B, C, D, E, Z> x = head; x != null; x = x.next) {
+          if (x.hash == hash && x.matches(a, b, c, d, e)) {
+            return x.value;
+          }
+        }
+        add(hash, new Entry5<>(hash, a, b, c, d, e, z, head));
+      }
+      return z;
+    }
+
+    static final class Entry5<A, B, C, D, E, Z> extends Table.Entry<Entry5<A, B, C, D, E, Z>> {
+      final A a;
+      final B b;
+      final C c;
+      final D d;
+      final E e;
+      final Z value;
+
+      Entry5(final int hash, final A a, final B b, final C c, final D d, final E e, final Z value, final Entry5<A, B, C, D, E, Z> next) {
+        super(hash, next);
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+        this.e = e;
+        this.value = value;
+      }
+
+      boolean matches(final A a, final B b, final C c, final D d, final E e) {
+        return Objects.equals(this.a, a) && Objects.equals(this.b, b) && Objects.equals(this.c, c) && Objects.equals(this.d, d)
+          && Objects.equals(this.e, e);
+      }
+
+      @Override Entry5<A, B, C, D, E, Z> withNext(final Entry5<A, B, C, D, E, Z> next) {
+        return new Entry5<>(hash, a, b, c, d, e, value, next);
+      }
+    }
+  }
+
+  static final class Memoized6<A, B, C, D, E, F, Z> extends Table<Memoized6.Entry6<A, B, C, D, E, F, Z>> implements
+    Function6<A, B, C, D, E, F, Z> {
+    private final Function6<A, B, C, D, E, F, Z> f;
+
+    Memoized6(final Function6<A, B, C, D, E, F, Z> f) {
+      this.f = requireNonNull(f, "f");
+    }
+
+    @Override public Z apply(final A a, final B b, final C c, final D d, final E e, final F g) {
+      final int hash = spread(hash(hash(hash(hash(hash(hash(0, a), b), c), d), e), g));
+      for (Entry6<A, B, C, D, E, F, Z> x = head(hash); x != null; x = x.next) {
+        if (x.hash == hash && x.matches(a, b, c, d, e, g)) {
+          return x.value;
+        }
+      }
+      final Z z = f.apply(a, b, c, d, e, g);
+      synchronized (this) {
+        final Entry6<A, B, C, D, E, F, Z> head = head(hash);
+        for (Entry6<A, B, C, D, E, F, Z> x = head; x != null; x = x.next) {
+          if (x.hash == hash && x.matches(a, b, c, d, e, g)) {
+            return x.value;
+          }
+        }
+        add(hash, new Entry6<>(hash, a, b, c, d, e, g, z, head));
+      }
+      return z;
+    }
+
+    static final class Entry6<A, B, C, D, E, F, Z> extends Table.Entry<Entry6<A, B, C, D, E, F, Z>> {
+      final A a;
+      final B b;
+      final C c;
+      final D d;
+      final E e;
+      final F f;
+      final Z value;
+
+      Entry6(final int hash, final A a, final B b, final C c, final D d, final E e, final F f, final Z value,
+        final Entry6<A, B, C, D, E, F, Z> next) {
+        super(hash, next);
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+        this.e = e;
+        this.f = f;
+        this.value = value;
+      }
+
+      boolean matches(final A a, final B b, final C c, final D d, final E e, final F f) {
+        return Objects.equals(this.a, a) && Objects.equals(this.b, b) && Objects.equals(this.c, c) && Objects.equals(this.d, d)
+          && Objects.equals(this.e, e) && Objects.equals(this.f, f);
+      }
+
+      @Override Entry6<A, B, C, D, E, F, Z> withNext(final Entry6<A, B, C, D, E, F, Z> next) {
+        return new Entry6<>(hash, a, b, c, d, e, f, value, next);
+      }
+    }
+  }
+}
@@ -0,0 +1,278 @@
+package io.atlassian.fugue.extensions.sketch;
+
+import io.atlassian.fugue.CommutativeMonoid;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Approximate counts of how often items occur, a Count-Min sketch. A sketch
+ * is a table of {@code depth} rows of {@code width} counters, and an item is
+ * counted once in every row, in a column picked by a different hash of it per
+ * row. An item's estimate is the smallest of its counters, which is never
+ * less than its count, and with probability {@code 1 - e^-depth} exceeds it
+ * by at most {@code e / width} of the {@link #total() total} count.
+ * <p>
+ * Sketches are immutable values of the commutative
+ * {@link #monoid(int, int) monoid}, which adds the counters, so the sketches
+ * of shards merge into exactly the sketch of all of their items. Sketches of
+ * different dimensions cannot be merged. A sketch of a single item doesn't
+ * allocate its table.
+ *
+ * @since 5.0.0
+ */
+public final class CountMinSketch {
+
+  /**
+   * The monoid of sketches of some dimensions, which merges them. Its zero is
+   * the empty sketch and its accumulator adds into a single table.
+   *
+   * @param depth the number of rows, at least one
+   * @param width the number of counters in a row, at least one
+   * @return a monoid of sketches
+   */
+  public static CommutativeMonoid<CountMinSketch> monoid(final int depth, final int width) {
+    final CountMinSketch zero = empty(depth, width);
+    return new CommutativeMonoid<CountMinSketch>() {
+      @Override public CountMinSketch append(final CountMinSketch s1, final CountMinSketch s2) {
+        return s1.merge(s2);
+      }
+
+      @Override public CountMinSketch zero() {
+        return zero;
+      }
+
+      @Override public Accumulator<CountMinSketch> accumulator() {
+        return new Accumulator<CountMinSketch>() {
+          private final long[] counters = new long[depth * width];
+
+          @Override public void add(final CountMinSketch s) {
+            s.addInto(depth, width, counters, 1);
+          }
+
+          @Override public CountMinSketch result() {
+            return new CountMinSketch(depth, width, counters.clone());
+          }
+        };
+      }
+
+      @Override public CountMinSketch multiply(final int n, final CountMinSketch s) {
+        if (n <= 0) {
+          return zero;
+        }
+        final long[] product = new long[depth * width];
+        s.addInto(depth, width, product, n);
+        return new CountMinSketch(depth, width, product);
+      }
+    };
+  }
+
+  /**
+   * The sketch of no items.
+   *
+   * @param depth the number of rows, at least one
+   * @param width the number of counters in a row, at least one
+   * @return an empty sketch
+   */
+  public static CountMinSketch empty(final int depth, final int width) {
+    return new CountMinSketch(depth, width, 0L, 0L);
+  }
+
+  /**
+   * The sketch of a single occurrence of an item.
+   *
+   * @param depth the number of rows, at least one
+   * @param width the number of counters in a row, at least one
+   * @param item the item, hashed by its hash code
+   * @return a sketch of the item
+   */
+  public static CountMinSketch of(final int depth, final int width, final Object item) {
+    return ofHash(depth, width, Hashing.hash(requireNonNull(item, "item")), 1);
+  }
+
+  /**
+   * The sketch of an item that occurred a number of times, from its 64 bit
+   * hash, which must be uniformly distributed.
+   *
+   * @param depth the number of rows, at least one
+   * @param width the number of counters in a row, at least one
+   * @param hash the item's hash
+   * @param count how many times the item occurred, not negative
+   * @return a sketch of the item
+   */
+  public static CountMinSketch ofHash(final int depth, final int width, final long hash, final long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must not be negative: " + count);
+    }
+    return new CountMinSketch(depth, width, hash, count);
+  }
+
+  private final int depth;
+  private final int width;
+  // the counters row by row, or null for a sketch of a single item
+  private final long[] counters;
+  private final long hash;
+  private final long count;
+
+  private CountMinSketch(final int depth, final int width, final long[] counters) {
+    this.depth = depth;
+    this.width = width;
+    this.counters = counters;
+    this.hash = 0L;
+    this.count = 0L;
+  }
+
+  private CountMinSketch(final int depth, final int width, final long hash, final long count) {
+    if (depth < 1 || width < 1 || (long) depth * width > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("depth and width must be positive and their product an int: " + depth + ", " + width);
+    }
+    this.depth = depth;
+    this.width = width;
+    this.counters = null;
+    this.hash = hash;
+    this.count = count;
+  }
+
+  /**
+   * The number of rows.
+   *
+   * @return the depth
+   */
+  public int depth() {
+    return depth;
+  }
+
+  /**
+   * The number of counters in a row.
+   *
+   * @return the width
+   */
+  public int width() {
+    return width;
+  }
+
+  /**
+   * The estimated number of occurrences of an item, never less than the
+   * actual number.
+   *
+   * @param item the item, hashed by its hash code
+   * @return the estimate
+   */
+  public long estimate(final Object item) {
+    return estimateHash(Hashing.hash(requireNonNull(item, "item")));
+  }
+
+  /**
+   * The estimated number of occurrences of an item from its 64 bit hash.
+   *
+   * @param hash the item's hash
+   * @return the estimate
+   */
+  public long estimateHash(final long hash) {
+    if (counters == null) {
+      return (hash == this.hash) ? count : 0L;
+    }
+    long min = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      min = Math.min(min, counters[row * width + column(hash, row, width)]);
+    }
+    return min;
+  }
+
+  /**
+   * The number of occurrences of all items.
+   *
+   * @return the total count
+   */
+  public long total() {
+    if (counters == null) {
+      return count;
+    }
+    long total = 0L;
+    for (int column = 0; column < width; column++) {
+      total += counters[column];
+    }
+    return total;
+  }
+
+  /**
+   * Merge with another sketch, the result is the sketch of the occurrences
+   * of both.
+   *
+   * @param that the sketch to merge with, of the same dimensions
+   * @return the merged sketch
+   * @throws IllegalArgumentException if the dimensions differ
+   */
+  public CountMinSketch merge(final CountMinSketch that) {
+    checkSameDimensions(that.depth, that.width);
+    if (that.isEmpty()) {
+      return this;
+    }
+    if (isEmpty()) {
+      return that;
+    }
+    final long[] merged = counters();
+    that.addInto(depth, width, merged, 1);
+    return new CountMinSketch(depth, width, merged);
+  }
+
+  @Override public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof CountMinSketch)) {
+      return false;
+    }
+    final CountMinSketch that = (CountMinSketch) obj;
+    return depth == that.depth && width == that.width && Arrays.equals(counters(), that.counters());
+  }
+
+  @Override public int hashCode() {
+    return 31 * (31 * depth + width) + Arrays.hashCode(counters());
+  }
+
+  @Override public String toString() {
+    return "CountMinSketch(" + depth + "x" + width + ", " + total() + ")";
+  }
+
+  private boolean isEmpty() {
+    return counters == null && count == 0L;
+  }
+
+  // a copy of the counters
+  private long[] counters() {
+    if (counters != null) {
+      return counters.clone();
+    }
+    final long[] cs = new long[depth * width];
+    addInto(depth, width, cs, 1);
+    return cs;
+  }
+
+  private void addInto(final int depth, final int width, final long[] into, final int times) {
+    checkSameDimensions(depth, width);
+    if (counters == null) {
+      final long n = count * times;
+      for (int row = 0; row < depth; row++) {
+        into[row * width + column(hash, row, width)] += n;
+      }
+      return;
+    }
+    for (int i = 0; i < into.length; i++) {
+      into[i] += counters[i] * times;
+    }
+  }
+
+  private void checkSameDimensions(final int depth, final int width) {
+    if (this.depth != depth || this.width != width) {
+      throw new IllegalArgumentException("Cannot merge sketches of " + this.depth + "x" + this.width + " and " + depth + "x" + width);
+    }
+  }
+
+  // the row's hash is a combination of the two halves of the item's hash
+  private static int column(final long hash, final int row, final int width) {
+    final int combined = (int) hash + row * (int) (hash >>> 32);
+    return ((combined < 0) ? ~combined : combined) % width;
+  }
+}
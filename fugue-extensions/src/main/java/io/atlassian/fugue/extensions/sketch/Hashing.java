@@ -0,0 +1,33 @@
+package io.atlassian.fugue.extensions.sketch;
+
+/**
+ * The 64 bit hashes the sketches are built from.
+ */
+final class Hashing {
+  // /CLOVER:OFF
+
+  private Hashing() {}
+
+  // /CLOVER:ON
+
+  /**
+   * Spreads an item's hash code over 64 bits. Only 2^32 items can be told
+   * apart this way, callers with more distinct items should hash them
+   * themselves.
+   */
+  static long hash(final Object item) {
+    return mix(item.hashCode());
+  }
+
+  /**
+   * The MurmurHash3 finalizer, every input bit affects every output bit.
+   */
+  static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,272 @@
+package io.atlassian.fugue.extensions.sketch;
+
+import io.atlassian.fugue.CommutativeMonoid;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An approximate count of distinct items, a HyperLogLog sketch. A sketch of
+ * precision {@code p} takes {@code 2^p} bytes however many items it has seen,
+ * and estimates their number with a standard error of about
+ * {@code 1.04 / sqrt(2^p)}, 1.6% at the default precision of 12.
+ * <p>
+ * Sketches are immutable values of the commutative {@link #monoid(int)
+ * monoid}, so the sketches of shards can be merged associatively into the
+ * sketch of their union, exactly as if it had been built from all of the
+ * items. Sketches of different precisions cannot be merged. A sketch of a
+ * single item doesn't allocate its registers.
+ *
+ * @since 5.0.0
+ */
+public final class HyperLogLog {
+  /**
+   * The precision that {@link #of(Object)} uses.
+   */
+  public static final int DEFAULT_PRECISION = 12;
+
+  private static final int MIN_PRECISION = 4;
+  private static final int MAX_PRECISION = 18;
+
+  /**
+   * The monoid of sketches of a precision, which merges them. Its zero is the
+   * empty sketch and its accumulator merges into a single set of registers.
+   *
+   * @param precision the number of bits of the hash that pick a register,
+   * between 4 and 18
+   * @return a monoid of sketches
+   */
+  public static CommutativeMonoid<HyperLogLog> monoid(final int precision) {
+    final HyperLogLog zero = empty(precision);
+    return new CommutativeMonoid<HyperLogLog>() {
+      @Override public HyperLogLog append(final HyperLogLog s1, final HyperLogLog s2) {
+        return s1.merge(s2);
+      }
+
+      @Override public HyperLogLog zero() {
+        return zero;
+      }
+
+      @Override public Accumulator<HyperLogLog> accumulator() {
+        return new Accumulator<HyperLogLog>() {
+          private final byte[] registers = new byte[1 << precision];
+
+          @Override public void add(final HyperLogLog s) {
+            s.mergeInto(precision, registers);
+          }
+
+          @Override public HyperLogLog result() {
+            return new HyperLogLog(precision, registers.clone());
+          }
+        };
+      }
+
+      @Override public HyperLogLog multiply(final int n, final HyperLogLog s) {
+        // merging is idempotent
+        return n <= 0 ? zero : s;
+      }
+    };
+  }
+
+  /**
+   * The sketch of no items.
+   *
+   * @param precision the precision, between 4 and 18
+   * @return an empty sketch
+   */
+  public static HyperLogLog empty(final int precision) {
+    return new HyperLogLog(checkPrecision(precision), 0, (byte) 0);
+  }
+
+  /**
+   * The sketch of a single item, of the {@link #DEFAULT_PRECISION}.
+   *
+   * @param item the item, hashed by its hash code
+   * @return a sketch of the item
+   */
+  public static HyperLogLog of(final Object item) {
+    return of(DEFAULT_PRECISION, item);
+  }
+
+  /**
+   * The sketch of a single item. The item's hash code is spread over 64 bits,
+   * so counts of more than a few hundred million distinct items should be
+   * built with {@link #ofHash(int, long)} from a wider hash.
+   *
+   * @param precision the precision, between 4 and 18
+   * @param item the item, hashed by its hash code
+   * @return a sketch of the item
+   */
+  public static HyperLogLog of(final int precision, final Object item) {
+    return ofHash(precision, Hashing.hash(requireNonNull(item, "item")));
+  }
+
+  /**
+   * The sketch of a single item from its 64 bit hash, which must be uniformly
+   * distributed.
+   *
+   * @param precision the precision, between 4 and 18
+   * @param hash the item's hash
+   * @return a sketch of the item
+   */
+  public static HyperLogLog ofHash(final int precision, final long hash) {
+    checkPrecision(precision);
+    // the lowest bits of the rest of the hash are one so the rank fits in a byte
+    final long rest = (hash << precision) | (1L << (precision - 1));
+    return new HyperLogLog(precision, (int) (hash >>> (64 - precision)), (byte) (Long.numberOfLeadingZeros(rest) + 1));
+  }
+
+  private final int precision;
+  // the registers, or null for a sketch with at most one non zero register
+  private final byte[] registers;
+  private final int index;
+  private final byte rank;
+
+  private HyperLogLog(final int precision, final byte[] registers) {
+    this.precision = precision;
+    this.registers = registers;
+    this.index = 0;
+    this.rank = 0;
+  }
+
+  private HyperLogLog(final int precision, final int index, final byte rank) {
+    this.precision = precision;
+    this.registers = null;
+    this.index = index;
+    this.rank = rank;
+  }
+
+  /**
+   * The precision of this sketch.
+   *
+   * @return the number of bits of the hash that pick a register
+   */
+  public int precision() {
+    return precision;
+  }
+
+  /**
+   * The estimated number of distinct items.
+   *
+   * @return the estimate
+   */
+  public long estimate() {
+    if (registers == null) {
+      return (rank == 0) ? 0 : 1;
+    }
+    final int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (final byte r : registers) {
+      sum += Math.scalb(1.0, -r);
+      if (r == 0) {
+        zeros++;
+      }
+    }
+    final double estimate = alpha(m) * m * m / sum;
+    // linear counting is more accurate while there are empty registers
+    if (estimate <= 2.5 * m && zeros != 0) {
+      return Math.round(m * Math.log((double) m / zeros));
+    }
+    return Math.round(estimate);
+  }
+
+  /**
+   * Merge with another sketch, the result is the sketch of the items of both.
+   *
+   * @param that the sketch to merge with, of the same precision
+   * @return the merged sketch
+   * @throws IllegalArgumentException if the precisions differ
+   */
+  public HyperLogLog merge(final HyperLogLog that) {
+    checkSamePrecision(that.precision);
+    if (that.isEmpty()) {
+      return this;
+    }
+    if (isEmpty()) {
+      return that;
+    }
+    final byte[] merged = registers();
+    that.mergeInto(precision, merged);
+    return new HyperLogLog(precision, merged);
+  }
+
+  @Override public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof HyperLogLog)) {
+      return false;
+    }
+    final HyperLogLog that = (HyperLogLog) obj;
+    if (precision != that.precision) {
+      return false;
+    }
+    return (registers == null && that.registers == null) ? (index == that.index || rank == 0) && rank == that.rank : Arrays.equals(registers(),
+      that.registers());
+  }
+
+  @Override public int hashCode() {
+    return 31 * precision + Arrays.hashCode(registers());
+  }
+
+  @Override public String toString() {
+    return "HyperLogLog(" + estimate() + ")";
+  }
+
+  private boolean isEmpty() {
+    return registers == null && rank == 0;
+  }
+
+  // a copy of the registers
+  private byte[] registers() {
+    if (registers != null) {
+      return registers.clone();
+    }
+    final byte[] rs = new byte[1 << precision];
+    rs[index] = rank;
+    return rs;
+  }
+
+  private void mergeInto(final int precision, final byte[] into) {
+    checkSamePrecision(precision);
+    if (registers == null) {
+      if (rank > into[index]) {
+        into[index] = rank;
+      }
+      return;
+    }
+    for (int i = 0; i < into.length; i++) {
+      if (registers[i] > into[i]) {
+        into[i] = registers[i];
+      }
+    }
+  }
+
+  private void checkSamePrecision(final int precision) {
+    if (this.precision != precision) {
+      throw new IllegalArgumentException("Cannot merge sketches of precision " + this.precision + " and " + precision);
+    }
+  }
+
+  private static int checkPrecision(final int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + ": " + precision);
+    }
+    return precision;
+  }
+
+  private static double alpha(final int m) {
+    switch (m) {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / (1 + 1.079 / m);
+    }
+  }
+}
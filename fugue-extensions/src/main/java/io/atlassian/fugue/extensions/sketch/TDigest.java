@@ -0,0 +1,351 @@
+package io.atlassian.fugue.extensions.sketch;
+
+import io.atlassian.fugue.Monoid;
+
+import java.util.Arrays;
+
+/**
+ * Approximate quantiles of a distribution of numbers, a merging t-digest. A
+ * digest summarizes the numbers as a sorted list of centroids, the means and
+ * weights of clusters of neighbouring numbers, which are kept smaller near the
+ * tails so extreme quantiles are more accurate than the median. The number
+ * of centroids is bounded by about the {@code compression}, a digest of
+ * compression 100 is a few kilobytes and typically within a fraction of a
+ * percent in rank of the exact quantile.
+ * <p>
+ * Digests are immutable values of the {@link #monoid(double) monoid}, which
+ * merges them. Unlike the other sketches merging is only associative and
+ * commutative up to the accuracy of the digest, the empty digest is an exact
+ * identity though. Digests of different compressions cannot be merged.
+ *
+ * @since 5.0.0
+ */
+public final class TDigest {
+  /**
+   * The compression that {@link #of(double)} uses.
+   */
+  public static final double DEFAULT_COMPRESSION = 100;
+
+  /**
+   * The monoid of digests of a compression, which merges them. Its zero is
+   * the empty digest and its accumulator buffers the centroids of many
+   * digests before merging them.
+   *
+   * @param compression bounds the number of centroids, at least 1
+   * @return a monoid of digests
+   */
+  public static Monoid<TDigest> monoid(final double compression) {
+    final TDigest zero = empty(compression);
+    return new Monoid<TDigest>() {
+      @Override public TDigest append(final TDigest d1, final TDigest d2) {
+        return d1.merge(d2);
+      }
+
+      @Override public TDigest zero() {
+        return zero;
+      }
+
+      @Override public Accumulator<TDigest> accumulator() {
+        return new Accumulator<TDigest>() {
+          // merge once the buffer holds this many centroids
+          private final int limit = (int) Math.max(64, 8 * compression);
+          private double[] means = new double[16];
+          private double[] weights = new double[16];
+          private int size;
+          private double min = Double.POSITIVE_INFINITY;
+          private double max = Double.NEGATIVE_INFINITY;
+
+          @Override public void add(final TDigest d) {
+            d.checkSameCompression(compression);
+            final int n = d.means.length;
+            if (n == 0) {
+              return;
+            }
+            if (size + n > means.length) {
+              final int capacity = Math.max(size + n, 2 * means.length);
+              means = Arrays.copyOf(means, capacity);
+              weights = Arrays.copyOf(weights, capacity);
+            }
+            System.arraycopy(d.means, 0, means, size, n);
+            System.arraycopy(d.weights, 0, weights, size, n);
+            size += n;
+            min = Math.min(min, d.min);
+            max = Math.max(max, d.max);
+            if (size > limit) {
+              final TDigest merged = compress(compression, means, weights, size, min, max);
+              size = merged.means.length;
+              System.arraycopy(merged.means, 0, means, 0, size);
+              System.arraycopy(merged.weights, 0, weights, 0, size);
+            }
+          }
+
+          @Override public TDigest result() {
+            return (size == 0) ? zero : compress(compression, means.clone(), weights.clone(), size, min, max);
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * The digest of no numbers.
+   *
+   * @param compression bounds the number of centroids, at least 1
+   * @return an empty digest
+   */
+  public static TDigest empty(final double compression) {
+    return new TDigest(checkCompression(compression), new double[0], new double[0], Double.NaN, Double.NaN);
+  }
+
+  /**
+   * The digest of a single number, of the {@link #DEFAULT_COMPRESSION}.
+   *
+   * @param x the number, not NaN
+   * @return a digest of the number
+   */
+  public static TDigest of(final double x) {
+    return of(DEFAULT_COMPRESSION, x);
+  }
+
+  /**
+   * The digest of a single number.
+   *
+   * @param compression bounds the number of centroids, at least 1
+   * @param x the number, not NaN
+   * @return a digest of the number
+   */
+  public static TDigest of(final double compression, final double x) {
+    checkCompression(compression);
+    if (Double.isNaN(x)) {
+      throw new IllegalArgumentException("Cannot digest NaN");
+    }
+    return new TDigest(compression, new double[] { x }, new double[] { 1 }, x, x);
+  }
+
+  private final double compression;
+  // sorted by mean
+  private final double[] means;
+  private final double[] weights;
+  private final double min;
+  private final double max;
+
+  private TDigest(final double compression, final double[] means, final double[] weights, final double min, final double max) {
+    this.compression = compression;
+    this.means = means;
+    this.weights = weights;
+    this.min = min;
+    this.max = max;
+  }
+
+  /**
+   * The compression of this digest.
+   *
+   * @return the compression
+   */
+  public double compression() {
+    return compression;
+  }
+
+  /**
+   * The number of numbers digested.
+   *
+   * @return the total weight of the centroids
+   */
+  public long size() {
+    double size = 0;
+    for (final double w : weights) {
+      size += w;
+    }
+    return Math.round(size);
+  }
+
+  /**
+   * The smallest number digested, exactly.
+   *
+   * @return the minimum, or NaN if the digest is empty
+   */
+  public double min() {
+    return min;
+  }
+
+  /**
+   * The largest number digested, exactly.
+   *
+   * @return the maximum, or NaN if the digest is empty
+   */
+  public double max() {
+    return max;
+  }
+
+  /**
+   * The estimated quantile, the number that the fraction {@code q} of the
+   * numbers digested are less than, interpolated between the centroids.
+   *
+   * @param q the fraction, between 0 and 1
+   * @return the quantile, or NaN if the digest is empty
+   */
+  public double quantile(final double q) {
+    if (!(q >= 0 && q <= 1)) {
+      throw new IllegalArgumentException("q must be between 0 and 1: " + q);
+    }
+    final int n = means.length;
+    if (n == 0) {
+      return Double.NaN;
+    }
+    final double target = q * size();
+    // a centroid's weight is centred on its mean
+    double centre = weights[0] / 2;
+    if (target <= centre) {
+      return min + (means[0] - min) * target / centre;
+    }
+    for (int i = 1; i < n; i++) {
+      final double next = centre + (weights[i - 1] + weights[i]) / 2;
+      if (target <= next) {
+        return means[i - 1] + (means[i] - means[i - 1]) * (target - centre) / (next - centre);
+      }
+      centre = next;
+    }
+    final double last = weights[n - 1] / 2;
+    return max - (max - means[n - 1]) * Math.max(size() - target, 0) / last;
+  }
+
+  /**
+   * Merge with another digest, the result is a digest of the numbers of both.
+   *
+   * @param that the digest to merge with, of the same compression
+   * @return the merged digest
+   * @throws IllegalArgumentException if the compressions differ
+   */
+  public TDigest merge(final TDigest that) {
+    checkSameCompression(that.compression);
+    if (that.means.length == 0) {
+      return this;
+    }
+    if (means.length == 0) {
+      return that;
+    }
+    final int n = means.length + that.means.length;
+    final double[] ms = Arrays.copyOf(means, n);
+    final double[] ws = Arrays.copyOf(weights, n);
+    System.arraycopy(that.means, 0, ms, means.length, that.means.length);
+    System.arraycopy(that.weights, 0, ws, weights.length, that.weights.length);
+    return compress(compression, ms, ws, n, Math.min(min, that.min), Math.max(max, that.max));
+  }
+
+  @Override public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof TDigest)) {
+      return false;
+    }
+    final TDigest that = (TDigest) obj;
+    return Double.compare(compression, that.compression) == 0 && Double.compare(min, that.min) == 0 && Double.compare(max, that.max) == 0
+      && Arrays.equals(means, that.means) && Arrays.equals(weights, that.weights);
+  }
+
+  @Override public int hashCode() {
+    return 31 * Arrays.hashCode(means) + Arrays.hashCode(weights);
+  }
+
+  @Override public String toString() {
+    return "TDigest(" + size() + ", " + means.length + " centroids)";
+  }
+
+  private static double checkCompression(final double compression) {
+    if (!(compression >= 1) || Double.isInfinite(compression)) {
+      throw new IllegalArgumentException("compression must be at least 1: " + compression);
+    }
+    return compression;
+  }
+
+  private void checkSameCompression(final double compression) {
+    if (Double.compare(this.compression, compression) != 0) {
+      throw new IllegalArgumentException("Cannot merge digests of compression " + this.compression + " and " + compression);
+    }
+  }
+
+  /**
+   * Sorts the first n centroids and merges neighbours while the merged
+   * centroid spans at most one unit of the scale function.
+   */
+  private static TDigest compress(final double compression, final double[] means, final double[] weights, final int n, final double min,
+    final double max) {
+    sort(means, weights, 0, n - 1);
+    double total = 0;
+    for (int i = 0; i < n; i++) {
+      total += weights[i];
+    }
+    final double[] ms = new double[n];
+    final double[] ws = new double[n];
+    int size = 0;
+    double before = 0;
+    double mean = means[0];
+    double weight = weights[0];
+    for (int i = 1; i < n; i++) {
+      final double w = weights[i];
+      if (scale((before + weight + w) / total, compression) - scale(before / total, compression) <= 1) {
+        weight += w;
+        mean += (means[i] - mean) * w / weight;
+      } else {
+        ms[size] = mean;
+        ws[size] = weight;
+        size++;
+        before += weight;
+        mean = means[i];
+        weight = w;
+      }
+    }
+    ms[size] = mean;
+    ws[size] = weight;
+    size++;
+    return new TDigest(compression, Arrays.copyOf(ms, size), Arrays.copyOf(ws, size), min, max);
+  }
+
+  // the k1 scale function, steepest at the tails
+  private static double scale(final double q, final double compression) {
+    return compression / Math.PI * Math.asin(2 * Math.min(q, 1) - 1);
+  }
+
+  // quicksort of the centroids by mean
+  private static void sort(final double[] means, final double[] weights, int lo, int hi) {
+    while (hi - lo > 16) {
+      final double pivot = means[(lo + hi) >>> 1];
+      int i = lo;
+      int j = hi;
+      while (i <= j) {
+        while (means[i] < pivot) {
+          i++;
+        }
+        while (means[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(means, weights, i++, j--);
+        }
+      }
+      // recurse into the smaller side
+      if (j - lo < hi - i) {
+        sort(means, weights, lo, j);
+        lo = i;
+      } else {
+        sort(means, weights, i, hi);
+        hi = j;
+      }
+    }
+    for (int i = lo + 1; i <= hi; i++) {
+      for (int j = i; j > lo && means[j - 1] > means[j]; j--) {
+        swap(means, weights, j - 1, j);
+      }
+    }
+  }
+
+  private static void swap(final double[] means, final double[] weights, final int i, final int j) {
+    final double m = means[i];
+    means[i] = means[j];
+    means[j] = m;
+    final double w = weights[i];
+    weights[i] = weights[j];
+    weights[j] = w;
+  }
+}
@@ -0,0 +1,151 @@
+package io.atlassian.fugue.extensions.validation;
+
+import io.atlassian.fugue.Semigroup;
+import io.atlassian.fugue.Validation;
+import io.atlassian.fugue.extensions.functions.Function3;
+import io.atlassian.fugue.extensions.functions.Function4;
+import io.atlassian.fugue.extensions.functions.Function5;
+import io.atlassian.fugue.extensions.functions.Function6;
+
+import java.util.function.BiFunction;
+
+/**
+ * Combines three to six {@link Validation}s with the multi-argument functions
+ * {@link Function3} to {@link Function6}, accumulating the errors of every
+ * Failure.
+ * <p>
+ * If all of the validations are a Success the function is applied to their
+ * values, otherwise the result is a Failure of the errors of each Failure
+ * appended in argument order. The validations are inspected once each and no
+ * intermediate curried functions or validations are created.
+ *
+ * @see Validation#map2(Validation, Validation, BiFunction, Semigroup)
+ * @since 5.0.0
+ */
+public final class Validations {
+
+  // /CLOVER:OFF
+
+  private Validations() {}
+
+  // /CLOVER:ON
+
+  /**
+   * Combines three validations.
+   *
+   * @param va the first validation
+   * @param vb the second validation
+   * @param vc the third validation
+   * @param f the function to combine the values with
+   * @param semigroup appends the errors
+   * @param <E> the error type
+   * @param <A> the first success type
+   * @param <B> the second success type
+   * @param <C> the third success type
+   * @param <Z> the result type
+   * @return a Success of the combined values, or a Failure of all of the
+   * errors
+   */
+  public static <E, A, B, C, Z> Validation<E, Z> map3(final Validation<E, A> va, final Validation<E, B> vb, final Validation<E, C> vc,
+    final Function3<? super A, ? super B, ? super C, ? extends Z> f, final Semigroup<E> semigroup) {
+    if (va.isSuccess() && vb.isSuccess() && vc.isSuccess()) {
+      return Validation.success(f.apply(va.get(), vb.get(), vc.get()));
+    }
+    return Validation.failure(append(semigroup, append(semigroup, append(semigroup, null, va), vb), vc));
+  }
+
+  /**
+   * Combines four validations.
+   *
+   * @param va the first validation
+   * @param vb the second validation
+   * @param vc the third validation
+   * @param vd the fourth validation
+   * @param f the function to combine the values with
+   * @param semigroup appends the errors
+   * @param <E> the error type
+   * @param <A> the first success type
+   * @param <B> the second success type
+   * @param <C> the third success type
+   * @param <D> the fourth success type
+   * @param <Z> the result type
+   * @return a Success of the combined values, or a Failure of all of the
+   * errors
+   */
+  public static <E, A, B, C, D, Z> Validation<E, Z> map4(final Validation<E, A> va, final Validation<E, B> vb, final Validation<E, C> vc,
+    final Validation<E, D> vd, final Function4<? super A, ? super B, ? super C, ? super D, ? extends Z> f, final Semigroup<E> semigroup) {
+    if (va.isSuccess() && vb.isSuccess() && vc.isSuccess() && vd.isSuccess()) {
+      return Validation.success(f.apply(va.get(), vb.get(), vc.get(), vd.get()));
+    }
+    return Validation.failure(append(semigroup, append(semigroup, append(semigroup, append(semigroup, null, va), vb), vc), vd));
+  }
+
+  /**
+   * Combines five validations.
+   *
+   * @param va the first validation
+   * @param vb the second validation
+   * @param vc the third validation
+   * @param vd the fourth validation
+   * @param ve the fifth validation
+   * @param f the function to combine the values with
+   * @param semigroup appends the errors
+   * @param <E> the error type
+   * @param <A> the first success type
+   * @param <B> the second success type
+   * @param <C> the third success type
+   * @param <D> the fourth success type
+   * @param <F> the fifth success type
+   * @param <Z> the result type
+   * @return a Success of the combined values, or a Failure of all of the
+   * errors
+   */
+  public static <E, A, B, C, D, F, Z> Validation<E, Z> map5(final Validation<E, A> va, final Validation<E, B> vb, final Validation<E, C> vc,
+    final Validation<E, D> vd, final Validation<E, F> ve, final Function5<? super A, ? super B, ? super C, ? super D, ? super F, ? extends Z> f,
+    final Semigroup<E> semigroup) {
+    if (va.isSuccess() && vb.isSuccess() && vc.isSuccess() && vd.isSuccess() && ve.isSuccess()) {
+      return Validation.success(f.apply(va.get(), vb.get(), vc.get(), vd.get(), ve.get()));
+    }
+    return Validation.failure(append(semigroup, append(semigroup, append(semigroup, append(semigroup, append(semigroup, null, va), vb), vc), vd), ve));
+  }
+
+  /**
+   * Combines six validations.
+   *
+   * @param va the first validation
+   * @param vb the second validation
+   * @param vc the third validation
+   * @param vd the fourth validation
+   * @param ve the fifth validation
+   * @param vf the sixth validation
+   * @param f the function to combine the values with
+   * @param semigroup appends the errors
+   * @param <E> the error type
+   * @param <A> the first success type
+   * @param <B> the second success type
+   * @param <C> the third success type
+   * @param <D> the fourth success type
+   * @param <F> the fifth success type
+   * @param <G> the sixth success type
+   * @param <Z> the result type
+   * @return a Success of the combined values, or a Failure of all of the
+   * errors
+   */
+  public static <E, A, B, C, D, F, G, Z> Validation<E, Z> map6(final Validation<E, A> va, final Validation<E, B> vb, final Validation<E, C> vc,
+    final Validation<E, D> vd, final Validation<E, F> ve, final Validation<E, G> vf,
+    final Function6<? super A, ? super B, ? super C, ? super D, ? super F, ? super G, ? extends Z> f, final Semigroup<E> semigroup) {
+    if (va.isSuccess() && vb.isSuccess() && vc.isSuccess() && vd.isSuccess() && ve.isSuccess() && vf.isSuccess()) {
+      return Validation.success(f.apply(va.get(), vb.get(), vc.get(), vd.get(), ve.get(), vf.get()));
+    }
+    return Validation.failure(append(semigroup, append(semigroup, append(semigroup, append(semigroup, append(semigroup, append(semigroup, null, va), vb), vc),
+      vd), ve), vf));
+  }
+
+  // the errors of v appended to the errors so far, which are null if none
+  private static <E> E append(final Semigroup<E> semigroup, final E errors, final Validation<E, ?> v) {
+    if (v.isSuccess()) {
+      return errors;
+    }
+    return (errors == null) ? v.getFailure() : semigroup.append(errors, v.getFailure());
+  }
+}
@@ -0,0 +1,105 @@
+package io.atlassian.fugue.extensions.functions;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.atlassian.fugue.extensions.functions.Memoizers.memoize;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TestMemoizers {
+
+  @Test public void test_memoize_3() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Function3<Integer, String, Long, String> f = memoize((a, b, c) -> {
+      calls.incrementAndGet();
+      return a + b + c;
+    });
+
+    assertThat(f.apply(1, "2", 3L), is("123"));
+    assertThat(f.apply(1, "2", 3L), is("123"));
+    assertThat(f.apply(3, "2", 1L), is("321"));
+    assertThat(calls.get(), is(2));
+  }
+
+  @Test public void test_memoize_4() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Function4<Integer, Integer, Integer, Integer, Integer> f = memoize((a, b, c, d) -> {
+      calls.incrementAndGet();
+      return a + b + c + d;
+    });
+
+    assertThat(f.apply(1, 2, 3, 4), is(10));
+    assertThat(f.apply(1, 2, 3, 4), is(10));
+    assertThat(f.apply(4, 3, 2, 1), is(10));
+    assertThat(calls.get(), is(2));
+  }
+
+  @Test public void test_memoize_5() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Function5<Integer, Integer, Integer, Integer, Integer, Integer> f = memoize((a, b, c, d, e) -> {
+      calls.incrementAndGet();
+      return a + b + c + d + e;
+    });
+
+    assertThat(f.apply(1, 2, 3, 4, 5), is(15));
+    assertThat(f.apply(1, 2, 3, 4, 5), is(15));
+    assertThat(f.apply(5, 4, 3, 2, 1), is(15));
+    assertThat(calls.get(), is(2));
+  }
+
+  @Test public void test_memoize_6() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Function6<Integer, Integer, Integer, Integer, Integer, Integer, Integer> f = memoize((a, b, c, d, e, g) -> {
+      calls.incrementAndGet();
+      return a + b + c + d + e + g;
+    });
+
+    assertThat(f.apply(1, 2, 3, 4, 5, 6), is(21));
+    assertThat(f.apply(1, 2, 3, 4, 5, 6), is(21));
+    assertThat(f.apply(6, 5, 4, 3, 2, 1), is(21));
+    assertThat(calls.get(), is(2));
+  }
+
+  @Test public void test_memoize_returns_same_instance() {
+    final Function3<Integer, Integer, Integer, Object> f = memoize((a, b, c) -> new Object());
+
+    assertThat(f.apply(1, 2, 3), sameInstance(f.apply(1, 2, 3)));
+  }
+
+  @Test public void test_memoize_null_arguments_and_result() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Function3<String, String, String, String> f = memoize((a, b, c) -> {
+      calls.incrementAndGet();
+      return null;
+    });
+
+    assertThat(f.apply(null, "b", null), nullValue());
+    assertThat(f.apply(null, "b", null), nullValue());
+    assertThat(calls.get(), is(1));
+  }
+
+  @Test public void test_memoize_many_entries() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Function4<Integer, Integer, Integer, Integer, String> f = memoize((a, b, c, d) -> {
+      calls.incrementAndGet();
+      return a + ":" + b + ":" + c + ":" + d;
+    });
+
+    for (int round = 0; round < 2; round++) {
+      for (int i = 0; i < 1000; i++) {
+        assertThat(f.apply(i, i % 7, i % 3, -i), is(i + ":" + (i % 7) + ":" + (i % 3) + ":" + -i));
+      }
+    }
+    assertThat(calls.get(), is(1000));
+  }
+
+  @Test public void test_memoize_is_idempotent() {
+    final Function3<Integer, Integer, Integer, Integer> f = memoize((a, b, c) -> a + b + c);
+
+    assertThat(memoize(f), sameInstance(f));
+  }
+}
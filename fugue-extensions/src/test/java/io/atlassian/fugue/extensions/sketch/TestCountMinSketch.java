@@ -0,0 +1,81 @@
+package io.atlassian.fugue.extensions.sketch;
+
+import io.atlassian.fugue.CommutativeMonoid;
+import io.atlassian.fugue.law.CommutativeMonoidLaws;
+import io.atlassian.fugue.law.IsEq;
+import io.atlassian.fugue.law.MonoidLaws;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TestCountMinSketch {
+  private static final CommutativeMonoid<CountMinSketch> monoid = CountMinSketch.monoid(4, 64);
+
+  private static CountMinSketch sketch(final Random random, final int items) {
+    final List<CountMinSketch> sketches = new ArrayList<>();
+    for (int i = 0; i < items; i++) {
+      sketches.add(CountMinSketch.of(4, 64, random.nextInt(1000)));
+    }
+    return monoid.sum(sketches);
+  }
+
+  private static void holds(final IsEq<CountMinSketch> law) {
+    assertThat(law.lhs(), is(law.rhs()));
+  }
+
+  @Test public void test_monoid_laws() {
+    final Random random = new Random(42);
+    final MonoidLaws<CountMinSketch> laws = new MonoidLaws<>(monoid);
+    final CommutativeMonoidLaws<CountMinSketch> commutative = new CommutativeMonoidLaws<>(monoid);
+    for (int i = 0; i < 50; i++) {
+      final CountMinSketch x = sketch(random, random.nextInt(3));
+      final CountMinSketch y = sketch(random, random.nextInt(100));
+      final CountMinSketch z = sketch(random, random.nextInt(100));
+      holds(laws.semigroupAssociative(x, y, z));
+      holds(laws.monoidLeftIdentity(x));
+      holds(laws.monoidRightIdentity(y));
+      holds(laws.multiplyEqualRepeatedAppend(i % 4, x));
+      holds(commutative.appendCommutative(x, z));
+    }
+  }
+
+  @Test public void test_sum_equal_fold() {
+    final Random random = new Random(7);
+    final List<CountMinSketch> sketches = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      sketches.add(sketch(random, random.nextInt(5)));
+    }
+    holds(new MonoidLaws<>(monoid).sumEqualFold(sketches));
+  }
+
+  @Test public void test_estimates_bound_counts() {
+    final CommutativeMonoid<CountMinSketch> wide = CountMinSketch.monoid(5, 2000);
+    final List<CountMinSketch> sketches = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      sketches.add(CountMinSketch.of(5, 2000, i % 1000));
+    }
+    sketches.add(CountMinSketch.ofHash(5, 2000, 17L, 500));
+    final CountMinSketch sum = wide.sum(sketches);
+    assertThat(sum.total(), is(10500L));
+    for (int i = 0; i < 1000; i++) {
+      final long estimate = sum.estimate(i);
+      assertThat(estimate >= 10 && estimate <= 10 + 15, is(true));
+    }
+    assertThat(sum.estimateHash(17L) >= 500, is(true));
+  }
+
+  @Test public void test_single_items() {
+    assertThat(CountMinSketch.empty(2, 8).total(), is(0L));
+    assertThat(CountMinSketch.of(2, 8, "a").estimate("a"), is(1L));
+    assertThat(CountMinSketch.of(2, 8, "a").merge(CountMinSketch.of(2, 8, "a")).estimate("a"), is(2L));
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void test_different_dimensions_do_not_merge() {
+    CountMinSketch.of(2, 8, "a").merge(CountMinSketch.of(2, 16, "a"));
+  }
+}
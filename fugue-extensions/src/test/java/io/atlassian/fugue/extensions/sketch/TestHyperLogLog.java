@@ -0,0 +1,76 @@
+package io.atlassian.fugue.extensions.sketch;
+
+import io.atlassian.fugue.CommutativeMonoid;
+import io.atlassian.fugue.law.CommutativeMonoidLaws;
+import io.atlassian.fugue.law.IsEq;
+import io.atlassian.fugue.law.MonoidLaws;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TestHyperLogLog {
+  private static final CommutativeMonoid<HyperLogLog> monoid = HyperLogLog.monoid(10);
+
+  private static HyperLogLog sketch(final Random random, final int items) {
+    final List<HyperLogLog> sketches = new ArrayList<>();
+    for (int i = 0; i < items; i++) {
+      sketches.add(HyperLogLog.of(10, random.nextInt(1000)));
+    }
+    return monoid.sum(sketches);
+  }
+
+  private static void holds(final IsEq<HyperLogLog> law) {
+    assertThat(law.lhs(), is(law.rhs()));
+  }
+
+  @Test public void test_monoid_laws() {
+    final Random random = new Random(42);
+    final MonoidLaws<HyperLogLog> laws = new MonoidLaws<>(monoid);
+    final CommutativeMonoidLaws<HyperLogLog> commutative = new CommutativeMonoidLaws<>(monoid);
+    for (int i = 0; i < 50; i++) {
+      final HyperLogLog x = sketch(random, random.nextInt(3));
+      final HyperLogLog y = sketch(random, random.nextInt(100));
+      final HyperLogLog z = sketch(random, random.nextInt(100));
+      holds(laws.semigroupAssociative(x, y, z));
+      holds(laws.monoidLeftIdentity(x));
+      holds(laws.monoidRightIdentity(y));
+      holds(laws.multiplyEqualRepeatedAppend(i % 4, y));
+      holds(commutative.appendCommutative(x, z));
+    }
+  }
+
+  @Test public void test_sum_equal_fold() {
+    final Random random = new Random(7);
+    final List<HyperLogLog> sketches = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      sketches.add(sketch(random, random.nextInt(5)));
+    }
+    holds(new MonoidLaws<>(monoid).sumEqualFold(sketches));
+  }
+
+  @Test public void test_estimate_within_error() {
+    final List<HyperLogLog> sketches = new ArrayList<>();
+    for (int i = 0; i < 200000; i++) {
+      // each item twice
+      sketches.add(HyperLogLog.of(i % 100000));
+    }
+    final long estimate = HyperLogLog.monoid(HyperLogLog.DEFAULT_PRECISION).sum(sketches).estimate();
+    // four standard errors
+    assertThat(Math.abs(estimate - 100000) < 100000 * 4 * 1.04 / 64, is(true));
+  }
+
+  @Test public void test_small_counts() {
+    assertThat(HyperLogLog.empty(10).estimate(), is(0L));
+    assertThat(HyperLogLog.of(10, "a").estimate(), is(1L));
+    assertThat(HyperLogLog.of(10, "a").merge(HyperLogLog.of(10, "b")).merge(HyperLogLog.of(10, "a")).estimate(), is(2L));
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void test_different_precisions_do_not_merge() {
+    HyperLogLog.of(10, "a").merge(HyperLogLog.of(11, "a"));
+  }
+}
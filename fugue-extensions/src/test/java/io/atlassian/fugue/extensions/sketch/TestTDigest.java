@@ -0,0 +1,84 @@
+package io.atlassian.fugue.extensions.sketch;
+
+import io.atlassian.fugue.Monoid;
+import io.atlassian.fugue.law.IsEq;
+import io.atlassian.fugue.law.MonoidLaws;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TestTDigest {
+  private static final Monoid<TDigest> monoid = TDigest.monoid(TDigest.DEFAULT_COMPRESSION);
+
+  private static void holds(final IsEq<TDigest> law) {
+    assertThat(law.lhs(), is(law.rhs()));
+  }
+
+  @Test public void test_identity_laws() {
+    final Random random = new Random(42);
+    final MonoidLaws<TDigest> laws = new MonoidLaws<>(monoid);
+    final List<TDigest> digests = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      digests.add(TDigest.of(random.nextGaussian()));
+    }
+    final TDigest x = monoid.sum(digests);
+    holds(laws.monoidLeftIdentity(x));
+    holds(laws.monoidRightIdentity(x));
+    holds(laws.monoidLeftIdentity(TDigest.of(1)));
+  }
+
+  @Test public void test_quantiles_within_error() {
+    final Random random = new Random(7);
+    final double[] xs = new double[100000];
+    final List<TDigest> shards = new ArrayList<>();
+    for (int shard = 0; shard < 10; shard++) {
+      final List<TDigest> digests = new ArrayList<>();
+      for (int i = shard * 10000; i < (shard + 1) * 10000; i++) {
+        xs[i] = random.nextDouble();
+        digests.add(TDigest.of(xs[i]));
+      }
+      shards.add(monoid.sum(digests));
+    }
+    final TDigest digest = monoid.sum(shards);
+    Arrays.sort(xs);
+    assertThat(digest.size(), is(100000L));
+    assertThat(digest.min(), is(xs[0]));
+    assertThat(digest.max(), is(xs[xs.length - 1]));
+    for (final double q : new double[] { 0.001, 0.01, 0.1, 0.5, 0.9, 0.99, 0.999 }) {
+      final double exact = xs[(int) (q * xs.length)];
+      assertThat(Math.abs(digest.quantile(q) - exact) < 0.005, is(true));
+    }
+  }
+
+  @Test public void test_merge_order_within_error() {
+    final Random random = new Random(3);
+    final List<TDigest> digests = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      digests.add(TDigest.of(random.nextDouble()));
+    }
+    final TDigest fold = digests.stream().reduce(monoid.zero(), monoid::append);
+    final TDigest sum = monoid.sum(digests);
+    for (final double q : new double[] { 0.01, 0.5, 0.99 }) {
+      assertThat(Math.abs(fold.quantile(q) - sum.quantile(q)) < 0.01, is(true));
+    }
+  }
+
+  @Test public void test_small_digests() {
+    assertThat(Double.isNaN(TDigest.empty(100).quantile(0.5)), is(true));
+    assertThat(TDigest.of(3).quantile(0.5), is(3.0));
+    final TDigest two = TDigest.of(1).merge(TDigest.of(3));
+    assertThat(two.quantile(0), is(1.0));
+    assertThat(two.quantile(1), is(3.0));
+    assertThat(two.size(), is(2L));
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void test_different_compressions_do_not_merge() {
+    TDigest.of(100, 1).merge(TDigest.of(200, 1));
+  }
+}
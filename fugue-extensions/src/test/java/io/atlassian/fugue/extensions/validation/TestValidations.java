@@ -0,0 +1,47 @@
+package io.atlassian.fugue.extensions.validation;
+
+import io.atlassian.fugue.Semigroup;
+import io.atlassian.fugue.Validation;
+import org.junit.Test;
+
+import static io.atlassian.fugue.Validation.failure;
+import static io.atlassian.fugue.Validation.success;
+import static io.atlassian.fugue.extensions.validation.Validations.map3;
+import static io.atlassian.fugue.extensions.validation.Validations.map4;
+import static io.atlassian.fugue.extensions.validation.Validations.map5;
+import static io.atlassian.fugue.extensions.validation.Validations.map6;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TestValidations {
+  private static final Semigroup<String> errors = (a, b) -> a + "," + b;
+
+  private static Validation<String, Integer> ok(final int i) {
+    return success(i);
+  }
+
+  private static Validation<String, Integer> bad(final String e) {
+    return failure(e);
+  }
+
+  @Test public void test_map3() {
+    assertThat(map3(ok(1), ok(2), ok(3), (a, b, c) -> a + b + c, errors), is(ok(6)));
+    assertThat(map3(bad("a"), ok(2), bad("c"), (a, b, c) -> a + b + c, errors), is(bad("a,c")));
+  }
+
+  @Test public void test_map4() {
+    assertThat(map4(ok(1), ok(2), ok(3), ok(4), (a, b, c, d) -> a + b + c + d, errors), is(ok(10)));
+    assertThat(map4(ok(1), bad("b"), ok(3), bad("d"), (a, b, c, d) -> a + b + c + d, errors), is(bad("b,d")));
+  }
+
+  @Test public void test_map5() {
+    assertThat(map5(ok(1), ok(2), ok(3), ok(4), ok(5), (a, b, c, d, e) -> a + b + c + d + e, errors), is(ok(15)));
+    assertThat(map5(bad("a"), bad("b"), ok(3), ok(4), bad("e"), (a, b, c, d, e) -> a + b + c + d + e, errors), is(bad("a,b,e")));
+  }
+
+  @Test public void test_map6() {
+    assertThat(map6(ok(1), ok(2), ok(3), ok(4), ok(5), ok(6), (a, b, c, d, e, f) -> a + b + c + d + e + f, errors), is(ok(21)));
+    assertThat(map6(bad("a"), bad("b"), bad("c"), bad("d"), bad("e"), bad("f"), (a, b, c, d, e, f) -> a + b + c + d + e + f, errors), is(
+      bad("a,b,c,d,e,f")));
+  }
+}
@@ -18,12 +18,15 @@ package io.atlassian.fugue
 
 import java.math.BigInteger
 import java.util.Arrays.asList
+import java.util.concurrent.ForkJoinPool
 import java.util.stream.{ Collectors, StreamSupport }
 
 import io.atlassian.fugue.Either.right
 import Monoids._
 import io.atlassian.fugue.Option.some
-import io.atlassian.fugue.law.MonoidTests
+import io.atlassian.fugue.law.{ CommutativeMonoidTests, MonoidTests }
+
+import scala.collection.JavaConverters._
 
 class MonoidsSpec extends TestSuite {
 
@@ -47,6 +50,11 @@ class MonoidsSpec extends TestSuite {
     MonoidTests(bigintMultiplication).check()
   }
 
+  test("bigintMultiplication product") {
+    val factors = (1 to 1000).map(i => BigInteger.valueOf(i.toLong))
+    bigintMultiplication.sum(factors.asJava) shouldEqual factors.foldLeft(BigInteger.ONE)(_ multiply _)
+  }
+
   test("longAddition") {
     longAddition.append(1L, 2L) shouldEqual 3L
     MonoidTests(longAddition).check()
@@ -89,6 +97,33 @@ class MonoidsSpec extends TestSuite {
     MonoidTests(list[Integer]()).check()
   }
 
+  test("list sum") {
+    list[String]().sum(asList(asList("a"), asList[String](), asList("b", "c"))) shouldEqual asList("a", "b", "c")
+    list[String]().multiply(3, asList("a", "b")) shouldEqual asList("a", "b", "a", "b", "a", "b")
+  }
+
+  test("set") {
+    set[String]().append(new java.util.HashSet(asList("a", "b")), new java.util.HashSet(asList("b", "c"))) shouldEqual new java.util.HashSet(asList("a", "b", "c"))
+    CommutativeMonoidTests(set[Integer]()).check()
+  }
+
+  test("commutative instances") {
+    CommutativeMonoidTests(CommutativeMonoid.of(intAddition)).check()
+    CommutativeMonoidTests(CommutativeMonoid.of(bigintMultiplication)).check()
+    CommutativeMonoidTests(CommutativeMonoid.of(exclusiveDisjunction)).check()
+    CommutativeMonoidTests(CommutativeMonoid.of(option(Semigroups.intMaximum))).check()
+  }
+
+  test("concurrentAccumulator") {
+    val sum = concurrentAccumulator(CommutativeMonoid.of(longAddition))
+    (1 to 1000).par.foreach(i => sum.add(i.toLong))
+    sum.result() shouldEqual 500500L
+  }
+
+  test("string sum") {
+    string.sum(asList("a", "", "bc")) shouldEqual "abc"
+  }
+
   test("iterable") {
     StreamSupport.stream(iterable[String]().append(asList("a"), asList("b")).spliterator(), false).collect(Collectors.toList[String]) shouldEqual asList("a", "b")
   }
@@ -117,4 +152,27 @@ class MonoidsSpec extends TestSuite {
     MonoidTests(m).check()
   }
 
+  test("either sum") {
+    val m = either(Semigroups.intMaximum, string)
+
+    m.sum(asList(right[Integer, String]("a"), right[Integer, String]("b"))) shouldEqual right("ab")
+    m.sum(asList(right[Integer, String]("a"), Either.left[Integer, String](1), right[Integer, String]("b"), Either.left[Integer, String](2))) shouldEqual Either.left(2)
+  }
+
+  test("parallelSum") {
+    val pool = new ForkJoinPool(4)
+    try {
+      val strings = (1 to 10000).map(_.toString)
+      parallelSum(strings.asJava, string, pool) shouldEqual strings.mkString
+      parallelSum(asList[String](), string, pool) shouldEqual ""
+    } finally {
+      pool.shutdown()
+    }
+  }
+
+  test("collector") {
+    val strings = (1 to 10000).map(_.toString)
+    strings.asJava.parallelStream().collect(collector(string)) shouldEqual strings.mkString
+  }
+
 }
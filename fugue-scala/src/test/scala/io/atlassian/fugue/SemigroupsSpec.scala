@@ -80,6 +80,34 @@ class SemigroupsSpec extends TestSuite {
     SemigroupTests(bigDecimalMinimum).check()
   }
 
+  test("first") {
+    first[Integer]().append(1, 2) shouldEqual 1
+    first[Integer]().multiply1p(5, 1) shouldEqual 1
+    SemigroupTests(first[Integer]()).check()
+  }
+
+  test("last") {
+    last[Integer]().append(1, 2) shouldEqual 2
+    SemigroupTests(last[Integer]()).check()
+  }
+
+  test("either") {
+    either(intMaximum, Monoids.string).multiply1p(2, Either.right[Integer, String]("a")) shouldEqual Either.right("aaa")
+    SemigroupTests(either(intMaximum, Monoids.string)).check()
+  }
+
+  test("function multiply1p applies the function once") {
+    var calls = 0
+    val f = new java.util.function.Function[Integer, String] {
+      def apply(i: Integer) = {
+        calls += 1
+        "a" + i
+      }
+    }
+    function[Integer, String](Monoids.string).multiply1p(2, f).apply(1) shouldEqual "a1a1a1"
+    calls shouldEqual 1
+  }
+
   test("dual is also a semigroup") {
     SemigroupTests(Semigroup.dual(intMaximum)).check()
   }
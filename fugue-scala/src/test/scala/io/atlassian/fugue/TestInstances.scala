@@ -42,6 +42,9 @@ trait TestInstances {
   implicit def javaListArbitrary[A: Arbitrary]: Arbitrary[java.util.List[A]] =
     Arbitrary(arbitrary[scala.List[A]] map seqAsJavaList)
 
+  implicit def javaSetArbitrary[A: Arbitrary]: Arbitrary[java.util.Set[A]] =
+    Arbitrary(arbitrary[scala.collection.immutable.Set[A]] map setAsJavaSet)
+
   implicit def javaIterableArbitrary[A: Arbitrary]: Arbitrary[java.lang.Iterable[A]] =
     Arbitrary(arbitrary[scala.List[A]] map seqAsJavaList)
 
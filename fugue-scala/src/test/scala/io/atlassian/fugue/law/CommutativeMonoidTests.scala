@@ -0,0 +1,35 @@
+/*
+   Copyright 2015 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package io.atlassian.fugue.law
+
+import io.atlassian.fugue.CommutativeMonoid
+import org.scalacheck.Prop._
+import org.scalacheck.{ Arbitrary, Properties }
+
+object CommutativeMonoidTests {
+
+  def apply[A: Arbitrary](monoid: CommutativeMonoid[A]) = new Properties("commutative monoid") {
+
+    include(MonoidTests(monoid))
+
+    val laws = new CommutativeMonoidLaws(monoid)
+
+    property("append is commutative") = forAll((x: A, y: A) => laws.appendCommutative(x, y))
+
+  }
+
+}
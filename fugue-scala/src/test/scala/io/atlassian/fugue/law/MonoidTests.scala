@@ -36,6 +36,8 @@ object MonoidTests {
 
     property("sum is equivalent to fold") = forAll((aa: List[A]) => laws.sumEqualFold(aa))
 
+    property("sumBalanced is equivalent to fold") = forAll((aa: List[A]) => laws.sumBalancedEqualFold(aa))
+
     property("multiply is consistent with sum") = sizedProp(n => forAll((a: A) => laws.multiplyEqualRepeatedAppend(n, a)))
 
   }
@@ -35,6 +35,8 @@ object SemigroupTests {
 
     property("sumNel is equivalent to fold") = forAll((a: A, aa: List[A]) => laws.sumNonEmptyEqualFold(a, aa))
 
+    property("sumBalanced is equivalent to fold") = forAll((a: A, aa: List[A]) => laws.sumBalancedEqualFold(a, aa))
+
     property("multiply1p is consistent with sumNel") = sizedProp(n => forAll((a: A) => laws.multiply1pEqualRepeatedAppend(n, a)))
 
   }
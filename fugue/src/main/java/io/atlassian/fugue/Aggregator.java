@@ -0,0 +1,413 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import io.atlassian.fugue.Monoid.Accumulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import static io.atlassian.fugue.Option.none;
+import static io.atlassian.fugue.Option.some;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Computes several aggregates of a sequence in one pass, such as a count, a
+ * sum, a minimum and a maximum, each a field with its own {@link Monoid} or
+ * {@link Semigroup}. Unlike {@link Monoid#compose(Monoid, Monoid)} no
+ * {@link Pair} is created per element or per append: each field sums into
+ * its own {@link Monoid#accumulator() accumulator}, and the immutable
+ * {@link Result} is built once at the end.
+ *
+ * <pre>
+ * final Aggregator.Builder&lt;Long&gt; builder = Aggregator.builder();
+ * final Aggregator.Field&lt;Long&gt; count = builder.field(Monoids.longAddition, l -&gt; 1L);
+ * final Aggregator.Field&lt;Long&gt; total = builder.field(Monoids.longAddition, l -&gt; l);
+ * final Aggregator.Field&lt;Option&lt;Long&gt;&gt; max = builder.field(Semigroups.longMaximum, l -&gt; l);
+ * final Aggregator.Result stats = builder.build().sum(values);
+ * stats.get(total) / stats.get(count);
+ * </pre>
+ *
+ * Results of the same aggregator, such as those of shards, are values of its
+ * {@link #monoid()}.
+ *
+ * @param <T> the element type
+ * @since 5.0.0
+ */
+public final class Aggregator<T> {
+  /**
+   * A builder to add fields to.
+   *
+   * @param <T> the element type
+   * @return a new builder
+   */
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  private final Builder<T> owner;
+  private final Slot<T>[] slots;
+  private final Result zero;
+
+  private Aggregator(final Builder<T> owner, final Slot<T>[] slots) {
+    this.owner = owner;
+    this.slots = slots;
+    final Object[] zeros = new Object[slots.length];
+    for (int i = 0; i < slots.length; i++) {
+      zeros[i] = slots[i].zero();
+    }
+    this.zero = new Result(owner, zeros);
+  }
+
+  /**
+   * Aggregates the elements.
+   *
+   * @param ts the elements
+   * @return the aggregates of all of the fields
+   */
+  public Result sum(final Iterable<? extends T> ts) {
+    final Cells<T> cells = cells();
+    for (final T t : ts) {
+      cells.add(t);
+    }
+    return cells.result();
+  }
+
+  /**
+   * The aggregates of a single element.
+   *
+   * @param t the element
+   * @return the aggregates of all of the fields
+   */
+  public Result of(final T t) {
+    final Cells<T> cells = cells();
+    cells.add(t);
+    return cells.result();
+  }
+
+  /**
+   * A collector of the aggregates. The partial aggregates of a parallel stream
+   * are appended in encounter order.
+   *
+   * @return a collector of the aggregates of all of the fields
+   */
+  public Collector<T, ?, Result> collector() {
+    return Collector.<T, Cells<T>, Result> of(this::cells, Cells::add, (l, r) -> {
+      l.add(r.result());
+      return l;
+    }, Cells::result);
+  }
+
+  /**
+   * The monoid of the results of this aggregator, that appends each field
+   * with its monoid or semigroup, to combine the results of parts of a
+   * sequence.
+   *
+   * @return a monoid of results
+   */
+  public Monoid<Result> monoid() {
+    return new Monoid<Result>() {
+      @Override public Result append(final Result r1, final Result r2) {
+        final Object[] values = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+          values[i] = slots[i].append(r1.value(owner, i), r2.value(owner, i));
+        }
+        return new Result(owner, values);
+      }
+
+      @Override public Result zero() {
+        return zero;
+      }
+
+      @Override public Accumulator<Result> accumulator() {
+        final Cells<T> cells = cells();
+        return new Accumulator<Result>() {
+          @Override public void add(final Result r) {
+            cells.add(r);
+          }
+
+          @Override public Result result() {
+            return cells.result();
+          }
+        };
+      }
+    };
+  }
+
+  private Cells<T> cells() {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final Cell<T>[] cells = new Cell[slots.length];
+    for (int i = 0; i < slots.length; i++) {
+      cells[i] = slots[i].cell();
+    }
+    return new Cells<>(owner, cells);
+  }
+
+  /**
+   * A field of an aggregator, to get its aggregate from a {@link Result}
+   * with.
+   *
+   * @param <F> the aggregate type
+   */
+  public static final class Field<F> {
+    private final Object owner;
+    private final int index;
+
+    private Field(final Object owner, final int index) {
+      this.owner = owner;
+      this.index = index;
+    }
+  }
+
+  /**
+   * The aggregates of the fields of an aggregator. Immutable if the
+   * aggregates are.
+   */
+  public static final class Result {
+    private final Object owner;
+    private final Object[] values;
+
+    private Result(final Object owner, final Object[] values) {
+      this.owner = owner;
+      this.values = values;
+    }
+
+    /**
+     * The aggregate of a field.
+     *
+     * @param field a field of the aggregator of this result
+     * @param <F> the aggregate type
+     * @return the aggregate
+     * @throws IllegalArgumentException if the field is of another aggregator
+     */
+    @SuppressWarnings("unchecked") public <F> F get(final Field<F> field) {
+      return (F) value(field.owner, field.index);
+    }
+
+    @Override public boolean equals(final Object obj) {
+      return (this == obj) || (obj instanceof Result && owner == ((Result) obj).owner && Arrays.equals(values, ((Result) obj).values));
+    }
+
+    @Override public int hashCode() {
+      return Arrays.hashCode(values);
+    }
+
+    @Override public String toString() {
+      return "Aggregator.Result" + Arrays.toString(values);
+    }
+
+    private Object value(final Object owner, final int index) {
+      if (owner != this.owner) {
+        throw new IllegalArgumentException("Not a field of this aggregator");
+      }
+      return values[index];
+    }
+  }
+
+  /**
+   * Adds fields to an aggregator.
+   *
+   * @param <T> the element type
+   */
+  public static final class Builder<T> {
+    private final List<Slot<T>> slots = new ArrayList<>();
+    private boolean built;
+
+    private Builder() {}
+
+    /**
+     * Adds a field that sums a value of each element with a monoid. The
+     * aggregate of no elements is the monoid's zero.
+     *
+     * @param monoid the monoid to sum with
+     * @param f the value of an element
+     * @param <F> the aggregate type
+     * @return the field, to get its aggregate from a result
+     */
+    public <F> Field<F> field(final Monoid<F> monoid, final Function<? super T, ? extends F> f) {
+      return add(new MonoidSlot<>(requireNonNull(monoid, "monoid"), requireNonNull(f, "f")));
+    }
+
+    /**
+     * Adds a field that sums a value of each element with a semigroup, for
+     * aggregates such as a minimum or the first value that have no identity.
+     * Values are appended as they are rather than as options.
+     *
+     * @param semigroup the semigroup to sum with
+     * @param f the value of an element, must not be null
+     * @param <F> the aggregate type
+     * @return the field, to get its aggregate from a result, which is none if
+     * there are no elements
+     */
+    public <F> Field<Option<F>> field(final Semigroup<F> semigroup, final Function<? super T, ? extends F> f) {
+      return add(new SemigroupSlot<>(requireNonNull(semigroup, "semigroup"), requireNonNull(f, "f")));
+    }
+
+    /**
+     * Builds the aggregator of the fields added, after which no more can be.
+     *
+     * @return an aggregator
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" }) public Aggregator<T> build() {
+      built = true;
+      return new Aggregator<>(this, slots.toArray(new Slot[slots.size()]));
+    }
+
+    private <F> Field<F> add(final Slot<T> slot) {
+      if (built) {
+        throw new IllegalStateException("Cannot add a field to a built aggregator");
+      }
+      slots.add(slot);
+      return new Field<>(this, slots.size() - 1);
+    }
+  }
+
+  /**
+   * How a field sums, the zero and append are of its aggregates.
+   */
+  private interface Slot<T> {
+    Object zero();
+
+    Object append(Object a1, Object a2);
+
+    Cell<T> cell();
+  }
+
+  /**
+   * The mutable sum of a field.
+   */
+  private interface Cell<T> {
+    void addElement(T t);
+
+    void addAggregate(Object a);
+
+    Object result();
+  }
+
+  private static final class Cells<T> {
+    private final Object owner;
+    private final Cell<T>[] cells;
+
+    Cells(final Object owner, final Cell<T>[] cells) {
+      this.owner = owner;
+      this.cells = cells;
+    }
+
+    void add(final T t) {
+      for (final Cell<T> cell : cells) {
+        cell.addElement(t);
+      }
+    }
+
+    void add(final Result r) {
+      for (int i = 0; i < cells.length; i++) {
+        cells[i].addAggregate(r.value(owner, i));
+      }
+    }
+
+    Result result() {
+      final Object[] values = new Object[cells.length];
+      for (int i = 0; i < cells.length; i++) {
+        values[i] = cells[i].result();
+      }
+      return new Result(owner, values);
+    }
+  }
+
+  private static final class MonoidSlot<T, F> implements Slot<T> {
+    private final Monoid<F> monoid;
+    private final Function<? super T, ? extends F> f;
+
+    MonoidSlot(final Monoid<F> monoid, final Function<? super T, ? extends F> f) {
+      this.monoid = monoid;
+      this.f = f;
+    }
+
+    @Override public Object zero() {
+      return monoid.zero();
+    }
+
+    @SuppressWarnings("unchecked") @Override public Object append(final Object a1, final Object a2) {
+      return monoid.append((F) a1, (F) a2);
+    }
+
+    @Override public Cell<T> cell() {
+      final Accumulator<F> sum = monoid.accumulator();
+      return new Cell<T>() {
+        @Override public void addElement(final T t) {
+          sum.add(f.apply(t));
+        }
+
+        @SuppressWarnings("unchecked") @Override public void addAggregate(final Object a) {
+          sum.add((F) a);
+        }
+
+        @Override public Object result() {
+          return sum.result();
+        }
+      };
+    }
+  }
+
+  private static final class SemigroupSlot<T, F> implements Slot<T> {
+    private final Semigroup<F> semigroup;
+    private final Function<? super T, ? extends F> f;
+
+    SemigroupSlot(final Semigroup<F> semigroup, final Function<? super T, ? extends F> f) {
+      this.semigroup = semigroup;
+      this.f = f;
+    }
+
+    @Override public Object zero() {
+      return none();
+    }
+
+    @SuppressWarnings("unchecked") @Override public Object append(final Object a1, final Object a2) {
+      final Option<F> o1 = (Option<F>) a1;
+      final Option<F> o2 = (Option<F>) a2;
+      return o1.fold(() -> o2, f1 -> o2.fold(() -> o1, f2 -> some(semigroup.append(f1, f2))));
+    }
+
+    @Override public Cell<T> cell() {
+      return new Cell<T>() {
+        // null until there is a value
+        private F sum;
+
+        @Override public void addElement(final T t) {
+          add(requireNonNull(f.apply(t), "value"));
+        }
+
+        @SuppressWarnings("unchecked") @Override public void addAggregate(final Object a) {
+          final Option<F> o = (Option<F>) a;
+          if (o.isDefined()) {
+            add(o.get());
+          }
+        }
+
+        @Override public Object result() {
+          return (sum == null) ? none() : some(sum);
+        }
+
+        private void add(final F value) {
+          sum = (sum == null) ? value : semigroup.append(sum, value);
+        }
+      };
+    }
+  }
+}
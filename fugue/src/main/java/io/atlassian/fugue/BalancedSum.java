@@ -0,0 +1,69 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+/**
+ * Sums values pairwise in a balanced tree rather than folding from the left.
+ * Like a binary counter it keeps a stack of partial sums of 1, 2, 4 ...
+ * consecutive values, and when the top two sums cover the same number of
+ * values they are appended into one. So every value takes part in about log n
+ * appends and operands of similar size meet, which is much cheaper than a left
+ * fold when appending costs more as the operands grow. The order of the values
+ * is kept, so only associativity is relied on.
+ */
+final class BalancedSum<A> implements Monoid.Accumulator<A> {
+  private final Semigroup<A> semigroup;
+  private final A zero;
+  // the partial sums, oldest first, sums[i] covering 2^levels[i] values and
+  // the levels strictly decreasing, so 64 is enough for any count
+  @SuppressWarnings("unchecked") private final A[] sums = (A[]) new Object[64];
+  private final int[] levels = new int[64];
+  private int top;
+
+  /**
+   * @param zero the sum of nothing, may be null for a semigroup where at least
+   * one value is always added
+   */
+  BalancedSum(final Semigroup<A> semigroup, final A zero) {
+    this.semigroup = semigroup;
+    this.zero = zero;
+  }
+
+  @Override public void add(final A a) {
+    A sum = a;
+    int level = 0;
+    while (top > 0 && levels[top - 1] == level) {
+      top--;
+      sum = semigroup.append(sums[top], sum);
+      sums[top] = null;
+      level++;
+    }
+    sums[top] = sum;
+    levels[top++] = level;
+  }
+
+  @Override public A result() {
+    if (top == 0) {
+      return zero;
+    }
+    // the smallest sums are on top, so append them from the right
+    A sum = sums[top - 1];
+    for (int i = top - 2; i >= 0; i--) {
+      sum = semigroup.append(sums[i], sum);
+    }
+    return sum;
+  }
+}
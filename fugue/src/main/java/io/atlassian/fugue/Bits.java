@@ -0,0 +1,133 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.Arrays;
+
+/**
+ * Operations on a bitset held in a {@code long[]}, bit i is bit
+ * {@code i % 64} of word {@code i / 64}. Used by the columnar arrays to hold
+ * one flag per element.
+ */
+final class Bits {
+  // /CLOVER:OFF
+
+  private Bits() {}
+
+  // /CLOVER:ON
+
+  static long[] create(final int size) {
+    return new long[words(size)];
+  }
+
+  static long[] ensureCapacity(final long[] bits, final int size) {
+    final int words = words(size);
+    return (words > bits.length) ? Arrays.copyOf(bits, Math.max(words, bits.length * 2)) : bits;
+  }
+
+  static long[] copyOf(final long[] bits, final int size) {
+    return Arrays.copyOf(bits, words(size));
+  }
+
+  static int checkIndex(final int i, final int size) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+    }
+    return i;
+  }
+
+  static boolean get(final long[] bits, final int i) {
+    return (bits[i >>> 6] & (1L << i)) != 0;
+  }
+
+  static void set(final long[] bits, final int i) {
+    bits[i >>> 6] |= 1L << i;
+  }
+
+  static void clear(final long[] bits, final int i) {
+    bits[i >>> 6] &= ~(1L << i);
+  }
+
+  static int cardinality(final long[] bits) {
+    int count = 0;
+    for (final long w : bits) {
+      count += Long.bitCount(w);
+    }
+    return count;
+  }
+
+  /**
+   * The first index at or after {@code from} whose bit is set, or -1.
+   */
+  static int nextSet(final long[] bits, final int from) {
+    int word = from >>> 6;
+    if (word >= bits.length) {
+      return -1;
+    }
+    long w = bits[word] & (-1L << from);
+    while (true) {
+      if (w != 0) {
+        return (word << 6) + Long.numberOfTrailingZeros(w);
+      }
+      if (++word == bits.length) {
+        return -1;
+      }
+      w = bits[word];
+    }
+  }
+
+  /**
+   * The first index at or after {@code from} whose bit is clear, or
+   * {@code size}.
+   */
+  static int nextClear(final long[] bits, final int from, final int size) {
+    int word = from >>> 6;
+    if (from >= size) {
+      return size;
+    }
+    long w = ~bits[word] & (-1L << from);
+    while (true) {
+      if (w != 0) {
+        return Math.min(size, (word << 6) + Long.numberOfTrailingZeros(w));
+      }
+      if (++word == bits.length) {
+        return size;
+      }
+      w = ~bits[word];
+    }
+  }
+
+  static int hashCode(final long[] bits, final int size) {
+    int hash = 1;
+    for (int i = 0, words = words(size); i < words; i++) {
+      hash = 31 * hash + Long.hashCode(bits[i]);
+    }
+    return hash;
+  }
+
+  static boolean equals(final long[] a, final long[] b, final int size) {
+    for (int i = 0, words = words(size); i < words; i++) {
+      if (a[i] != b[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int words(final int size) {
+    return (size + 63) >>> 6;
+  }
+}
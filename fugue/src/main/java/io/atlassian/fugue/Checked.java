@@ -1,5 +1,7 @@
 package io.atlassian.fugue;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Helpers to work with functions that may throw exceptions. Used with
  * {@link Try}.
@@ -71,6 +73,125 @@ package io.atlassian.fugue;
     return a -> Checked.delay(() -> f.apply(a));
   }
 
+  /**
+   * Lifts a partial function, one that returns none for arguments it is not
+   * defined for, into a function that returns a Success of the value, or a
+   * failure of the exception it throws. An argument it is not defined for is a
+   * failure of the exception from the supplier.
+   * <p>
+   * This is the lightweight path for expected failures: no exception is thrown
+   * and caught for them, and a supplier of a preallocated
+   * {@link StacklessException} means they do not allocate an exception either.
+   *
+   * @param f a partial function that can throw
+   * @param failure supplies the exception for arguments f is not defined for
+   * @param <A> the function argument type
+   * @param <B> the function return type
+   * @param <E> The type of exception potentially thrown
+   * @return the argument function lifted into returning a Try
+   * @since 5.0.0
+   */
+  public static <A, B, E extends Exception> java.util.function.Function<A, Try<B>> liftPartial(Checked.Function<A, Option<B>, E> f,
+    final java.util.function.Supplier<? extends Exception> failure) {
+    return a -> {
+      final Option<B> b;
+      try {
+        b = f.apply(a);
+      } catch (final Exception e) {
+        return Try.failure(e);
+      }
+      return b.isDefined() ? Try.successful(b.get()) : Try.failure(failure.get());
+    };
+  }
+
+  /**
+   * Lifts a function that potentially throws into a memoizing function that
+   * either returns a Success of the value or a failure containing the thrown
+   * exception. Successes are memoized as in
+   * {@link Functions#softMemoize(java.util.function.Function)}, failures are
+   * not cached so the function is called again for that argument.
+   *
+   * @param f a function that can throw
+   * @param <A> the function argument type, it should be a value with correct
+   * hashcode and equals implementations
+   * @param <B> the function return type
+   * @param <E> The type of exception potentially thrown
+   * @return the argument function lifted into returning a memoized Try
+   * @see Functions#softMemoizeTry(java.util.function.Function)
+   * @since 5.0.0
+   */
+  public static <A, B, E extends Exception> java.util.function.Function<A, Try<B>> memoizedLift(Checked.Function<A, B, E> f) {
+    return Functions.softMemoizeTry(lift(f));
+  }
+
+  /**
+   * Lifts a function that potentially throws into a memoizing function that
+   * either returns a Success of the value or a failure containing the thrown
+   * exception. Successes are memoized as in
+   * {@link Functions#softMemoize(java.util.function.Function)}, failures are
+   * cached for at most {@code failureTtl} after which the function is called
+   * again for that argument.
+   *
+   * @param f a function that can throw
+   * @param failureTtl how long a failure is cached for, zero to not cache
+   * failures, must not be negative
+   * @param unit the unit of {@code failureTtl}
+   * @param <A> the function argument type, it should be a value with correct
+   * hashcode and equals implementations
+   * @param <B> the function return type
+   * @param <E> The type of exception potentially thrown
+   * @return the argument function lifted into returning a memoized Try
+   * @see Functions#softMemoizeTry(java.util.function.Function, long, TimeUnit)
+   * @since 5.0.0
+   */
+  public static <A, B, E extends Exception> java.util.function.Function<A, Try<B>> memoizedLift(Checked.Function<A, B, E> f,
+    final long failureTtl, final TimeUnit unit) {
+    return Functions.softMemoizeTry(lift(f), failureTtl, unit);
+  }
+
+  /**
+   * Lifts a function that potentially throws into a function that returns a
+   * delayed Try, whose evaluation is memoized. Successes are memoized as in
+   * {@link Functions#softMemoize(java.util.function.Function)}, failures are
+   * not cached so the function is called again when a delayed Try for that
+   * argument is next evaluated.
+   *
+   * @param f a function that can throw
+   * @param <A> the function argument type, it should be a value with correct
+   * hashcode and equals implementations
+   * @param <B> the function return type
+   * @param <E> The type of exception potentially thrown
+   * @return the argument function lifted into returning a delayed Try
+   * @since 5.0.0
+   */
+  public static <A, B, E extends Exception> java.util.function.Function<A, Try<B>> memoizedDelayedLift(Checked.Function<A, B, E> f) {
+    return memoizedDelayedLift(f, 0L, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Lifts a function that potentially throws into a function that returns a
+   * delayed Try, whose evaluation is memoized. Successes are memoized as in
+   * {@link Functions#softMemoize(java.util.function.Function)}, failures are
+   * cached for at most {@code failureTtl} after which the function is called
+   * again when a delayed Try for that argument is next evaluated.
+   *
+   * @param f a function that can throw
+   * @param failureTtl how long a failure is cached for, zero to not cache
+   * failures, must not be negative
+   * @param unit the unit of {@code failureTtl}
+   * @param <A> the function argument type, it should be a value with correct
+   * hashcode and equals implementations
+   * @param <B> the function return type
+   * @param <E> The type of exception potentially thrown
+   * @return the argument function lifted into returning a delayed Try
+   * @since 5.0.0
+   */
+  public static <A, B, E extends Exception> java.util.function.Function<A, Try<B>> memoizedDelayedLift(Checked.Function<A, B, E> f,
+    final long failureTtl, final TimeUnit unit) {
+    final java.util.function.Function<A, Try<B>> memoized = memoizedLift(f, failureTtl, unit);
+    return a -> Try.delayed(() -> memoized.apply(a));
+  }
+
   /**
    * Create a new Try representing the result of a potentially exception
    * throwing operation. If the provided supplier throws an exception this will
@@ -0,0 +1,68 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+/**
+ * A {@link Monoid} whose append is also commutative, so values can be summed
+ * in any order, such as by many threads at once with
+ * {@link Monoids#concurrentAccumulator(CommutativeMonoid)}. In addition to the
+ * monoidal laws implementations must follow:
+ * <ul>
+ * <li><em>Commutativity</em>; forall x y. append(x, y) == append(y, x)</li>
+ * </ul>
+ *
+ * @see Monoid
+ * @since 5.0.0
+ */
+public interface CommutativeMonoid<A> extends Monoid<A> {
+
+  /**
+   * Declares that a monoid is commutative, for example
+   * {@code CommutativeMonoid.of(Monoids.option(Semigroups.intMaximum))}. The
+   * caller is responsible for the monoid actually being commutative.
+   *
+   * @param monoid a commutative monoid
+   * @param <A> the monoid type
+   * @return the monoid if it already is a CommutativeMonoid, otherwise a
+   * CommutativeMonoid that delegates to it
+   */
+  static <A> CommutativeMonoid<A> of(final Monoid<A> monoid) {
+    if (monoid instanceof CommutativeMonoid) {
+      return (CommutativeMonoid<A>) monoid;
+    }
+    return new CommutativeMonoid<A>() {
+      @Override public A append(final A a1, final A a2) {
+        return monoid.append(a1, a2);
+      }
+
+      @Override public A zero() {
+        return monoid.zero();
+      }
+
+      @Override public A sum(final Iterable<A> as) {
+        return monoid.sum(as);
+      }
+
+      @Override public A multiply(final int n, final A a) {
+        return monoid.multiply(n, a);
+      }
+
+      @Override public Accumulator<A> accumulator() {
+        return monoid.accumulator();
+      }
+    };
+  }
+}
@@ -0,0 +1,125 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A sum of values of a {@link CommutativeMonoid} that many threads can add to
+ * without contending, in the manner of {@link java.util.concurrent.atomic.LongAdder}.
+ * Values are appended with a compare-and-set to a base sum, and once threads
+ * collide they are spread over a fixed set of cells, each on its own cache
+ * line. {@link #result()} appends the base and the cells, which is only correct
+ * because the monoid is commutative.
+ * <p>
+ * Lock-free: a thread whose compare-and-set fails moves on to another cell
+ * rather than waiting. The monoid's append may therefore be called more than
+ * once for a value, and must not have side effects; the values must be
+ * immutable. The result is exact once the threads adding have finished,
+ * while they are still adding it includes some of the concurrent additions.
+ *
+ * @param <A> the monoid type
+ * @see Monoids#concurrentAccumulator(CommutativeMonoid)
+ * @since 5.0.0
+ */
+public final class ConcurrentAccumulator<A> implements Monoid.Accumulator<A> {
+  // cells are this many references apart so each one has a cache line
+  private static final int STRIDE = 16;
+  private static final int CELLS = ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+
+  private final CommutativeMonoid<A> monoid;
+  private final AtomicReference<A> base;
+  // created on the first collision
+  private volatile AtomicReferenceArray<A> cells;
+
+  ConcurrentAccumulator(final CommutativeMonoid<A> monoid) {
+    this.monoid = requireNonNull(monoid, "monoid");
+    this.base = new AtomicReference<>(monoid.zero());
+  }
+
+  /**
+   * Append a value to the sum. Thread safe.
+   *
+   * @param a the value to append
+   */
+  @Override public void add(final A a) {
+    AtomicReferenceArray<A> cs = cells;
+    if (cs == null) {
+      final A current = base.get();
+      if (base.compareAndSet(current, monoid.append(current, a))) {
+        return;
+      }
+      cs = cells();
+    }
+    // a thread starts at its own cell and moves on when it collides
+    int cell = spread(Thread.currentThread().getId()) & (CELLS - 1);
+    while (true) {
+      final int i = cell * STRIDE;
+      final A current = cs.get(i);
+      if (cs.compareAndSet(i, current, monoid.append(current, a))) {
+        return;
+      }
+      cell = (cell + 1) & (CELLS - 1);
+    }
+  }
+
+  /**
+   * The sum of the values added so far.
+   *
+   * @return the sum
+   */
+  @Override public A result() {
+    A sum = base.get();
+    final AtomicReferenceArray<A> cs = cells;
+    if (cs != null) {
+      for (int cell = 0; cell < CELLS; cell++) {
+        sum = monoid.append(sum, cs.get(cell * STRIDE));
+      }
+    }
+    return sum;
+  }
+
+  @Override public String toString() {
+    return "ConcurrentAccumulator(" + result() + ")";
+  }
+
+  private AtomicReferenceArray<A> cells() {
+    synchronized (base) {
+      AtomicReferenceArray<A> cs = cells;
+      if (cs == null) {
+        cs = new AtomicReferenceArray<>(CELLS * STRIDE);
+        final A zero = monoid.zero();
+        for (int cell = 0; cell < CELLS; cell++) {
+          cs.set(cell * STRIDE, zero);
+        }
+        cells = cs;
+      }
+      return cs;
+    }
+  }
+
+  private static int spread(final long id) {
+    final int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int ceilingPowerOfTwo(final int n) {
+    return (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+  }
+}
@@ -0,0 +1,180 @@
+/*
+   Copyright 2015 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.PrimitiveIterator;
+import java.util.stream.DoubleStream;
+
+/**
+ * A {@link Monoid} of primitive doubles, which sums arrays, streams and iterators
+ * of doubles without boxing. Must follow the monoidal laws:
+ * <ul>
+ * <li><em>Left Identity</em>; forall x. append(zero(), x) == x</li>
+ * <li><em>Right Identity</em>; forall x. append(x, zero()) == x</li>
+ * <li><em>Associativity</em>; forall x y z. append(append(x, y), z) ==
+ * append(x, append(y, z))</li>
+ * </ul>
+ *
+ * @see DoubleSemigroup
+ * @since 5.0.0
+ */
+public interface DoubleMonoid extends DoubleSemigroup {
+
+  /**
+   * A monoid that adds doubles. Floating point addition is only approximately
+   * associative, so sums grouped differently, such as those of a parallel
+   * stream, can differ in the last bits.
+   */
+  DoubleMonoid addition = of(0.0, (d1, d2) -> d1 + d2);
+
+  /**
+   * A monoid that multiplies doubles.
+   */
+  DoubleMonoid multiplication = of(1.0, (d1, d2) -> d1 * d2);
+
+  /**
+   * A monoid that takes the larger double, the zero being negative
+   * infinity.
+   */
+  DoubleMonoid maximum = of(Double.NEGATIVE_INFINITY, Math::max);
+
+  /**
+   * A monoid that takes the smaller double, the zero being positive
+   * infinity.
+   */
+  DoubleMonoid minimum = of(Double.POSITIVE_INFINITY, Math::min);
+
+  /**
+   * Creates a monoid from its zero and an associative append.
+   *
+   * @param zero the identity element
+   * @param semigroup the append
+   * @return a monoid
+   */
+  static DoubleMonoid of(final double zero, final DoubleSemigroup semigroup) {
+    return new DoubleMonoid() {
+      @Override public double append(final double d1, final double d2) {
+        return semigroup.append(d1, d2);
+      }
+
+      @Override public double zero() {
+        return zero;
+      }
+    };
+  }
+
+  /**
+   * The identity element value for this monoid.
+   *
+   * @return The identity element for this monoid.
+   */
+  double zero();
+
+  /**
+   * Sums the given values.
+   *
+   * @param ds The values to sum.
+   * @return The sum of the given values.
+   */
+  default double sum(final double[] ds) {
+    return sumNonEmpty(zero(), ds);
+  }
+
+  /**
+   * Sums the given values. A parallel stream is reduced in parallel.
+   *
+   * @param ds The values to sum.
+   * @return The sum of the given values.
+   */
+  default double sum(final DoubleStream ds) {
+    return ds.reduce(zero(), this::append);
+  }
+
+  /**
+   * Sums the given values.
+   *
+   * @param ds The values to sum.
+   * @return The sum of the given values.
+   */
+  default double sum(final PrimitiveIterator.OfDouble ds) {
+    double sum = zero();
+    while (ds.hasNext()) {
+      sum = append(sum, ds.nextDouble());
+    }
+    return sum;
+  }
+
+  /**
+   * Returns a value summed <code>n</code> times (<code>a + a + ... + a</code>),
+   * using peasant multiplication for only `O(log n)` uses of
+   * {@link #append(double, double)}.
+   *
+   * @param n multiplier
+   * @param d the value to be repeatedly summed
+   * @return {@code d} summed {@code n} times. If {@code n <= 0}, returns
+   * {@code zero()}
+   */
+  default double multiply(final int n, final double d) {
+    double sum = zero();
+    double doubling = d;
+    for (int m = n; m > 0; m >>>= 1) {
+      if ((m & 1) == 1) {
+        sum = append(sum, doubling);
+      }
+      if (m > 1) {
+        doubling = append(doubling, doubling);
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * This monoid over boxed doubles, for compatibility with the API that takes a
+   * {@link Monoid}. Its accumulator keeps the sum as a primitive.
+   *
+   * @return a boxed view of this monoid
+   */
+  @Override default Monoid<Double> boxed() {
+    final DoubleMonoid monoid = this;
+    return new Monoid<Double>() {
+      @Override public Double append(final Double d1, final Double d2) {
+        return monoid.append(d1, d2);
+      }
+
+      @Override public Double zero() {
+        return monoid.zero();
+      }
+
+      @Override public Double multiply(final int n, final Double d) {
+        return monoid.multiply(n, d);
+      }
+
+      @Override public Accumulator<Double> accumulator() {
+        return new Accumulator<Double>() {
+          private double sum = monoid.zero();
+
+          @Override public void add(final Double d) {
+            sum = monoid.append(sum, d);
+          }
+
+          @Override public Double result() {
+            return sum;
+          }
+        };
+      }
+    };
+  }
+}
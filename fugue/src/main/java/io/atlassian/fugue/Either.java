@@ -106,7 +106,9 @@ public abstract class Either<L, R> implements Serializable {
   //
 
   /**
-   * Projects this either as a left.
+   * Projects this either as a left. A projection is a new object, the right
+   * biased methods on Either itself, and {@link #leftMap(Function)}, work
+   * directly on the value and do not allocate one.
    *
    * @return A left projection of this either.
    */
@@ -115,7 +117,10 @@ public abstract class Either<L, R> implements Serializable {
   }
 
   /**
-   * Projects this either as a right.
+   * Projects this either as a right. A projection is a new object, the right
+   * biased methods on Either itself, such as {@link #map(Function)} and
+   * {@link #getOr(Supplier)}, work directly on the value and do not allocate
+   * one.
    *
    * @return A right projection of this either.
    */
@@ -134,7 +139,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 4.3
    */
   public final R getOr(final Supplier<? extends R> supplier) {
-    return right().getOr(supplier);
+    return isRight() ? getRight() : supplier.get();
   }
 
   /**
@@ -159,7 +164,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.3
    */
   public final <X extends R> R getOrElse(final X other) {
-    return right().getOrElse(other);
+    return isRight() ? getRight() : other;
   }
 
   /**
@@ -172,7 +177,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.3
    */
   public final R getOrNull() {
-    return right().getOrNull();
+    return isRight() ? getRight() : null;
   }
 
   /**
@@ -186,7 +191,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.3
    */
   public final R getOrError(final Supplier<String> msg) {
-    return right().getOrError(msg);
+    return isRight() ? getRight() : Option.<R> none().getOrError(msg);
   }
 
   /**
@@ -201,7 +206,10 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.3
    */
   public final <X extends Throwable> R getOrThrow(final Supplier<X> ifUndefined) throws X {
-    return right().getOrThrow(ifUndefined);
+    if (isRight()) {
+      return getRight();
+    }
+    throw ifUndefined.get();
   }
 
   /**
@@ -214,7 +222,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.2
    */
   public final <X> Either<L, X> map(final Function<? super R, X> f) {
-    return right().map(f);
+    return isRight() ? new Right<>(f.apply(getRight())) : this.<X> leftAs();
   }
 
   /**
@@ -228,7 +236,12 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.2
    */
   public final <X, LL extends L> Either<L, X> flatMap(final Function<? super R, Either<LL, X>> f) {
-    return right().flatMap(f);
+    if (isRight()) {
+      @SuppressWarnings("unchecked")
+      final Either<L, X> result = (Either<L, X>) f.apply(getRight());
+      return result;
+    }
+    return leftAs();
   }
 
   /**
@@ -241,7 +254,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.3
    */
   public final boolean exists(final Predicate<? super R> p) {
-    return right().exists(p);
+    return isRight() && p.test(getRight());
   }
 
   /**
@@ -254,7 +267,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.3
    */
   public final boolean forall(final Predicate<? super R> p) {
-    return right().forall(p);
+    return isLeft() || p.test(getRight());
   }
 
   /**
@@ -266,7 +279,7 @@ public abstract class Either<L, R> implements Serializable {
    * @deprecated use {@link #forEach(Consumer)} instead
    */
   @Deprecated public final void foreach(final Effect<? super R> effect) {
-    right().foreach(effect);
+    forEach(effect::apply);
   }
 
   /**
@@ -277,7 +290,9 @@ public abstract class Either<L, R> implements Serializable {
    * @since 3.1
    */
   public final void forEach(final Consumer<? super R> effect) {
-    right().forEach(effect);
+    if (isRight()) {
+      effect.accept(getRight());
+    }
   }
 
   /**
@@ -301,8 +316,8 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.3
    */
   public final Either<L, R> orElse(final Supplier<? extends Either<? extends L, ? extends R>> orElse) {
-    if (right().isDefined()) {
-      return new Right<>(right().get());
+    if (isRight()) {
+      return this;
     }
 
     @SuppressWarnings("unchecked")
@@ -333,11 +348,11 @@ public abstract class Either<L, R> implements Serializable {
    * @since 3.2
    */
   public final R rightOr(final Function<L, ? extends R> leftTransformer) {
-    if (right().isDefined()) {
-      return right().get();
+    if (isRight()) {
+      return getRight();
     }
 
-    return leftTransformer.apply(left().get());
+    return leftTransformer.apply(getLeft());
   }
 
   /**
@@ -349,11 +364,11 @@ public abstract class Either<L, R> implements Serializable {
    * @since 3.2
    */
   public final L leftOr(final Function<R, ? extends L> rightTransformer) {
-    if (left().isDefined()) {
-      return left().get();
+    if (isLeft()) {
+      return getLeft();
     }
 
-    return rightTransformer.apply(right().get());
+    return rightTransformer.apply(getRight());
   }
 
   /**
@@ -368,7 +383,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.3
    */
   public final Option<Either<L, R>> filter(final Predicate<? super R> p) {
-    return right().filter(p);
+    return exists(p) ? some(this) : none();
   }
 
   /**
@@ -389,7 +404,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 4.7.0
    */
   public final Either<L, R> filterOrElse(Predicate<? super R> p, Supplier<? extends L> orElseSupplier) {
-    return right().filterOrElse(p, orElseSupplier);
+    return (isLeft() || p.test(getRight())) ? this : left(orElseSupplier.get());
   }
 
   /**
@@ -402,7 +417,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 4.0
    */
   public final Optional<R> toOptional() {
-    return right().toOptional();
+    return isRight() ? Optional.of(getRight()) : Optional.empty();
   }
 
   /**
@@ -414,7 +429,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.6
    */
   public final Option<R> toOption() {
-    return right().toOption();
+    return isRight() ? some(getRight()) : none();
   }
 
   /**
@@ -427,7 +442,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 4.5.0
    */
   public final Stream<R> toStream() {
-    return right().toStream();
+    return isRight() ? Stream.of(getRight()) : Stream.empty();
   }
 
   /**
@@ -440,7 +455,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.6
    */
   public <X> Either<L, X> sequence(final Either<L, X> e) {
-    return right().sequence(e);
+    return isRight() ? e : leftAs();
   }
 
   /**
@@ -468,7 +483,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 3.0
    */
   public <X> Either<L, X> ap(final Either<L, Function<R, X>> either) {
-    return either.right().flatMap(this::map);
+    return either.isRight() ? map(either.getRight()) : either.leftAs();
   }
 
   /**
@@ -481,7 +496,7 @@ public abstract class Either<L, R> implements Serializable {
    * @since 2.2
    */
   public final <X> Either<X, R> leftMap(final Function<? super L, X> f) {
-    return left().map(f);
+    return isLeft() ? new Left<>(f.apply(getLeft())) : this.<X> rightAs();
   }
 
   //
@@ -552,6 +567,16 @@ public abstract class Either<L, R> implements Serializable {
     throw new NoSuchElementException();
   }
 
+  // this left as an either of another right type, isLeft() must be true
+  @SuppressWarnings("unchecked") final <X> Either<L, X> leftAs() {
+    return (Either<L, X>) this;
+  }
+
+  // this right as an either of another left type, isRight() must be true
+  @SuppressWarnings("unchecked") final <X> Either<X, R> rightAs() {
+    return (Either<X, R>) this;
+  }
+
   //
   // inner class implementations
   //
@@ -587,9 +612,7 @@ public abstract class Either<L, R> implements Serializable {
     }
 
     @Override public <LL, RR> Either<LL, RR> bimap(final Function<? super L, ? extends LL> ifLeft, final Function<? super R, ? extends RR> ifRight) {
-      @SuppressWarnings("unchecked")
-      final Either<LL, RR> map = (Either<LL, RR>) left().map(ifLeft);
-      return map;
+      return new Left<>(ifLeft.apply(value));
     }
 
     @Override public boolean equals(final Object o) {
@@ -642,9 +665,7 @@ public abstract class Either<L, R> implements Serializable {
     }
 
     @Override public <LL, RR> Either<LL, RR> bimap(final Function<? super L, ? extends LL> ifLeft, final Function<? super R, ? extends RR> ifRight) {
-      @SuppressWarnings("unchecked")
-      final Either<LL, RR> map = (Either<LL, RR>) right().map(ifRight);
-      return map;
+      return new Right<>(ifRight.apply(value));
     }
 
     @Override public boolean equals(final Object o) {
@@ -752,7 +773,7 @@ public abstract class Either<L, R> implements Serializable {
     }
 
     public L on(final Function<? super R, ? extends L> f) {
-      return isLeft() ? get() : f.apply(right().get());
+      return isLeft() ? get() : f.apply(getRight());
     }
 
     //
@@ -767,7 +788,7 @@ public abstract class Either<L, R> implements Serializable {
      * @return A new either value after mapping.
      */
     public <X> Either<X, R> map(final Function<? super L, X> f) {
-      return isLeft() ? new Left<>(f.apply(get())) : this.<X> toRight();
+      return isLeft() ? new Left<>(f.apply(get())) : Either.this.<X> rightAs();
     }
 
     /**
@@ -784,14 +805,10 @@ public abstract class Either<L, R> implements Serializable {
         final Either<X, R> result = (Either<X, R>) f.apply(get());
         return result;
       } else {
-        return this.toRight();
+        return rightAs();
       }
     }
 
-    <X> Right<X, R> toRight() {
-      return new Right<>(getRight());
-    }
-
     /**
      * Anonymous bind through this projection.
      *
@@ -816,8 +833,7 @@ public abstract class Either<L, R> implements Serializable {
      */
     public <X> Option<Either<L, X>> filter(final Predicate<? super L> f) {
       if (isLeft() && f.test(get())) {
-        final Either<L, X> result = new Left<>(get());
-        return some(result);
+        return some(leftAs());
       }
       return none();
     }
@@ -843,12 +859,12 @@ public abstract class Either<L, R> implements Serializable {
       if (isLeft()) {
         L value = get();
         if (p.test(value)) {
-          return new Left<>(value);
+          return Either.this;
         } else {
           return (Either<L, R>) right(orElseSupplier.get());
         }
       } else {
-        return this.toRight();
+        return Either.this;
       }
     }
 
@@ -862,7 +878,7 @@ public abstract class Either<L, R> implements Serializable {
      * @since 3.0
      */
     public <X> Either<X, R> ap(final Either<Function<L, X>, R> either) {
-      return either.left().flatMap(this::map);
+      return either.isLeft() ? map(either.getLeft()) : either.rightAs();
     }
 
     /**
@@ -886,7 +902,7 @@ public abstract class Either<L, R> implements Serializable {
      * @return an either with the coerced right type.
      */
     <X> Either<L, X> as() {
-      return left(get());
+      return leftAs();
     }
   }
 
@@ -905,7 +921,7 @@ public abstract class Either<L, R> implements Serializable {
     }
 
     @Override public R on(final Function<? super L, ? extends R> f) {
-      return isRight() ? get() : f.apply(left().get());
+      return isRight() ? get() : f.apply(getLeft());
     }
 
     //
@@ -920,7 +936,7 @@ public abstract class Either<L, R> implements Serializable {
      * @return A new either value after mapping.
      */
     public <X> Either<L, X> map(final Function<? super R, X> f) {
-      return isRight() ? new Right<>(f.apply(get())) : this.<X> toLeft();
+      return isRight() ? new Right<>(f.apply(get())) : Either.this.<X> leftAs();
     }
 
     /**
@@ -937,14 +953,10 @@ public abstract class Either<L, R> implements Serializable {
         final Either<L, X> result = (Either<L, X>) f.apply(get());
         return result;
       } else {
-        return this.toLeft();
+        return leftAs();
       }
     }
 
-    <X> Left<L, X> toLeft() {
-      return new Left<>(left().get());
-    }
-
     /**
      * Anonymous bind through this projection.
      *
@@ -969,8 +981,7 @@ public abstract class Either<L, R> implements Serializable {
      */
     public <X> Option<Either<X, R>> filter(final Predicate<? super R> f) {
       if (isRight() && f.test(get())) {
-        final Either<X, R> result = new Right<>(get());
-        return some(result);
+        return some(rightAs());
       }
       return none();
     }
@@ -996,12 +1007,12 @@ public abstract class Either<L, R> implements Serializable {
       if (isRight()) {
         R value = get();
         if (p.test(value)) {
-          return new Right<>(value);
+          return Either.this;
         } else {
           return (Either<L, R>) left(orElseSupplier.get());
         }
       } else {
-        return this.toLeft();
+        return Either.this;
       }
     }
 
@@ -1015,7 +1026,7 @@ public abstract class Either<L, R> implements Serializable {
      * @since 3.0
      */
     public <X> Either<L, X> ap(final Either<L, Function<R, X>> either) {
-      return either.right().flatMap(this::map);
+      return either.isRight() ? map(either.getRight()) : either.leftAs();
     }
 
     /**
@@ -1038,7 +1049,7 @@ public abstract class Either<L, R> implements Serializable {
      * @return an either with the coerced left type.
      */
     <X> Either<X, R> as() {
-      return right(get());
+      return rightAs();
     }
   }
 
@@ -0,0 +1,401 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import static io.atlassian.fugue.Pair.pair;
+
+/**
+ * An immutable sequence of eithers stored in columns: which elements are a
+ * right is a bitset and the left or right values share one array, rather than
+ * an {@link Either} object per element. The bulk operations work on the
+ * columns directly, and only {@link #get(int)} and {@link #iterator()} create
+ * eithers.
+ *
+ * @param <L> the left type
+ * @param <R> the right type
+ * @see OptionArray
+ * @since 5.0.0
+ */
+public final class EitherArray<L, R> implements Iterable<Either<L, R>> {
+  /**
+   * Creates an either array of the eithers.
+   *
+   * @param eithers the eithers, must not be null
+   * @param <L> the left type
+   * @param <R> the right type
+   * @return an either array of the same eithers, in the same order
+   */
+  public static <L, R> EitherArray<L, R> of(final Iterable<Either<L, R>> eithers) {
+    final Builder<L, R> builder = builder();
+    for (final Either<L, R> e : eithers) {
+      builder.add(e);
+    }
+    return builder.build();
+  }
+
+  /**
+   * A builder to add lefts and rights to without creating eithers.
+   *
+   * @param <L> the left type
+   * @param <R> the right type
+   * @return a new builder
+   */
+  public static <L, R> Builder<L, R> builder() {
+    return new Builder<>();
+  }
+
+  private final long[] rights;
+  private final Object[] values;
+  private final int size;
+
+  private EitherArray(final long[] rights, final Object[] values, final int size) {
+    this.rights = rights;
+    this.values = values;
+    this.size = size;
+  }
+
+  /**
+   * The number of elements.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * The number of rights.
+   *
+   * @return the number of elements that are a right
+   */
+  public int rightCount() {
+    return Bits.cardinality(rights);
+  }
+
+  /**
+   * The number of lefts.
+   *
+   * @return the number of elements that are a left
+   */
+  public int leftCount() {
+    return size - rightCount();
+  }
+
+  /**
+   * If an element is a right.
+   *
+   * @param i the index of the element
+   * @return true if element i is a right
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public boolean isRight(final int i) {
+    return Bits.get(rights, Bits.checkIndex(i, size));
+  }
+
+  /**
+   * If an element is a left.
+   *
+   * @param i the index of the element
+   * @return true if element i is a left
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public boolean isLeft(final int i) {
+    return !isRight(i);
+  }
+
+  /**
+   * The value of an element that is a right.
+   *
+   * @param i the index of the element
+   * @return the right value of element i
+   * @throws NoSuchElementException if element i is a left
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public R right(final int i) {
+    if (!isRight(i)) {
+      throw new NoSuchElementException();
+    }
+    return value(values, i);
+  }
+
+  /**
+   * The value of an element that is a left.
+   *
+   * @param i the index of the element
+   * @return the left value of element i
+   * @throws NoSuchElementException if element i is a right
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public L left(final int i) {
+    if (isRight(i)) {
+      throw new NoSuchElementException();
+    }
+    return value(values, i);
+  }
+
+  /**
+   * An element as an either.
+   *
+   * @param i the index of the element
+   * @return element i
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public Either<L, R> get(final int i) {
+    return isRight(i) ? Either.right(value(values, i)) : Either.left(value(values, i));
+  }
+
+  /**
+   * Map the right values, the lefts are unchanged.
+   *
+   * @param f the function to apply to the right values, must not return null
+   * @param <X> the new right type
+   * @return an either array of the mapped rights and the same lefts
+   */
+  public <X> EitherArray<L, X> map(final Function<? super R, ? extends X> f) {
+    final Object[] mapped = values.clone();
+    for (int i = Bits.nextSet(rights, 0); i >= 0; i = Bits.nextSet(rights, i + 1)) {
+      mapped[i] = Objects.requireNonNull(f.apply(value(values, i)));
+    }
+    // the bitset is immutable once built, so it can be shared
+    return new EitherArray<>(rights, mapped, size);
+  }
+
+  /**
+   * Map the left values, the rights are unchanged.
+   *
+   * @param f the function to apply to the left values, must not return null
+   * @param <X> the new left type
+   * @return an either array of the mapped lefts and the same rights
+   */
+  public <X> EitherArray<X, R> leftMap(final Function<? super L, ? extends X> f) {
+    final Object[] mapped = values.clone();
+    for (int i = Bits.nextClear(rights, 0, size); i < size; i = Bits.nextClear(rights, i + 1, size)) {
+      mapped[i] = Objects.requireNonNull(f.apply(value(values, i)));
+    }
+    return new EitherArray<>(rights, mapped, size);
+  }
+
+  /**
+   * Turn the rights that do not satisfy the predicate into lefts.
+   *
+   * @param p the predicate to test the right values with
+   * @param orElseSupplier supplies the left value for the rights that do not
+   * satisfy the predicate, must not supply null
+   * @return an either array of the rights that satisfy the predicate, and of
+   * lefts
+   * @see Either#filterOrElse(Predicate, Supplier)
+   */
+  public EitherArray<L, R> filterOrElse(final Predicate<? super R> p, final Supplier<? extends L> orElseSupplier) {
+    final long[] kept = rights.clone();
+    final Object[] keptValues = values.clone();
+    for (int i = Bits.nextSet(rights, 0); i >= 0; i = Bits.nextSet(rights, i + 1)) {
+      if (!p.test(value(values, i))) {
+        Bits.clear(kept, i);
+        keptValues[i] = Objects.requireNonNull(orElseSupplier.get());
+      }
+    }
+    return new EitherArray<>(kept, keptValues, size);
+  }
+
+  /**
+   * Collect the right values if there are only rights, otherwise return the
+   * first left.
+   *
+   * @return either the right values, or the first left
+   * @see Eithers#sequenceRight(Iterable)
+   */
+  public Either<L, List<R>> sequenceRight() {
+    return sequenceRight(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Collect the right values if there are only rights, otherwise return the
+   * first left.
+   *
+   * @param collector result collector
+   * @param <A> the intermediate accumulator type
+   * @param <C> the result type
+   * @return either the collected right values, or the first left
+   * @see Eithers#sequenceRight(Iterable, Collector)
+   */
+  public <A, C> Either<L, C> sequenceRight(final Collector<R, A, C> collector) {
+    final int firstLeft = Bits.nextClear(rights, 0, size);
+    if (firstLeft < size) {
+      return Either.left(value(values, firstLeft));
+    }
+    final A accumulator = collector.supplier().get();
+    for (int i = 0; i < size; i++) {
+      collector.accumulator().accept(accumulator, value(values, i));
+    }
+    return Either.right(collector.finisher().apply(accumulator));
+  }
+
+  /**
+   * Splits the elements into their left and right values in a single pass.
+   *
+   * @return the left values on the left and the right values on the right,
+   * each in order
+   */
+  public Pair<List<L>, List<R>> partition() {
+    final int rightCount = rightCount();
+    final List<L> lefts = new ArrayList<>(size - rightCount);
+    final List<R> rs = new ArrayList<>(rightCount);
+    for (int i = 0; i < size; i++) {
+      if (Bits.get(rights, i)) {
+        rs.add(value(values, i));
+      } else {
+        lefts.add(value(values, i));
+      }
+    }
+    return pair(Collections.unmodifiableList(lefts), Collections.unmodifiableList(rs));
+  }
+
+  /**
+   * A view of the elements as eithers, each one created when it is read.
+   *
+   * @return a list view of this array
+   */
+  public List<Either<L, R>> asList() {
+    return new AbstractList<Either<L, R>>() {
+      @Override public Either<L, R> get(final int i) {
+        return EitherArray.this.get(i);
+      }
+
+      @Override public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override public Iterator<Either<L, R>> iterator() {
+    return asList().iterator();
+  }
+
+  @Override public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof EitherArray)) {
+      return false;
+    }
+    final EitherArray<?, ?> other = (EitherArray<?, ?>) obj;
+    if (size != other.size || !Bits.equals(rights, other.rights, size)) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (!values[i].equals(other.values[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override public int hashCode() {
+    int hash = Bits.hashCode(rights, size);
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + values[i].hashCode();
+    }
+    return hash;
+  }
+
+  @Override public String toString() {
+    return Iterables.makeString(this, "EitherArray[", ", ", "]", 1000);
+  }
+
+  @SuppressWarnings("unchecked") private static <A> A value(final Object[] values, final int i) {
+    return (A) values[i];
+  }
+
+  /**
+   * Builds an {@link EitherArray}. Not thread safe.
+   *
+   * @param <L> the left type
+   * @param <R> the right type
+   */
+  public static final class Builder<L, R> {
+    private long[] rights = Bits.create(16);
+    private Object[] values = new Object[16];
+    private int size;
+
+    private Builder() {}
+
+    /**
+     * Add a right.
+     *
+     * @param r the right value, must not be null
+     * @return this builder
+     */
+    public Builder<L, R> addRight(final R r) {
+      ensureCapacity();
+      Bits.set(rights, size);
+      values[size++] = Objects.requireNonNull(r);
+      return this;
+    }
+
+    /**
+     * Add a left.
+     *
+     * @param l the left value, must not be null
+     * @return this builder
+     */
+    public Builder<L, R> addLeft(final L l) {
+      ensureCapacity();
+      values[size++] = Objects.requireNonNull(l);
+      return this;
+    }
+
+    /**
+     * Add an either.
+     *
+     * @param e the either
+     * @return this builder
+     */
+    public Builder<L, R> add(final Either<L, R> e) {
+      return e.isRight() ? addRight(e.getRight()) : addLeft(e.getLeft());
+    }
+
+    /**
+     * The either array of the elements added so far. The builder can still be
+     * added to afterwards without affecting it.
+     *
+     * @return an either array
+     */
+    public EitherArray<L, R> build() {
+      return new EitherArray<>(Bits.copyOf(rights, size), Arrays.copyOf(values, size), size);
+    }
+
+    private void ensureCapacity() {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      rights = Bits.ensureCapacity(rights, size + 1);
+    }
+  }
+}
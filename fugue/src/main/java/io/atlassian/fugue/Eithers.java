@@ -16,11 +16,16 @@
 package io.atlassian.fugue;
 
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.atlassian.fugue.Iterables.collect;
 import static io.atlassian.fugue.Iterables.map;
@@ -51,9 +56,9 @@ public class Eithers {
    */
   public static <T> T merge(final Either<T, T> either) {
     if (either.isLeft()) {
-      return either.left().get();
+      return either.getLeft();
     }
-    return either.right().get();
+    return either.getRight();
   }
 
   /**
@@ -85,9 +90,9 @@ public class Eithers {
    */
   public static <X extends Exception, A> A getOrThrow(final Either<X, A> either) throws X {
     if (either.isLeft()) {
-      throw either.left().get();
+      throw either.getLeft();
     }
-    return either.right().get();
+    return either.getRight();
   }
 
   /**
@@ -123,7 +128,7 @@ public class Eithers {
    * @return the function returning a defined option for left-hand-sided eithers
    */
   public static <L, R> Function<Either<L, R>, Option<L>> leftMapper() {
-    return either -> either.left().toOption();
+    return either -> either.isLeft() ? Option.some(either.getLeft()) : Option.none();
   }
 
   /**
@@ -138,7 +143,7 @@ public class Eithers {
    * eithers
    */
   public static <L, R> Function<Either<L, R>, Option<R>> rightMapper() {
-    return either -> either.right().toOption();
+    return Either::toOption;
   }
 
   /**
@@ -267,7 +272,9 @@ public class Eithers {
    * @since 2.0
    */
   public static <LL, L extends LL, R> Either<LL, R> upcastLeft(final Either<L, R> e) {
-    return e.left().map(Functions.<LL> identity());
+    @SuppressWarnings("unchecked")
+    final Either<LL, R> result = (Either<LL, R>) e;
+    return result;
   }
 
   /**
@@ -282,7 +289,9 @@ public class Eithers {
    * @since 2.0
    */
   public static <L, RR, R extends RR> Either<L, RR> upcastRight(final Either<L, R> e) {
-    return e.right().map(Functions.<RR> identity());
+    @SuppressWarnings("unchecked")
+    final Either<L, RR> result = (Either<L, RR>) e;
+    return result;
   }
 
   /**
@@ -341,13 +350,114 @@ public class Eithers {
     final A accumulator = collector.supplier().get();
     for (final Either<L, R> e : eithers) {
       if (e.isLeft()) {
-        return e.left().as();
+        return e.leftAs();
       }
-      collector.accumulator().accept(accumulator, e.right().get());
+      collector.accumulator().accept(accumulator, e.getRight());
     }
     return Either.right(collector.finisher().apply(accumulator));
   }
 
+  /**
+   * Apply a function to the elements of a stream and collect the right values
+   * if there are only rights, otherwise return the first left. Unlike
+   * collecting with {@link FugueCollectors#toEitherRight()}, no more elements
+   * are pulled from the stream once a left is found, so a long or infinite
+   * stream that fails early is not consumed. The elements are visited one at a
+   * time in encounter order, even if the stream is parallel.
+   *
+   * @param <A> the stream element type
+   * @param <L> the LHS type
+   * @param <R> the RHS type
+   * @param stream the stream to traverse
+   * @param f the function to apply to each element
+   * @return either the list of right values, or the first left
+   * @since 5.0.0
+   */
+  public static <A, L, R> Either<L, List<R>> traverseStream(final Stream<A> stream, final Function<? super A, Either<L, R>> f) {
+    return traverseStream(stream, f, Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Apply a function to the elements of a stream and collect the right values
+   * if there are only rights, otherwise return the first left. Unlike
+   * collecting with {@link FugueCollectors#toEitherRight(Collector)}, no more
+   * elements are pulled from the stream once a left is found, so a long or
+   * infinite stream that fails early is not consumed. The elements are visited
+   * one at a time in encounter order, even if the stream is parallel.
+   *
+   * @param <A> the stream element type
+   * @param <L> the LHS type
+   * @param <R> the RHS type
+   * @param <B> The intermediate accumulator type
+   * @param <C> The result type
+   * @param stream the stream to traverse
+   * @param f the function to apply to each element
+   * @param collector result collector
+   * @return either the collected right values, or the first left
+   * @since 5.0.0
+   */
+  public static <A, L, R, B, C> Either<L, C> traverseStream(final Stream<A> stream, final Function<? super A, Either<L, R>> f,
+    final Collector<R, B, C> collector) {
+    final B accumulator = collector.supplier().get();
+    for (final Iterator<A> it = stream.iterator(); it.hasNext();) {
+      final Either<L, R> e = f.apply(it.next());
+      if (e.isLeft()) {
+        return e.leftAs();
+      }
+      collector.accumulator().accept(accumulator, e.getRight());
+    }
+    return Either.right(collector.finisher().apply(accumulator));
+  }
+
+  /**
+   * Gets all of the eithers concurrently on an executor and collects the right
+   * values if there are only rights, otherwise returns the first left to
+   * complete. Suppliers still running when a left completes are cancelled,
+   * interrupting the threads running them.
+   *
+   * @param <L> the LHS type
+   * @param <R> the RHS type
+   * @param eithers an Iterable of suppliers of either values
+   * @param executor the executor to call the suppliers on
+   * @return either the iterable of right values, or the first left to complete
+   * @throws InterruptedException if the calling thread is interrupted while
+   * waiting, the suppliers are cancelled
+   * @since 5.0.0
+   */
+  public static <L, R> Either<L, Iterable<R>> parallelSequenceRight(final Iterable<? extends Supplier<Either<L, R>>> eithers, final Executor executor)
+    throws InterruptedException {
+    return parallelSequenceRight(eithers, executor, Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Gets all of the eithers concurrently on an executor and collects the right
+   * values if there are only rights, otherwise returns the first left to
+   * complete. Suppliers still running when a left completes are cancelled,
+   * interrupting the threads running them. An exception thrown by a supplier
+   * cancels the others and is rethrown.
+   *
+   * @param <L> the LHS type
+   * @param <R> the RHS type
+   * @param <A> The intermediate accumulator type
+   * @param <C> The result type
+   * @param eithers an Iterable of suppliers of either values
+   * @param executor the executor to call the suppliers on
+   * @param collector result collector, values are collected in the order of
+   * the suppliers
+   * @return either the collected right values, or the first left to complete
+   * @throws InterruptedException if the calling thread is interrupted while
+   * waiting, the suppliers are cancelled
+   * @since 5.0.0
+   */
+  public static <L, R, A, C> Either<L, C> parallelSequenceRight(final Iterable<? extends Supplier<Either<L, R>>> eithers, final Executor executor,
+    final Collector<R, A, C> collector) throws InterruptedException {
+    try {
+      return Parallel.<Either<L, R>> sequence(eithers, executor, Either::isLeft).fold(left -> left.leftAs(), rights -> sequenceRight(rights, collector));
+    } catch (final ExecutionException e) {
+      throw Parallel.unchecked(e);
+    }
+  }
+
   /**
    * Collect the left values if there are only lefts, otherwise return the first
    * right encountered.
@@ -378,9 +488,9 @@ public class Eithers {
     final A accumulator = collector.supplier().get();
     for (final Either<L, R> e : eithers) {
       if (e.isRight()) {
-        return e.right().as();
+        return e.rightAs();
       }
-      collector.accumulator().accept(accumulator, e.left().get());
+      collector.accumulator().accept(accumulator, e.getLeft());
     }
     return Either.left(collector.finisher().apply(accumulator));
   }
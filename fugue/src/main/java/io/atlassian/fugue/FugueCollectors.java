@@ -2,11 +2,15 @@ package io.atlassian.fugue;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.function.UnaryOperator;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
 
 /**
  * {@link Collector} instances.
@@ -35,6 +39,10 @@ public final class FugueCollectors {
    * right encountered. Collectors have `foldLeft` semantics. For
    * {@link java.util.Spliterator#ORDERED} sequences the left-most
    * {@link io.atlassian.fugue.Either.Right} value is returned.
+   * <p>
+   * Once a right is found the remaining lefts are not passed to the downstream
+   * collector, but a collector can't stop the stream, so every element is still
+   * pulled from it.
    *
    * @param lCollector result collector
    * @param <L> the LHS type
@@ -46,12 +54,16 @@ public final class FugueCollectors {
    */
   public static <L, R, A, B> Collector<Either<L, R>, ?, Either<B, R>> toEitherLeft(Collector<L, A, B> lCollector) {
     requireNonNull(lCollector);
-    return Collector.of(() -> new Ref<>(Either.<A, R> left(lCollector.supplier().get())), (ref, either) -> ref.update(acc -> acc.left().flatMap(
-      a -> either.leftMap(l -> {
-        lCollector.accumulator().accept(a, l);
-        return a;
-      }))), (refL, refR) -> new Ref<>(refL.get().left().flatMap(lv -> refR.get().leftMap(rv -> lCollector.combiner().apply(lv, rv)))), ref -> ref
-      .get().leftMap(a -> lCollector.finisher().apply(a)), maybeUnorderedCharacteristics(lCollector));
+    return Collector.<Either<L, R>, Sequence<A, Either<L, R>>, Either<B, R>> of(() -> new Sequence<>(lCollector.supplier().get()), (seq, either) -> {
+      if (seq.failure == null) {
+        if (either.isRight()) {
+          seq.failure = either;
+        } else {
+          lCollector.accumulator().accept(seq.accumulator, either.getLeft());
+        }
+      }
+    }, (l, r) -> l.combine(r, lCollector.combiner()), seq -> (seq.failure != null) ? seq.failure.rightAs() : Either.left(lCollector.finisher().apply(
+      seq.accumulator)), maybeUnorderedCharacteristics(lCollector));
   }
 
   /**
@@ -74,6 +86,12 @@ public final class FugueCollectors {
    * first left encountered. Collectors have `foldLeft` semantics. For
    * {@link java.util.Spliterator#ORDERED} sequences the left-most
    * {@link io.atlassian.fugue.Either.Left} value is returned.
+   * <p>
+   * Once a left is found the remaining rights are not passed to the downstream
+   * collector, but a collector can't stop the stream, so every element is still
+   * pulled from it. {@link Eithers#traverseStream(java.util.stream.Stream, java.util.function.Function)}
+   * stops at the first left instead. The right values of a parallel stream are
+   * combined in place.
    *
    * @param rCollector result collector
    * @param <L> the LHS type
@@ -85,12 +103,16 @@ public final class FugueCollectors {
    */
   public static <L, R, A, B> Collector<Either<L, R>, ?, Either<L, B>> toEitherRight(Collector<R, A, B> rCollector) {
     requireNonNull(rCollector);
-    return Collector.of(() -> new Ref<>(Either.<L, A> right(rCollector.supplier().get())),
-      (ref, either) -> ref.update(acc -> acc.flatMap(a -> either.map(r -> {
-        rCollector.accumulator().accept(a, r);
-        return a;
-      }))), (refL, refR) -> new Ref<>(refL.get().flatMap(lv -> refR.get().map(rv -> rCollector.combiner().apply(lv, rv)))),
-      ref -> ref.get().map(a -> rCollector.finisher().apply(a)), maybeUnorderedCharacteristics(rCollector));
+    return Collector.<Either<L, R>, Sequence<A, Either<L, R>>, Either<L, B>> of(() -> new Sequence<>(rCollector.supplier().get()), (seq, either) -> {
+      if (seq.failure == null) {
+        if (either.isLeft()) {
+          seq.failure = either;
+        } else {
+          rCollector.accumulator().accept(seq.accumulator, either.getRight());
+        }
+      }
+    }, (l, r) -> l.combine(r, rCollector.combiner()), seq -> (seq.failure != null) ? seq.failure.leftAs() : Either.right(rCollector.finisher().apply(
+      seq.accumulator)), maybeUnorderedCharacteristics(rCollector));
   }
 
   /**
@@ -120,6 +142,45 @@ public final class FugueCollectors {
       aCollector.finisher(), aCollector.characteristics().toArray(new Collector.Characteristics[0]));
   }
 
+  /**
+   * Collect the values within the options into an array, without boxing them.
+   *
+   * @since 5.0.0
+   * @return flattening collector of {@link OptionInt}.
+   */
+  public static Collector<OptionInt, ?, int[]> flattenInts() {
+    return Collector.<OptionInt, IntStream.Builder, int[]> of(IntStream::builder, (b, o) -> o.forEach(b), (l, r) -> {
+      r.build().forEach(l);
+      return l;
+    }, b -> b.build().toArray());
+  }
+
+  /**
+   * Collect the values within the options into an array, without boxing them.
+   *
+   * @since 5.0.0
+   * @return flattening collector of {@link OptionLong}.
+   */
+  public static Collector<OptionLong, ?, long[]> flattenLongs() {
+    return Collector.<OptionLong, LongStream.Builder, long[]> of(LongStream::builder, (b, o) -> o.forEach(b), (l, r) -> {
+      r.build().forEach(l);
+      return l;
+    }, b -> b.build().toArray());
+  }
+
+  /**
+   * Collect the values within the options into an array, without boxing them.
+   *
+   * @since 5.0.0
+   * @return flattening collector of {@link OptionDouble}.
+   */
+  public static Collector<OptionDouble, ?, double[]> flattenDoubles() {
+    return Collector.<OptionDouble, DoubleStream.Builder, double[]> of(DoubleStream::builder, (b, o) -> o.forEach(b), (l, r) -> {
+      r.build().forEach(l);
+      return l;
+    }, b -> b.build().toArray());
+  }
+
   /**
    * Collect the right values if there are only successes, otherwise return the
    * first failure encountered. Collectors have `foldLeft` semantics. For
@@ -139,6 +200,12 @@ public final class FugueCollectors {
    * first failure encountered. Collectors have `foldLeft` semantics. For
    * {@link java.util.Spliterator#ORDERED} sequences the left-most
    * {@code io.atlassian.fugue.Try.Failure} value is returned.
+   * <p>
+   * Once a failure is found the remaining successes are not passed to the
+   * downstream collector, but a collector can't stop the stream, so every
+   * element is still pulled from it.
+   * {@link Try#traverseStream(java.util.stream.Stream, java.util.function.Function)}
+   * stops at the first failure instead.
    *
    * @param <A> the success type
    * @param <B> the mutable accumulation type of the reduction operation
@@ -148,12 +215,82 @@ public final class FugueCollectors {
    */
   public static <A, B, C> Collector<Try<A>, ?, Try<C>> toTrySuccess(Collector<A, B, C> aCollector) {
     requireNonNull(aCollector);
-    return Collector.of(() -> new Ref<>(Checked.now(() -> requireNonNull(aCollector.supplier().get()))),
-      (ref, aTry) -> ref.update(acc -> acc.flatMap(b -> aTry.map(a -> {
-        aCollector.accumulator().accept(b, a);
-        return b;
-      }))), (refL, refR) -> new Ref<>(refL.get().flatMap(lv -> refR.get().map(rv -> aCollector.combiner().apply(lv, rv)))),
-      ref -> ref.get().map(b -> aCollector.finisher().apply(b)), maybeUnorderedCharacteristics(aCollector));
+    return Collector.<Try<A>, Sequence<B, Exception>, Try<C>> of(() -> {
+      try {
+        return new Sequence<>(requireNonNull(aCollector.supplier().get()));
+      } catch (final Exception e) {
+        return Sequence.failed(e);
+      }
+    }, (seq, aTry) -> {
+      if (seq.failure == null) {
+        // a single fold, so a delayed Try is evaluated once
+        seq.failure = aTry.fold(identity(), a -> {
+          try {
+            aCollector.accumulator().accept(seq.accumulator, a);
+            return null;
+          } catch (final Exception e) {
+            return e;
+          }
+        });
+      }
+    }, (l, r) -> {
+      try {
+        return l.combine(r, aCollector.combiner());
+      } catch (final Exception e) {
+        return Sequence.failed(e);
+      }
+    }, seq -> (seq.failure != null) ? Try.failure(seq.failure) : Checked.now(() -> aCollector.finisher().apply(seq.accumulator)),
+      maybeUnorderedCharacteristics(aCollector));
+  }
+
+  /**
+   * Collect the values if there are only successes, otherwise return a failure
+   * of the errors of every failure, appended in encounter order. The values
+   * are no longer collected once there is a failure.
+   *
+   * @param semigroup appends the errors
+   * @param <E> the error type
+   * @param <A> the success type
+   * @since 5.0.0
+   * @return error accumulating collector of {@link Validation}.
+   */
+  public static <E, A> Collector<Validation<E, A>, ?, Validation<E, List<A>>> toValidation(Semigroup<E> semigroup) {
+    return toValidation(semigroup, Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Collect the values if there are only successes, otherwise return a failure
+   * of the errors of every failure, appended in encounter order. The values
+   * are no longer collected once there is a failure.
+   *
+   * @param semigroup appends the errors
+   * @param aCollector result collector
+   * @param <E> the error type
+   * @param <A> the success type
+   * @param <B> the mutable accumulation type of the reduction operation
+   * @param <C> the result type of the reduction operation
+   * @since 5.0.0
+   * @return error accumulating collector of {@link Validation}.
+   */
+  public static <E, A, B, C> Collector<Validation<E, A>, ?, Validation<E, C>> toValidation(Semigroup<E> semigroup, Collector<A, B, C> aCollector) {
+    requireNonNull(semigroup);
+    requireNonNull(aCollector);
+    return Collector.<Validation<E, A>, Sequence<B, E>, Validation<E, C>> of(() -> new Sequence<>(aCollector.supplier().get()), (seq, v) -> {
+      if (v.isFailure()) {
+        seq.accumulator = null;
+        seq.failure = Validation.appendErrors(semigroup, seq.failure, v);
+      } else if (seq.failure == null) {
+        aCollector.accumulator().accept(seq.accumulator, v.get());
+      }
+    }, (l, r) -> {
+      if (l.failure != null || r.failure != null) {
+        l.accumulator = null;
+        l.failure = (l.failure == null) ? r.failure : (r.failure == null) ? l.failure : semigroup.append(l.failure, r.failure);
+        return l;
+      }
+      return l.combine(r, aCollector.combiner());
+    }, seq -> (seq.failure != null) ? Validation.failure(seq.failure) : Validation.success(aCollector.finisher().apply(seq.accumulator)),
+      maybeUnorderedCharacteristics(aCollector));
   }
 
   private static Collector.Characteristics[] maybeUnorderedCharacteristics(Collector<?, ?, ?> delegate) {
@@ -162,27 +299,45 @@ public final class FugueCollectors {
   }
 
   /**
-   * Mutable reference. Used to carry collectors state. Specifically for
-   * {@link Collector#accumulator()} because it should always mutate the
-   * collectors state in-place. Not thread safe!
+   * The state of a sequencing collector: the accumulated values until the
+   * first failure, then that failure (or for a validation, all of the errors).
+   * Once failed the remaining values are not passed to the downstream
+   * collector. Not thread safe!
    * {@link java.util.stream.Collector.Characteristics#CONCURRENT} must not be
    * present in the list of collector's characteristics.
    *
-   * @param <A> reference type
+   * @param <A> the downstream accumulation type
+   * @param <F> the failure type
    */
-  private static final class Ref<A> {
-    private A value;
+  private static final class Sequence<A, F> {
+    private A accumulator;
+    private F failure;
 
-    private Ref(A value) {
-      this.value = value;
+    private Sequence(A accumulator) {
+      this.accumulator = accumulator;
     }
 
-    private A get() {
-      return value;
+    private static <A, F> Sequence<A, F> failed(F failure) {
+      final Sequence<A, F> seq = new Sequence<>(null);
+      seq.failure = failure;
+      return seq;
     }
 
-    private void update(UnaryOperator<A> update) {
-      value = update.apply(value);
+    /**
+     * Combine with the state of the elements that follow, into this one. The
+     * left-most failure wins, so if this has failed the right side is
+     * discarded without combining.
+     */
+    private Sequence<A, F> combine(Sequence<A, F> right, BinaryOperator<A> combiner) {
+      if (failure == null) {
+        if (right.failure != null) {
+          failure = right.failure;
+          accumulator = null;
+        } else {
+          accumulator = combiner.apply(accumulator, right.accumulator);
+        }
+      }
+      return this;
     }
   }
 
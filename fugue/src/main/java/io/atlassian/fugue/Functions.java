@@ -16,16 +16,20 @@
 package io.atlassian.fugue;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -445,7 +449,8 @@ public class Functions {
    * Takes a Function and memoizes (caches) the result for each input. This
    * memoization is weak, so it shouldn't leak memory on its own, but equally it
    * may expunge entries if no-one else is holding the reference in the
-   * meantime.
+   * meantime. Collected entries are expunged whenever a new result is computed,
+   * lookups that hit the cache do no other work.
    * <p>
    * NOTE: it is very important that the docs on the input type are read
    * carefully. Failure to heed adhere to this will lead to unspecified behavior
@@ -464,6 +469,103 @@ public class Functions {
     return WeakMemoizer.weakMemoizer(f);
   }
 
+  /**
+   * Takes a Function returning a {@link Try} and memoizes (caches) the result
+   * for each input. Successes are cached softly just like
+   * {@link #softMemoize(Function)}, so they survive collections that are not
+   * caused by memory pressure, but failures are never cached, so the function
+   * is called again for an input whose last result was a failure.
+   * <p>
+   * Note that a {@link Try#delayed(Supplier) delayed} result is evaluated in
+   * order to decide whether to cache it.
+   *
+   * @param <A> the input type, like any cache, this type should be a value,
+   * that is it should be immutable and have correct hashcode and equals
+   * implementations.
+   * @param <B> the success type
+   * @param f the function who's successful output will be memoized, must not
+   * be null
+   * @return a function that memoizes the successful results of the function
+   * using soft references to the results
+   * @since 5.0.0
+   */
+  public static <A, B> Function<A, Try<B>> softMemoizeTry(final Function<A, Try<B>> f) {
+    return softMemoizeTry(f, 0L, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Takes a Function returning a {@link Try} and memoizes (caches) the result
+   * for each input. Successes are cached softly just like
+   * {@link #softMemoize(Function)}. Failures are cached for at most
+   * {@code failureTtl}, acting as a negative cache that protects the function
+   * from repeated calls for a failing input, while still retrying it once the
+   * time to live has elapsed. A time to live of zero disables caching of
+   * failures.
+   * <p>
+   * Note that a {@link Try#delayed(Supplier) delayed} result is evaluated in
+   * order to decide how to cache it.
+   *
+   * @param <A> the input type, like any cache, this type should be a value,
+   * that is it should be immutable and have correct hashcode and equals
+   * implementations.
+   * @param <B> the success type
+   * @param f the function who's output will be memoized, must not be null
+   * @param failureTtl how long a failure is cached for, must not be negative
+   * @param unit the unit of {@code failureTtl}, must not be null
+   * @return a function that memoizes the results of the function using soft
+   * references to the results
+   * @since 5.0.0
+   */
+  public static <A, B> Function<A, Try<B>> softMemoizeTry(final Function<A, Try<B>> f, final long failureTtl, final TimeUnit unit) {
+    return TryMemoizer.tryMemoizer(f, failureTtl, unit);
+  }
+
+  /**
+   * Takes a Function and memoizes (caches) the result for each input. The
+   * results are softly referenced, so unlike {@link #weakMemoize(Function)}
+   * they survive garbage collections that are not caused by memory pressure.
+   * Entries whose result has been collected are expunged.
+   * <p>
+   * NOTE: it is very important that the docs on the input type are read
+   * carefully. Failure to heed adhere to this will lead to unspecified behavior
+   * (bugs!)
+   *
+   * @param <A> the input type, like any cache, this type should be a value,
+   * that is it should be immutable and have correct hashcode and equals
+   * implementations.
+   * @param <B> the output type
+   * @param f the function who's output will be memoized, must not be null
+   * @return a function that memoizes the results of the function using soft
+   * references to the results
+   * @since 5.0.0
+   */
+  public static <A, B> Function<A, B> softMemoize(final Function<A, B> f) {
+    return SoftMemoizer.softMemoizer(f);
+  }
+
+  /**
+   * Takes a Function and memoizes (caches) the result for each input. The
+   * inputs are weakly referenced and compared by identity rather than by
+   * {@code equals}, so the memoizer never keeps an input alive; the entry is
+   * expunged once the input has been garbage collected. This suits inputs
+   * with a bounded lifecycle, such as class loaders, plugins or request
+   * contexts.
+   * <p>
+   * The results are strongly referenced for as long as their input is
+   * reachable, a result that references its own input will therefore never be
+   * collected.
+   *
+   * @param <A> the input type, compared by identity
+   * @param <B> the output type
+   * @param f the function who's output will be memoized, must not be null
+   * @return a function that memoizes the results of the function using the
+   * input as a weak identity key
+   * @since 5.0.0
+   */
+  public static <A, B> Function<A, B> weakKeyMemoize(final Function<A, B> f) {
+    return WeakKeyMemoizer.weakKeyMemoizer(f);
+  }
+
   /**
    * Get a function that uses the Supplier as a factory for all inputs.
    *
@@ -736,6 +838,135 @@ public class Functions {
     }
   }
 
+  /**
+   * Class supports the implementation of the memoizing functions in
+   * {@link Functions} and is not intended for general use.
+   *
+   * {@link ReferenceMemoizer} holds the {@link ReferenceQueue} shared by all
+   * reference based memoizers, and expunges the entries of the map whose
+   * reference has been cleared by the garbage collector. Every reference that
+   * is registered with the queue must be a {@link StaleEntry}.
+   * <p>
+   * Expunging is amortised over the misses: implementations call
+   * {@link #expungeStaleEntries()} before inserting a new entry, so the map
+   * cannot grow without stale entries being removed, while a lookup that hits
+   * is a single map get and reference read and never touches the queue.
+   *
+   * @param <A> the input type
+   * @param <B> the output type
+   * @param <K> the map key type
+   * @param <V> the map value type
+   */
+  static abstract class ReferenceMemoizer<A, B, K, V> implements Function<A, B> {
+    final ConcurrentMap<K, V> map;
+    final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    final Function<A, B> delegate;
+
+    ReferenceMemoizer(final Function<A, B> delegate) {
+      this.map = new ConcurrentHashMap<>();
+      this.delegate = requireNonNull(delegate, "delegate");
+    }
+
+    /**
+     * Get a result for the supplied Descriptor.
+     *
+     * @param descriptor must not be null
+     * @return the memoized result
+     */
+    @Override public final B apply(final A descriptor) {
+      requireNonNull(descriptor, "descriptor");
+      return lookup(descriptor);
+    }
+
+    /**
+     * Find the memoized result, computing and storing it if absent or
+     * collected.
+     *
+     * @param descriptor never null
+     * @return the memoized result
+     */
+    abstract B lookup(A descriptor);
+
+    // expunge entries whose reference has been collected
+    final void expungeStaleEntries() {
+      Reference<?> ref;
+      // /CLOVER:OFF
+      while ((ref = queue.poll()) != null) {
+        ((StaleEntry) ref).expunge(map);
+      }
+      // /CLOVER:ON
+    }
+
+    /**
+     * A reference that knows how to remove its own entry from the map once it
+     * has been enqueued.
+     */
+    interface StaleEntry {
+      void expunge(ConcurrentMap<?, ?> map);
+    }
+  }
+
+  /**
+   * Memoizer that keeps the keys strongly and references the values through a
+   * {@link ValueReference} that maps back to the key, so that the entry can be
+   * removed when the value is garbage collected.
+   *
+   * @param <A> comparable descriptor, the usual rules for any {@link HashMap}
+   * key apply.
+   * @param <B> the value
+   */
+  static abstract class ValueReferenceMemoizer<A, B> extends ReferenceMemoizer<A, B, A, ValueReferenceMemoizer.ValueReference<A, B>> {
+    ValueReferenceMemoizer(final Function<A, B> delegate) {
+      super(delegate);
+    }
+
+    @Override final B lookup(final A descriptor) {
+      while (true) {
+        final ValueReference<A, B> reference = map.get(descriptor);
+        if (reference != null) {
+          final B value = reference.get();
+          if (value != null) {
+            return value;
+          }
+          map.remove(descriptor, reference);
+        }
+        expungeStaleEntries();
+        map.putIfAbsent(descriptor, reference(descriptor, delegate.apply(descriptor)));
+      }
+    }
+
+    /**
+     * Create the reference to a newly computed value, registered with the
+     * queue.
+     *
+     * @param descriptor the key
+     * @param value the value, must not be null
+     * @return a reference to the value
+     */
+    abstract ValueReference<A, B> reference(A descriptor, B value);
+
+    /**
+     * A reference to a value that maintains a reference to the key.
+     */
+    interface ValueReference<K, V> extends StaleEntry {
+      V get();
+
+      K getDescriptor();
+
+      @Override default void expunge(final ConcurrentMap<?, ?> map) {
+        final K key = getDescriptor();
+        // /CLOVER:OFF
+        if (key == null) {
+          // DO NOT REMOVE! In theory this should not be necessary as it
+          // should not be able to be null - but we have seen it happen!
+          return;
+        }
+        // /CLOVER:ON
+        map.remove(key, this);
+      }
+    }
+  }
+
   /**
    * Class supports the implementation of
    * {@link Functions#weakMemoize(Function)} and is not intended for general
@@ -753,81 +984,262 @@ public class Functions {
    * key apply.
    * @param <B> the value
    */
-  static final class WeakMemoizer<A, B> implements Function<A, B> {
+  static final class WeakMemoizer<A, B> extends ValueReferenceMemoizer<A, B> {
     static <A, B> WeakMemoizer<A, B> weakMemoizer(final Function<A, B> delegate) {
       return new WeakMemoizer<>(delegate);
     }
 
-    private final ConcurrentMap<A, MappedReference<A, B>> map;
-    private final ReferenceQueue<B> queue = new ReferenceQueue<>();
-    private final Function<A, B> delegate;
-
     /**
      * Construct a new {@link WeakMemoizer} instance.
      *
      * @param delegate for creating the initial values.
      */
     WeakMemoizer(final Function<A, B> delegate) {
-      this.map = new ConcurrentHashMap<>();
-      this.delegate = requireNonNull(delegate, "delegate");
+      super(delegate);
+    }
+
+    @Override ValueReference<A, B> reference(final A descriptor, final B value) {
+      return new MappedReference<>(descriptor, value, queue);
     }
 
     /**
-     * Get a result for the supplied Descriptor.
-     *
-     * @param descriptor must not be null
-     * @return descriptor lock
+     * A weak reference that maintains a reference to the key so that it can be
+     * removed from the map when the value is garbage collected.
      */
-    @Override public B apply(final A descriptor) {
-      expungeStaleEntries();
-      requireNonNull(descriptor, "descriptor");
+    static final class MappedReference<K, V> extends WeakReference<V> implements ValueReference<K, V> {
+      private final K key;
+
+      public MappedReference(final K key, final V value, final ReferenceQueue<? super V> q) {
+        super(requireNonNull(value, "value"), q);
+        this.key = requireNonNull(key, "key");
+      }
+
+      @Override public final K getDescriptor() {
+        return key;
+      }
+    }
+  }
+
+  /**
+   * Class supports the implementation of
+   * {@link Functions#softMemoize(Function)} and is not intended for general
+   * use.
+   *
+   * {@link SoftMemoizer} caches the result of another function. The result is
+   * {@link SoftReference softly referenced} internally, so it survives young
+   * collections and is only cleared when the garbage collector needs the
+   * memory.
+   *
+   * @param <A> comparable descriptor, the usual rules for any {@link HashMap}
+   * key apply.
+   * @param <B> the value
+   */
+  static final class SoftMemoizer<A, B> extends ValueReferenceMemoizer<A, B> {
+    static <A, B> SoftMemoizer<A, B> softMemoizer(final Function<A, B> delegate) {
+      return new SoftMemoizer<>(delegate);
+    }
+
+    SoftMemoizer(final Function<A, B> delegate) {
+      super(delegate);
+    }
+
+    @Override ValueReference<A, B> reference(final A descriptor, final B value) {
+      return new MappedReference<>(descriptor, value, queue);
+    }
+
+    /**
+     * A soft reference that maintains a reference to the key so that it can be
+     * removed from the map when the value is garbage collected.
+     */
+    static final class MappedReference<K, V> extends SoftReference<V> implements ValueReference<K, V> {
+      private final K key;
+
+      public MappedReference(final K key, final V value, final ReferenceQueue<? super V> q) {
+        super(requireNonNull(value, "value"), q);
+        this.key = requireNonNull(key, "key");
+      }
+
+      @Override public final K getDescriptor() {
+        return key;
+      }
+    }
+  }
+
+  /**
+   * Class supports the implementation of
+   * {@link Functions#softMemoizeTry(Function, long, TimeUnit)} and is not
+   * intended for general use.
+   *
+   * {@link TryMemoizer} caches the {@link Try} results of another function
+   * with a separate policy for each outcome. Successes are
+   * {@link SoftReference softly referenced} just like in {@link SoftMemoizer},
+   * as the Try wrapping a result is rarely held by anyone but the cache.
+   * Failures are {@link SoftReference softly referenced} until their time to
+   * live elapses, or not cached at all if the time to live is zero, so that
+   * transient failures are retried.
+   *
+   * @param <A> comparable descriptor, the usual rules for any {@link HashMap}
+   * key apply.
+   * @param <B> the success value
+   */
+  static final class TryMemoizer<A, B> extends ReferenceMemoizer<A, Try<B>, A, ValueReferenceMemoizer.ValueReference<A, Try<B>>> {
+    static <A, B> TryMemoizer<A, B> tryMemoizer(final Function<A, Try<B>> delegate, final long failureTtl, final TimeUnit unit) {
+      return new TryMemoizer<>(delegate, unit.toNanos(failureTtl), System::nanoTime);
+    }
+
+    private final long failureTtlNanos;
+    private final LongSupplier ticker;
+
+    TryMemoizer(final Function<A, Try<B>> delegate, final long failureTtlNanos, final LongSupplier ticker) {
+      super(delegate);
+      if (failureTtlNanos < 0) {
+        throw new IllegalArgumentException("failureTtl must not be negative");
+      }
+      this.failureTtlNanos = failureTtlNanos;
+      this.ticker = requireNonNull(ticker, "ticker");
+    }
+
+    @Override Try<B> lookup(final A descriptor) {
       while (true) {
-        final MappedReference<A, B> reference = map.get(descriptor);
+        final ValueReferenceMemoizer.ValueReference<A, Try<B>> reference = map.get(descriptor);
         if (reference != null) {
-          final B value = reference.get();
+          final Try<B> value = reference.get();
           if (value != null) {
             return value;
           }
           map.remove(descriptor, reference);
         }
-        map.putIfAbsent(descriptor, new MappedReference<>(descriptor, delegate.apply(descriptor), queue));
-      }
-    }
-
-    // expunge entries whose value reference has been collected
-    @SuppressWarnings("unchecked") private void expungeStaleEntries() {
-      MappedReference<A, B> ref;
-      // /CLOVER:OFF
-      while ((ref = (MappedReference<A, B>) queue.poll()) != null) {
-        final A key = ref.getDescriptor();
-        if (key == null) {
-          // DO NOT REMOVE! In theory this should not be necessary as it
-          // should not be able to be null - but we have seen it happen!
-          continue;
+        expungeStaleEntries();
+        final Try<B> result = requireNonNull(delegate.apply(descriptor), "value");
+        final ValueReferenceMemoizer.ValueReference<A, Try<B>> created;
+        if (result.isSuccess()) {
+          created = new SoftMemoizer.MappedReference<>(descriptor, result, queue);
+        } else if (failureTtlNanos > 0) {
+          created = new FailureReference<>(descriptor, result, queue, ticker, ticker.getAsLong() + failureTtlNanos);
+        } else {
+          return result;
+        }
+        if (map.putIfAbsent(descriptor, created) == null) {
+          return result;
         }
-        map.remove(key, ref);
       }
-      // /CLOVER:ON
     }
 
     /**
-     * A weak reference that maintains a reference to the key so that it can be
-     * removed from the map when the value is garbage collected.
+     * A soft reference to a failure that reads as cleared once its time to
+     * live has elapsed.
      */
-    static final class MappedReference<K, V> extends WeakReference<V> {
+    static final class FailureReference<K, V> extends SoftReference<V> implements ValueReferenceMemoizer.ValueReference<K, V> {
       private final K key;
+      private final LongSupplier ticker;
+      private final long expiry;
 
-      public MappedReference(final K key, final V value, final ReferenceQueue<? super V> q) {
+      FailureReference(final K key, final V value, final ReferenceQueue<? super V> q, final LongSupplier ticker, final long expiry) {
         super(requireNonNull(value, "value"), q);
         this.key = requireNonNull(key, "key");
+        this.ticker = ticker;
+        this.expiry = expiry;
       }
 
-      final K getDescriptor() {
+      @Override public V get() {
+        return (ticker.getAsLong() - expiry < 0) ? super.get() : null;
+      }
+
+      @Override public K getDescriptor() {
         return key;
       }
     }
   }
 
+  /**
+   * Class supports the implementation of
+   * {@link Functions#weakKeyMemoize(Function)} and is not intended for general
+   * use.
+   *
+   * {@link WeakKeyMemoizer} caches the result of another function. The input is
+   * {@link WeakReference weakly referenced} and compared by identity, the
+   * result is strongly referenced for as long as the input is reachable.
+   *
+   * @param <A> the descriptor, compared by identity
+   * @param <B> the value
+   */
+  static final class WeakKeyMemoizer<A, B> extends ReferenceMemoizer<A, B, Object, B> {
+    static <A, B> WeakKeyMemoizer<A, B> weakKeyMemoizer(final Function<A, B> delegate) {
+      return new WeakKeyMemoizer<>(delegate);
+    }
+
+    WeakKeyMemoizer(final Function<A, B> delegate) {
+      super(delegate);
+    }
+
+    @Override B lookup(final A descriptor) {
+      final B value = map.get(new LookupKey(descriptor));
+      if (value != null) {
+        return value;
+      }
+      expungeStaleEntries();
+      final B created = requireNonNull(delegate.apply(descriptor), "value");
+      final B existing = map.putIfAbsent(new WeakKey<>(descriptor, queue), created);
+      return (existing != null) ? existing : created;
+    }
+
+    /**
+     * A weak reference to the key, hashed and compared by the identity of its
+     * referent, so it is equal to another WeakKey or a LookupKey of the same
+     * key and racing misses share an entry. Once cleared it is only equal to
+     * itself.
+     */
+    static final class WeakKey<K> extends WeakReference<K> implements StaleEntry {
+      private final int hash;
+
+      WeakKey(final K key, final ReferenceQueue<? super K> q) {
+        super(requireNonNull(key, "key"), q);
+        this.hash = System.identityHashCode(key);
+      }
+
+      @Override public void expunge(final ConcurrentMap<?, ?> map) {
+        map.remove(this);
+      }
+
+      @Override public boolean equals(final Object obj) {
+        if (obj == this) {
+          return true;
+        }
+        final Object key = get();
+        if (key == null) {
+          return false;
+        }
+        if (obj instanceof LookupKey) {
+          return ((LookupKey) obj).key == key;
+        }
+        return obj instanceof WeakKey && ((WeakKey<?>) obj).get() == key;
+      }
+
+      @Override public int hashCode() {
+        return hash;
+      }
+    }
+
+    /**
+     * Strong key used for lookups only, never stored in the map.
+     */
+    static final class LookupKey {
+      private final Object key;
+
+      LookupKey(final Object key) {
+        this.key = key;
+      }
+
+      @Override public boolean equals(final Object obj) {
+        return obj instanceof WeakKey && ((WeakKey<?>) obj).get() == key;
+      }
+
+      @Override public int hashCode() {
+        return System.identityHashCode(key);
+      }
+    }
+  }
+
   static <A> Predicate<A> countingPredicate(final int n) {
     if (n < 0) {
       throw new IllegalArgumentException("n must be positive");
@@ -0,0 +1,176 @@
+/*
+   Copyright 2015 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link Monoid} of primitive ints, which sums arrays, streams and iterators
+ * of ints without boxing. Must follow the monoidal laws:
+ * <ul>
+ * <li><em>Left Identity</em>; forall x. append(zero(), x) == x</li>
+ * <li><em>Right Identity</em>; forall x. append(x, zero()) == x</li>
+ * <li><em>Associativity</em>; forall x y z. append(append(x, y), z) ==
+ * append(x, append(y, z))</li>
+ * </ul>
+ *
+ * @see IntSemigroup
+ * @since 5.0.0
+ */
+public interface IntMonoid extends IntSemigroup {
+
+  /**
+   * A monoid that adds ints.
+   */
+  IntMonoid addition = of(0, (i1, i2) -> i1 + i2);
+
+  /**
+   * A monoid that multiplies ints.
+   */
+  IntMonoid multiplication = of(1, (i1, i2) -> i1 * i2);
+
+  /**
+   * A monoid that takes the larger int, the zero being the smallest int.
+   */
+  IntMonoid maximum = of(Integer.MIN_VALUE, Math::max);
+
+  /**
+   * A monoid that takes the smaller int, the zero being the largest int.
+   */
+  IntMonoid minimum = of(Integer.MAX_VALUE, Math::min);
+
+  /**
+   * Creates a monoid from its zero and an associative append.
+   *
+   * @param zero the identity element
+   * @param semigroup the append
+   * @return a monoid
+   */
+  static IntMonoid of(final int zero, final IntSemigroup semigroup) {
+    return new IntMonoid() {
+      @Override public int append(final int i1, final int i2) {
+        return semigroup.append(i1, i2);
+      }
+
+      @Override public int zero() {
+        return zero;
+      }
+    };
+  }
+
+  /**
+   * The identity element value for this monoid.
+   *
+   * @return The identity element for this monoid.
+   */
+  int zero();
+
+  /**
+   * Sums the given values.
+   *
+   * @param is The values to sum.
+   * @return The sum of the given values.
+   */
+  default int sum(final int[] is) {
+    return sumNonEmpty(zero(), is);
+  }
+
+  /**
+   * Sums the given values. A parallel stream is reduced in parallel.
+   *
+   * @param is The values to sum.
+   * @return The sum of the given values.
+   */
+  default int sum(final IntStream is) {
+    return is.reduce(zero(), this::append);
+  }
+
+  /**
+   * Sums the given values.
+   *
+   * @param is The values to sum.
+   * @return The sum of the given values.
+   */
+  default int sum(final PrimitiveIterator.OfInt is) {
+    int sum = zero();
+    while (is.hasNext()) {
+      sum = append(sum, is.nextInt());
+    }
+    return sum;
+  }
+
+  /**
+   * Returns a value summed <code>n</code> times (<code>a + a + ... + a</code>),
+   * using peasant multiplication for only `O(log n)` uses of
+   * {@link #append(int, int)}.
+   *
+   * @param n multiplier
+   * @param i the value to be repeatedly summed
+   * @return {@code i} summed {@code n} times. If {@code n <= 0}, returns
+   * {@code zero()}
+   */
+  default int multiply(final int n, final int i) {
+    int sum = zero();
+    int doubling = i;
+    for (int m = n; m > 0; m >>>= 1) {
+      if ((m & 1) == 1) {
+        sum = append(sum, doubling);
+      }
+      if (m > 1) {
+        doubling = append(doubling, doubling);
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * This monoid over boxed ints, for compatibility with the API that takes a
+   * {@link Monoid}. Its accumulator keeps the sum as a primitive.
+   *
+   * @return a boxed view of this monoid
+   */
+  @Override default Monoid<Integer> boxed() {
+    final IntMonoid monoid = this;
+    return new Monoid<Integer>() {
+      @Override public Integer append(final Integer i1, final Integer i2) {
+        return monoid.append(i1, i2);
+      }
+
+      @Override public Integer zero() {
+        return monoid.zero();
+      }
+
+      @Override public Integer multiply(final int n, final Integer i) {
+        return monoid.multiply(n, i);
+      }
+
+      @Override public Accumulator<Integer> accumulator() {
+        return new Accumulator<Integer>() {
+          private int sum = monoid.zero();
+
+          @Override public void add(final Integer i) {
+            sum = monoid.append(sum, i);
+          }
+
+          @Override public Integer result() {
+            return sum;
+          }
+        };
+      }
+    };
+  }
+}
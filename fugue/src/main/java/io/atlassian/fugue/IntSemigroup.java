@@ -0,0 +1,74 @@
+/*
+   Copyright 2015 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+/**
+ * A {@link Semigroup} of primitive ints, which appends without boxing. Must be
+ * associative:
+ * <ul>
+ * <li><em>Associativity</em>; forall x y z. append(append(x, y), z) ==
+ * append(x, append(y, z))</li>
+ * </ul>
+ *
+ * @see IntMonoid
+ * @since 5.0.0
+ */
+@FunctionalInterface public interface IntSemigroup {
+
+  /**
+   * A semigroup that takes the larger int.
+   */
+  IntSemigroup maximum = Math::max;
+
+  /**
+   * A semigroup that takes the smaller int.
+   */
+  IntSemigroup minimum = Math::min;
+
+  /**
+   * Combine the two given arguments.
+   *
+   * @param i1 left value to combine
+   * @param i2 right value to combine
+   * @return the combination of the left and right value.
+   */
+  int append(int i1, int i2);
+
+  /**
+   * Reduce a 'non-empty' array with {@link #append(int, int)}.
+   *
+   * @param head the first value
+   * @param tail the other values (maybe an empty array).
+   * @return the sum of all values.
+   */
+  default int sumNonEmpty(final int head, final int[] tail) {
+    int sum = head;
+    for (final int i : tail) {
+      sum = append(sum, i);
+    }
+    return sum;
+  }
+
+  /**
+   * This semigroup over boxed ints, for compatibility with the API that takes
+   * a {@link Semigroup}.
+   *
+   * @return a boxed view of this semigroup
+   */
+  default Semigroup<Integer> boxed() {
+    return this::append;
+  }
+}
@@ -0,0 +1,295 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A lazily evaluated value. The wrapped {@link Supplier} is called by the first
+ * thread that asks for the value, at most once if it succeeds, and every other
+ * caller gets the same result. Callers arriving while the value is being
+ * evaluated wait for it, either uninterruptibly with {@link #get()}, or
+ * cancellably with {@link #getInterruptibly()} and
+ * {@link #get(long, TimeUnit)}.
+ * <p>
+ * If the supplier throws, the exception is propagated to the evaluating thread
+ * and the value stays unevaluated, the next caller (including any that were
+ * waiting) will call the supplier again.
+ * <p>
+ * Evaluation is not reentrant, calling {@link #get()} from within the supplier
+ * throws an {@link IllegalStateException}.
+ * <p>
+ * Implementation note. A Lazy holds a single volatile field: the supplier
+ * before evaluation, a stack of waiting threads during evaluation, and the
+ * result afterwards. Transitions are made with compare-and-set, so no monitor
+ * or lock object is ever allocated, and reading an evaluated value is a single
+ * volatile read.
+ *
+ * @param <A> the type of the value
+ * @since 5.0.0
+ */
+public final class Lazy<A> implements Supplier<A> {
+  @SuppressWarnings("rawtypes") private static final AtomicReferenceFieldUpdater<Lazy, Object> STATE = AtomicReferenceFieldUpdater.newUpdater(Lazy.class, Object.class, "state");
+
+  /** Represents a null result. */
+  private static final Object NULL = new Object();
+
+  /**
+   * Creates a new lazy value.
+   *
+   * @param supplier the supplier of the value, must not be null
+   * @param <A> the type of the value
+   * @return a lazy value that calls the supplier when first asked for
+   */
+  public static <A> Lazy<A> lazy(final Supplier<? extends A> supplier) {
+    return new Lazy<>(requireNonNull(supplier, "supplier"));
+  }
+
+  /**
+   * Creates an already evaluated lazy value.
+   *
+   * @param a the value
+   * @param <A> the type of the value
+   * @return an evaluated lazy value
+   */
+  public static <A> Lazy<A> evaluated(final A a) {
+    return new Lazy<>(box(a));
+  }
+
+  /**
+   * One of the supplier (unevaluated), a {@link Waiter} (evaluating) or the
+   * boxed result.
+   */
+  private volatile Object state;
+
+  private Lazy(final Object state) {
+    this.state = state;
+  }
+
+  /**
+   * Get the value, evaluating it if necessary. If another thread is evaluating
+   * it this waits uninterruptibly, the interrupted status of the calling thread
+   * is preserved.
+   *
+   * @return the value
+   * @throws IllegalStateException if called from within the supplier
+   */
+  @Override public A get() {
+    final Object s = state;
+    if (isResult(s)) {
+      return unbox(s);
+    }
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return unbox(await(false, 0L));
+        } catch (final InterruptedException ignore) {
+          // ignore and try again
+          interrupted = true;
+        } catch (final TimeoutException e) {
+          // /CLOVER:OFF
+          throw new AssertionError(e);
+          // /CLOVER:ON
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Get the value, evaluating it if necessary, and waiting interruptibly if
+   * another thread is evaluating it. Interruption does not cancel an evaluation
+   * that the calling thread is performing.
+   *
+   * @return the value
+   * @throws InterruptedException if the calling thread is interrupted before or
+   * while waiting
+   * @throws IllegalStateException if called from within the supplier
+   */
+  public A getInterruptibly() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    try {
+      return unbox(await(false, 0L));
+    } catch (final TimeoutException e) {
+      // /CLOVER:OFF
+      throw new AssertionError(e);
+      // /CLOVER:ON
+    }
+  }
+
+  /**
+   * Get the value, evaluating it if necessary, and waiting at most the given
+   * time if another thread is evaluating it.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit the unit of the timeout, must not be null
+   * @return the value
+   * @throws InterruptedException if the calling thread is interrupted before or
+   * while waiting
+   * @throws TimeoutException if the wait timed out
+   * @throws IllegalStateException if called from within the supplier
+   */
+  public A get(final long timeout, final TimeUnit unit) throws InterruptedException, TimeoutException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    return unbox(await(true, unit.toNanos(timeout)));
+  }
+
+  /**
+   * Has the value been evaluated.
+   *
+   * @return true if the value is available without waiting or evaluating
+   */
+  public boolean isEvaluated() {
+    return isResult(state);
+  }
+
+  /**
+   * Set the value computed elsewhere, unless it has been or is being evaluated.
+   *
+   * @param a the value
+   * @return true if the value was set, false if {@link #get()} should be used
+   */
+  boolean complete(final A a) {
+    final Object s = state;
+    return (s instanceof Supplier) && STATE.compareAndSet(this, s, box(a));
+  }
+
+  @Override public String toString() {
+    final Object s = state;
+    return isResult(s) ? "Lazy(" + unbox(s) + ")" : "Lazy(?)";
+  }
+
+  private Object await(final boolean timed, final long nanos) throws InterruptedException, TimeoutException {
+    final long deadline = timed ? System.nanoTime() + nanos : 0L;
+    final Thread current = Thread.currentThread();
+    // the evaluation we are queued on, if any
+    Waiter queued = null;
+    while (true) {
+      final Object s = state;
+      if (s instanceof Waiter) {
+        final Waiter waiters = (Waiter) s;
+        if (waiters.evaluator != queued) {
+          if (waiters.evaluator.thread == current) {
+            throw new IllegalStateException("Lazy is not reentrant");
+          }
+          if (STATE.compareAndSet(this, s, new Waiter(current, waiters))) {
+            queued = waiters.evaluator;
+          }
+          continue;
+        }
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        if (timed) {
+          final long remaining = deadline - System.nanoTime();
+          if (remaining <= 0L) {
+            throw new TimeoutException();
+          }
+          LockSupport.parkNanos(this, remaining);
+        } else {
+          LockSupport.park(this);
+        }
+      } else if (s instanceof Supplier) {
+        final Waiter evaluator = new Waiter(current, null);
+        if (STATE.compareAndSet(this, s, evaluator)) {
+          return evaluate(s);
+        }
+      } else {
+        return s;
+      }
+    }
+  }
+
+  private Object evaluate(final Object supplier) {
+    @SuppressWarnings("unchecked")
+    final Supplier<? extends A> s = (Supplier<? extends A>) supplier;
+    final Object result;
+    try {
+      result = box(s.get());
+    } catch (final RuntimeException | Error e) {
+      release(supplier);
+      throw e;
+    }
+    release(result);
+    return result;
+  }
+
+  // publish the new state and wake up everybody that queued on the evaluation
+  private void release(final Object next) {
+    // a waiter that gave up (timed out or interrupted) is still in the stack
+    // and may get a spurious unpark, which LockSupport callers tolerate
+    for (Waiter w = (Waiter) STATE.getAndSet(this, next); w.next != null; w = w.next) {
+      LockSupport.unpark(w.thread);
+    }
+  }
+
+  private static boolean isResult(final Object s) {
+    return !(s instanceof Waiter) && !(s instanceof Supplier);
+  }
+
+  // results that could be mistaken for another state are wrapped
+  private static Object box(final Object a) {
+    if (a == null) {
+      return NULL;
+    }
+    return (a instanceof Supplier) ? new Boxed(a) : a;
+  }
+
+  @SuppressWarnings("unchecked") private static <A> A unbox(final Object s) {
+    if (s == NULL) {
+      return null;
+    }
+    return (A) ((s instanceof Boxed) ? ((Boxed) s).value : s);
+  }
+
+  /**
+   * Treiber stack node of threads waiting for an evaluation. The bottom node is
+   * the evaluating thread, every node points to it.
+   */
+  private static final class Waiter {
+    final Thread thread;
+    final Waiter next;
+    final Waiter evaluator;
+
+    Waiter(final Thread thread, final Waiter next) {
+      this.thread = thread;
+      this.next = next;
+      this.evaluator = (next == null) ? this : next.evaluator;
+    }
+  }
+
+  private static final class Boxed {
+    final Object value;
+
+    Boxed(final Object value) {
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/*
+   Copyright 2015 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+/**
+ * A {@link Monoid} of primitive longs, which sums arrays, streams and iterators
+ * of longs without boxing. Must follow the monoidal laws:
+ * <ul>
+ * <li><em>Left Identity</em>; forall x. append(zero(), x) == x</li>
+ * <li><em>Right Identity</em>; forall x. append(x, zero()) == x</li>
+ * <li><em>Associativity</em>; forall x y z. append(append(x, y), z) ==
+ * append(x, append(y, z))</li>
+ * </ul>
+ *
+ * @see LongSemigroup
+ * @since 5.0.0
+ */
+public interface LongMonoid extends LongSemigroup {
+
+  /**
+   * A monoid that adds longs.
+   */
+  LongMonoid addition = of(0L, (l1, l2) -> l1 + l2);
+
+  /**
+   * A monoid that multiplies longs.
+   */
+  LongMonoid multiplication = of(1L, (l1, l2) -> l1 * l2);
+
+  /**
+   * A monoid that takes the larger long, the zero being the smallest long.
+   */
+  LongMonoid maximum = of(Long.MIN_VALUE, Math::max);
+
+  /**
+   * A monoid that takes the smaller long, the zero being the largest long.
+   */
+  LongMonoid minimum = of(Long.MAX_VALUE, Math::min);
+
+  /**
+   * Creates a monoid from its zero and an associative append.
+   *
+   * @param zero the identity element
+   * @param semigroup the append
+   * @return a monoid
+   */
+  static LongMonoid of(final long zero, final LongSemigroup semigroup) {
+    return new LongMonoid() {
+      @Override public long append(final long l1, final long l2) {
+        return semigroup.append(l1, l2);
+      }
+
+      @Override public long zero() {
+        return zero;
+      }
+    };
+  }
+
+  /**
+   * The identity element value for this monoid.
+   *
+   * @return The identity element for this monoid.
+   */
+  long zero();
+
+  /**
+   * Sums the given values.
+   *
+   * @param ls The values to sum.
+   * @return The sum of the given values.
+   */
+  default long sum(final long[] ls) {
+    return sumNonEmpty(zero(), ls);
+  }
+
+  /**
+   * Sums the given values. A parallel stream is reduced in parallel.
+   *
+   * @param ls The values to sum.
+   * @return The sum of the given values.
+   */
+  default long sum(final LongStream ls) {
+    return ls.reduce(zero(), this::append);
+  }
+
+  /**
+   * Sums the given values.
+   *
+   * @param ls The values to sum.
+   * @return The sum of the given values.
+   */
+  default long sum(final PrimitiveIterator.OfLong ls) {
+    long sum = zero();
+    while (ls.hasNext()) {
+      sum = append(sum, ls.nextLong());
+    }
+    return sum;
+  }
+
+  /**
+   * Returns a value summed <code>n</code> times (<code>a + a + ... + a</code>),
+   * using peasant multiplication for only `O(log n)` uses of
+   * {@link #append(long, long)}.
+   *
+   * @param n multiplier
+   * @param l the value to be repeatedly summed
+   * @return {@code l} summed {@code n} times. If {@code n <= 0}, returns
+   * {@code zero()}
+   */
+  default long multiply(final int n, final long l) {
+    long sum = zero();
+    long doubling = l;
+    for (int m = n; m > 0; m >>>= 1) {
+      if ((m & 1) == 1) {
+        sum = append(sum, doubling);
+      }
+      if (m > 1) {
+        doubling = append(doubling, doubling);
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * This monoid over boxed longs, for compatibility with the API that takes a
+   * {@link Monoid}. Its accumulator keeps the sum as a primitive.
+   *
+   * @return a boxed view of this monoid
+   */
+  @Override default Monoid<Long> boxed() {
+    final LongMonoid monoid = this;
+    return new Monoid<Long>() {
+      @Override public Long append(final Long l1, final Long l2) {
+        return monoid.append(l1, l2);
+      }
+
+      @Override public Long zero() {
+        return monoid.zero();
+      }
+
+      @Override public Long multiply(final int n, final Long l) {
+        return monoid.multiply(n, l);
+      }
+
+      @Override public Accumulator<Long> accumulator() {
+        return new Accumulator<Long>() {
+          private long sum = monoid.zero();
+
+          @Override public void add(final Long l) {
+            sum = monoid.append(sum, l);
+          }
+
+          @Override public Long result() {
+            return sum;
+          }
+        };
+      }
+    };
+  }
+}
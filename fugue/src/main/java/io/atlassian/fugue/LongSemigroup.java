@@ -0,0 +1,74 @@
+/*
+   Copyright 2015 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+/**
+ * A {@link Semigroup} of primitive longs, which appends without boxing. Must be
+ * associative:
+ * <ul>
+ * <li><em>Associativity</em>; forall x y z. append(append(x, y), z) ==
+ * append(x, append(y, z))</li>
+ * </ul>
+ *
+ * @see LongMonoid
+ * @since 5.0.0
+ */
+@FunctionalInterface public interface LongSemigroup {
+
+  /**
+   * A semigroup that takes the larger long.
+   */
+  LongSemigroup maximum = Math::max;
+
+  /**
+   * A semigroup that takes the smaller long.
+   */
+  LongSemigroup minimum = Math::min;
+
+  /**
+   * Combine the two given arguments.
+   *
+   * @param l1 left value to combine
+   * @param l2 right value to combine
+   * @return the combination of the left and right value.
+   */
+  long append(long l1, long l2);
+
+  /**
+   * Reduce a 'non-empty' array with {@link #append(long, long)}.
+   *
+   * @param head the first value
+   * @param tail the other values (maybe an empty array).
+   * @return the sum of all values.
+   */
+  default long sumNonEmpty(final long head, final long[] tail) {
+    long sum = head;
+    for (final long l : tail) {
+      sum = append(sum, l);
+    }
+    return sum;
+  }
+
+  /**
+   * This semigroup over boxed longs, for compatibility with the API that takes
+   * a {@link Semigroup}.
+   *
+   * @return a boxed view of this semigroup
+   */
+  default Semigroup<Long> boxed() {
+    return this::append;
+  }
+}
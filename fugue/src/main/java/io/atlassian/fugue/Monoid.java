@@ -33,8 +33,12 @@ import static java.util.Collections.singletonList;
  * </ul>
  * Methods {@link #sum(Iterable)} and {@link #multiply(int, Object)} can be
  * overriden for performance reason, especially if {@link #sum(Iterable)} can be
- * implemented to not require evaluation of the whole iterable. All other
- * default methods should not be overriden.
+ * implemented to not require evaluation of the whole iterable.
+ * {@link #accumulator()} can be overriden by monoids that can sum values into a
+ * mutable builder, such as a list or a string builder, rather than appending
+ * one immutable value to the next, which makes the default {@link #sum(Iterable)}
+ * linear instead of quadratic for them. All other default methods should not
+ * be overriden.
  *
  * @see Semigroup
  * @since 3.1
@@ -55,7 +59,49 @@ public interface Monoid<A> extends Semigroup<A> {
    * @return The sum of the given values.
    */
   default A sum(final Iterable<A> as) {
-    return Semigroup.super.sumNonEmpty(zero(), as);
+    final Accumulator<A> accumulator = accumulator();
+    for (final A a : as) {
+      accumulator.add(a);
+    }
+    return accumulator.result();
+  }
+
+  /**
+   * Sums the given values in a balanced tree.
+   *
+   * @param as The values to sum.
+   * @return The sum of the given values, {@link #zero()} if there are none.
+   * @see Semigroup#sumBalanced(Object, Iterable)
+   * @since 5.0.0
+   */
+  default A sumBalanced(final Iterable<A> as) {
+    final BalancedSum<A> sum = new BalancedSum<>(this, zero());
+    for (final A a : as) {
+      sum.add(a);
+    }
+    return sum.result();
+  }
+
+  /**
+   * A new accumulator to sum values into, starting from {@link #zero()}. The
+   * default appends each value to the sum so far, monoids that can sum in place
+   * should override it.
+   *
+   * @return a new accumulator
+   * @since 5.0.0
+   */
+  default Accumulator<A> accumulator() {
+    return new Accumulator<A>() {
+      private A sum = zero();
+
+      @Override public void add(final A a) {
+        sum = append(sum, a);
+      }
+
+      @Override public A result() {
+        return sum;
+      }
+    };
   }
 
   /**
@@ -96,7 +142,8 @@ public interface Monoid<A> extends Semigroup<A> {
   }
 
   /**
-   * Composes a monoid with another.
+   * Composes a monoid with another. To compute several aggregates of a
+   * sequence at once without a pair per element, see {@link Aggregator}.
    */
   public static <A, B> Monoid<Pair<A, B>> compose(Monoid<A> ma, Monoid<B> mb) {
     Pair<A, B> zero = pair(ma.zero(), mb.zero());
@@ -108,6 +155,21 @@ public interface Monoid<A> extends Semigroup<A> {
       @Override public Pair<A, B> zero() {
         return zero;
       }
+
+      @Override public Accumulator<Pair<A, B>> accumulator() {
+        final Accumulator<A> as = ma.accumulator();
+        final Accumulator<B> bs = mb.accumulator();
+        return new Accumulator<Pair<A, B>>() {
+          @Override public void add(final Pair<A, B> p) {
+            as.add(p.left());
+            bs.add(p.right());
+          }
+
+          @Override public Pair<A, B> result() {
+            return pair(as.result(), bs.result());
+          }
+        };
+      }
     };
   }
 
@@ -132,4 +194,28 @@ public interface Monoid<A> extends Semigroup<A> {
       }
     };
   }
-}
\ No newline at end of file
+
+  /**
+   * A mutable sum of values of a monoid, the sum of nothing being the zero.
+   * Used by {@link Monoid#sum(Iterable)}. Not thread safe, and not to be added
+   * to once the result has been taken.
+   *
+   * @param <A> the monoid type
+   * @since 5.0.0
+   */
+  interface Accumulator<A> {
+    /**
+     * Append a value to the sum.
+     *
+     * @param a the value to append
+     */
+    void add(A a);
+
+    /**
+     * The sum of the values added so far.
+     *
+     * @return the sum
+     */
+    A result();
+  }
+}
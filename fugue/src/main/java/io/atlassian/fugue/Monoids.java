@@ -16,10 +16,20 @@
 
 package io.atlassian.fugue;
 
+import io.atlassian.fugue.Monoid.Accumulator;
+
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collector;
 
 import static io.atlassian.fugue.Either.left;
 import static io.atlassian.fugue.Either.right;
@@ -33,6 +43,9 @@ import static io.atlassian.fugue.Option.some;
 import static io.atlassian.fugue.Options.filterNone;
 import static io.atlassian.fugue.Unit.Unit;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.nCopies;
+import static java.util.Objects.requireNonNull;
 
 /**
  * {@link io.atlassian.fugue.Monoid} instances.
@@ -45,7 +58,7 @@ public final class Monoids {
   /**
    * A monoid that adds integers.
    */
-  public static final Monoid<Integer> intAddition = new Monoid<Integer>() {
+  public static final Monoid<Integer> intAddition = new CommutativeMonoid<Integer>() {
     @Override public Integer append(final Integer i1, final Integer i2) {
       return i1 + i2;
     }
@@ -57,12 +70,26 @@ public final class Monoids {
     @Override public Integer multiply(final int n, final Integer i) {
       return n <= 0 ? 0 : n * i;
     }
+
+    @Override public Accumulator<Integer> accumulator() {
+      return new Accumulator<Integer>() {
+        private int sum;
+
+        @Override public void add(final Integer i) {
+          sum += i;
+        }
+
+        @Override public Integer result() {
+          return sum;
+        }
+      };
+    }
   };
 
   /**
    * A monoid that multiplies integers.
    */
-  public static final Monoid<Integer> intMultiplication = new Monoid<Integer>() {
+  public static final Monoid<Integer> intMultiplication = new CommutativeMonoid<Integer>() {
     @Override public Integer append(final Integer i1, final Integer i2) {
       return i1 * i2;
     }
@@ -70,12 +97,25 @@ public final class Monoids {
     @Override public Integer zero() {
       return 1;
     }
+
+    // by squaring without boxing, overflowing as repeated appends do
+    @Override public Integer multiply(final int n, final Integer i) {
+      int power = 1;
+      int base = i;
+      for (int m = Math.max(n, 0); m != 0; m >>>= 1) {
+        if ((m & 1) == 1) {
+          power *= base;
+        }
+        base *= base;
+      }
+      return power;
+    }
   };
 
   /**
    * A monoid that adds big integers.
    */
-  public static final Monoid<BigInteger> bigintAddition = new Monoid<BigInteger>() {
+  public static final Monoid<BigInteger> bigintAddition = new CommutativeMonoid<BigInteger>() {
     @Override public BigInteger append(final BigInteger a1, final BigInteger a2) {
       return a1.add(a2);
     }
@@ -92,7 +132,7 @@ public final class Monoids {
   /**
    * A monoid that multiplies big integers.
    */
-  public static final Monoid<BigInteger> bigintMultiplication = new Monoid<BigInteger>() {
+  public static final Monoid<BigInteger> bigintMultiplication = new CommutativeMonoid<BigInteger>() {
     @Override public BigInteger append(final BigInteger a1, final BigInteger a2) {
       return a1.multiply(a2);
     }
@@ -104,12 +144,17 @@ public final class Monoids {
     @Override public BigInteger multiply(final int n, final BigInteger b) {
       return n <= 0 ? BigInteger.ONE : b.pow(n);
     }
+
+    // the cost of a product grows with its operands, so multiply in a tree
+    @Override public Accumulator<BigInteger> accumulator() {
+      return new BalancedSum<>(this, BigInteger.ONE);
+    }
   };
 
   /**
    * A monoid that adds longs.
    */
-  public static final Monoid<Long> longAddition = new Monoid<Long>() {
+  public static final Monoid<Long> longAddition = new CommutativeMonoid<Long>() {
     @Override public Long append(final Long a1, final Long a2) {
       return a1 + a2;
     }
@@ -121,12 +166,26 @@ public final class Monoids {
     @Override public Long multiply(final int n, final Long l) {
       return n <= 0 ? 0L : l * n;
     }
+
+    @Override public Accumulator<Long> accumulator() {
+      return new Accumulator<Long>() {
+        private long sum;
+
+        @Override public void add(final Long l) {
+          sum += l;
+        }
+
+        @Override public Long result() {
+          return sum;
+        }
+      };
+    }
   };
 
   /**
    * A monoid that multiplies longs.
    */
-  public static final Monoid<Long> longMultiplication = new Monoid<Long>() {
+  public static final Monoid<Long> longMultiplication = new CommutativeMonoid<Long>() {
     @Override public Long append(final Long a1, final Long a2) {
       return a1 * a2;
     }
@@ -134,12 +193,25 @@ public final class Monoids {
     @Override public Long zero() {
       return 1L;
     }
+
+    // by squaring without boxing, overflowing as repeated appends do
+    @Override public Long multiply(final int n, final Long l) {
+      long power = 1L;
+      long base = l;
+      for (int m = Math.max(n, 0); m != 0; m >>>= 1) {
+        if ((m & 1) == 1) {
+          power *= base;
+        }
+        base *= base;
+      }
+      return power;
+    }
   };
 
   /**
    * A monoid that ORs booleans.
    */
-  public static final Monoid<Boolean> disjunction = new Monoid<Boolean>() {
+  public static final Monoid<Boolean> disjunction = new CommutativeMonoid<Boolean>() {
     @Override public Boolean append(final Boolean a1, final Boolean a2) {
       return a1 || a2;
     }
@@ -160,7 +232,7 @@ public final class Monoids {
   /**
    * A monoid that XORs booleans.
    */
-  public static final Monoid<Boolean> exclusiveDisjunction = new Monoid<Boolean>() {
+  public static final Monoid<Boolean> exclusiveDisjunction = new CommutativeMonoid<Boolean>() {
     @Override public Boolean append(final Boolean a1, final Boolean a2) {
       return (a1 ^ a2);
     }
@@ -170,14 +242,14 @@ public final class Monoids {
     }
 
     @Override public Boolean multiply(final int n, final Boolean b) {
-      return b && (n == 1);
+      return b && (n & 1) == 1;
     }
   };
 
   /**
    * A monoid that ANDs booleans.
    */
-  public static final Monoid<Boolean> conjunction = new Monoid<Boolean>() {
+  public static final Monoid<Boolean> conjunction = new CommutativeMonoid<Boolean>() {
     @Override public Boolean append(final Boolean a1, final Boolean a2) {
       return a1 && a2;
     }
@@ -189,6 +261,10 @@ public final class Monoids {
     @Override public Boolean sum(final Iterable<Boolean> bs) {
       return !Iterables.filter(bs, b -> !b).iterator().hasNext();
     }
+
+    @Override public Boolean multiply(final int n, final Boolean b) {
+      return n <= 0 ? true : b;
+    }
   };
 
   /**
@@ -203,19 +279,25 @@ public final class Monoids {
       return "";
     }
 
-    @Override public String sum(final Iterable<String> ss) {
-      final StringBuilder sb = new StringBuilder();
-      for (final String s : ss) {
-        sb.append(s);
-      }
-      return sb.toString();
+    @Override public Accumulator<String> accumulator() {
+      return new Accumulator<String>() {
+        private final StringBuilder sb = new StringBuilder();
+
+        @Override public void add(final String s) {
+          sb.append(s);
+        }
+
+        @Override public String result() {
+          return sb.toString();
+        }
+      };
     }
   };
 
   /**
    * A monoid for the Unit value.
    */
-  public static final Monoid<Unit> unit = new Monoid<Unit>() {
+  public static final Monoid<Unit> unit = new CommutativeMonoid<Unit>() {
     @Override public Unit append(final Unit a1, final Unit a2) {
       return Unit();
     }
@@ -235,6 +317,154 @@ public final class Monoids {
 
   private Monoids() {}
 
+  /**
+   * Sums values in parallel on a fork/join pool. As a monoid is associative the
+   * values can be split into ranges that are summed concurrently, each with
+   * the monoid's {@link Monoid#accumulator() accumulator}, and the partial
+   * sums are appended in order, so the result is the same as
+   * {@link Monoid#sum(Iterable)}. Worthwhile when there are many values or
+   * appending is expensive.
+   *
+   * @param as the values to sum
+   * @param monoid the monoid to sum with, must be thread safe
+   * @param pool the pool to sum on
+   * @param <A> the value type
+   * @return the sum of the values
+   * @since 5.0.0
+   */
+  public static <A> A parallelSum(final Iterable<A> as, final Monoid<A> monoid, final ForkJoinPool pool) {
+    return parallelSum(as.spliterator(), monoid, pool);
+  }
+
+  /**
+   * Sums values in parallel on a fork/join pool. As a monoid is associative the
+   * values can be split into ranges that are summed concurrently, each with
+   * the monoid's {@link Monoid#accumulator() accumulator}, and the partial
+   * sums are appended in encounter order. How well the work is spread depends
+   * on how evenly the spliterator splits.
+   *
+   * @param as the values to sum
+   * @param monoid the monoid to sum with, must be thread safe
+   * @param pool the pool to sum on
+   * @param <A> the value type
+   * @return the sum of the values
+   * @since 5.0.0
+   */
+  public static <A> A parallelSum(final Spliterator<A> as, final Monoid<A> monoid, final ForkJoinPool pool) {
+    requireNonNull(monoid, "monoid");
+    // about four leaves per thread, as java.util.stream does
+    final long size = as.estimateSize();
+    final long leafSize = Math.max(size / (pool.getParallelism() * 4L), 1L);
+    return pool.invoke(new SumTask<>(as, monoid, leafSize));
+  }
+
+  /**
+   * A collector that sums with a monoid, using the monoid's
+   * {@link Monoid#accumulator() accumulator}. The partial sums of a parallel
+   * stream are appended in encounter order.
+   *
+   * @param monoid the monoid to sum with
+   * @param <A> the value type
+   * @return a collector of the sum
+   * @since 5.0.0
+   */
+  public static <A> Collector<A, ?, A> collector(final Monoid<A> monoid) {
+    requireNonNull(monoid, "monoid");
+    return Collector.<A, Accumulator<A>, A> of(monoid::accumulator, Accumulator::add, (l, r) -> {
+      l.add(r.result());
+      return l;
+    }, Accumulator::result);
+  }
+
+  /**
+   * An accumulator that many threads can add to at once, without contending
+   * for a single sum. Only a commutative monoid can be summed this way, as
+   * values from different threads are appended in no particular order. The
+   * numeric additions and multiplications, {@link #disjunction},
+   * {@link #exclusiveDisjunction}, {@link #conjunction} and {@link #unit} are
+   * commutative but typed as monoids, so declare them with
+   * {@link CommutativeMonoid#of(Monoid)}, for example
+   * {@code concurrentAccumulator(CommutativeMonoid.of(Monoids.longAddition))},
+   * as may maxima, minima or unions such as
+   * {@code CommutativeMonoid.of(Monoids.option(Semigroups.intMaximum))} or
+   * {@link #set()}.
+   *
+   * @param monoid the monoid to sum with, its values must be immutable
+   * @param <A> the value type
+   * @return a thread safe accumulator of the sum
+   * @since 5.0.0
+   */
+  public static <A> ConcurrentAccumulator<A> concurrentAccumulator(final CommutativeMonoid<A> monoid) {
+    return new ConcurrentAccumulator<>(monoid);
+  }
+
+  /**
+   * Sums a sliding window over an iterable. The result is a lazy iterable with
+   * an element for each element of the argument, the sum of the window of the
+   * {@code windowSize} elements ending at it, so the first
+   * {@code windowSize - 1} windows are shorter; drop them for only full
+   * windows. Each element costs a constant number of appends, amortized,
+   * however large the window, and the monoid needs no inverse, so maxima and
+   * minima can be windowed as well as sums.
+   *
+   * @param monoid the monoid to sum windows with
+   * @param windowSize the number of elements in a window, at least one
+   * @param <A> the value type
+   * @return a function from an iterable to the sums of its windows
+   * @since 5.0.0
+   */
+  public static <A> Function<Iterable<A>, Iterable<A>> slidingWindow(final Monoid<A> monoid, final int windowSize) {
+    requireNonNull(monoid, "monoid");
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+    }
+    return as -> new SlidingWindow<>(as, monoid, windowSize, Long.MAX_VALUE, null);
+  }
+
+  /**
+   * Sums a sliding window of time over an iterable. The result is a lazy
+   * iterable with an element for each element of the argument, the sum of
+   * the elements that were iterated within the duration before it, including
+   * itself, by {@link System#nanoTime()}. Each element costs a constant
+   * number of appends, amortized, however many elements are in a window.
+   *
+   * @param monoid the monoid to sum windows with
+   * @param window the duration of a window, positive
+   * @param unit the unit of the duration
+   * @param <A> the value type
+   * @return a function from an iterable to the sums of its windows
+   * @since 5.0.0
+   */
+  public static <A> Function<Iterable<A>, Iterable<A>> slidingWindow(final Monoid<A> monoid, final long window, final TimeUnit unit) {
+    return slidingWindow(monoid, window, unit, System::nanoTime);
+  }
+
+  /**
+   * Sums a sliding window of time over an iterable, timing elements with a
+   * ticker. The ticker is read as each element is iterated, and the window
+   * ending at an element is the elements read less than the duration before
+   * it.
+   *
+   * @param monoid the monoid to sum windows with
+   * @param window the duration of a window, positive
+   * @param unit the unit of the duration
+   * @param ticker the time in nanoseconds, which must not go backwards
+   * @param <A> the value type
+   * @return a function from an iterable to the sums of its windows
+   * @see #slidingWindow(Monoid, long, TimeUnit)
+   * @since 5.0.0
+   */
+  public static <A> Function<Iterable<A>, Iterable<A>> slidingWindow(final Monoid<A> monoid, final long window, final TimeUnit unit,
+    final LongSupplier ticker) {
+    requireNonNull(monoid, "monoid");
+    requireNonNull(ticker, "ticker");
+    final long nanos = unit.toNanos(window);
+    if (nanos <= 0) {
+      throw new IllegalArgumentException("window must be positive: " + window + " " + unit);
+    }
+    return as -> new SlidingWindow<>(as, monoid, Integer.MAX_VALUE, nanos, ticker);
+  }
+
   /**
    * A monoid for functions.
    *
@@ -290,6 +520,98 @@ public final class Monoids {
       @Override public List<A> zero() {
         return emptyList();
       }
+
+      @Override public Accumulator<List<A>> accumulator() {
+        return new Accumulator<List<A>>() {
+          private List<A> sum = emptyList();
+          // sum is a list created here that can be added to
+          private boolean owned;
+
+          @Override public void add(final List<A> l) {
+            if (l.isEmpty()) {
+              return;
+            }
+            if (sum.isEmpty()) {
+              // like append, a single non empty list is the sum itself
+              sum = l;
+              return;
+            }
+            if (!owned) {
+              final List<A> copy = new ArrayList<>(sum.size() + l.size());
+              copy.addAll(sum);
+              sum = copy;
+              owned = true;
+            }
+            sum.addAll(l);
+          }
+
+          @Override public List<A> result() {
+            return sum;
+          }
+        };
+      }
+
+      @Override public List<A> multiply(final int n, final List<A> l) {
+        if (n <= 0 || l.isEmpty()) {
+          return emptyList();
+        }
+        if (n == 1) {
+          return l;
+        }
+        final List<A> product = new ArrayList<>(Math.multiplyExact(n, l.size()));
+        for (int i = 0; i < n; i++) {
+          product.addAll(l);
+        }
+        return product;
+      }
+    };
+  }
+
+  /**
+   * A commutative monoid for sets, that appends by union. Appending does not
+   * change either argument, it returns one of them if the other is empty and
+   * a new set otherwise.
+   *
+   * @param <A> internal type
+   * @return A monoid for sets.
+   * @since 5.0.0
+   */
+  public static <A> CommutativeMonoid<Set<A>> set() {
+    return new CommutativeMonoid<Set<A>>() {
+      @Override public Set<A> append(final Set<A> s1, final Set<A> s2) {
+        if (s1.isEmpty()) {
+          return s2;
+        }
+        if (s2.isEmpty()) {
+          return s1;
+        }
+        final Set<A> union = new HashSet<>(s1);
+        union.addAll(s2);
+        return union;
+      }
+
+      @Override public Set<A> zero() {
+        return emptySet();
+      }
+
+      @Override public Accumulator<Set<A>> accumulator() {
+        return new Accumulator<Set<A>>() {
+          private final Set<A> sum = new HashSet<>();
+
+          @Override public void add(final Set<A> s) {
+            sum.addAll(s);
+          }
+
+          @Override public Set<A> result() {
+            return sum;
+          }
+        };
+      }
+
+      @Override public Set<A> multiply(final int n, final Set<A> s) {
+        // union is idempotent
+        return n <= 0 ? emptySet() : s;
+      }
     };
   }
 
@@ -312,6 +634,29 @@ public final class Monoids {
       @Override public Iterable<A> sum(final Iterable<Iterable<A>> iterable) {
         return join(iterable);
       }
+
+      @Override public Accumulator<Iterable<A>> accumulator() {
+        return new Accumulator<Iterable<A>>() {
+          // joined once at the end, rather than nesting a concatenation per
+          // value
+          private final List<Iterable<A>> parts = new ArrayList<>();
+
+          @Override public void add(final Iterable<A> as) {
+            parts.add(as);
+          }
+
+          @Override public Iterable<A> result() {
+            return join(parts);
+          }
+        };
+      }
+
+      @Override public Iterable<A> multiply(final int n, final Iterable<A> as) {
+        if (n <= 0) {
+          return emptyList();
+        }
+        return (n == 1) ? as : join(nCopies(n, as));
+      }
     };
   }
 
@@ -334,6 +679,10 @@ public final class Monoids {
       @Override public Option<A> sum(final Iterable<Option<A>> os) {
         return first(filterNone(os)).getOrElse(none());
       }
+
+      @Override public Option<A> multiply(final int n, final Option<A> o) {
+        return n <= 0 ? none() : o;
+      }
     };
   }
 
@@ -352,6 +701,10 @@ public final class Monoids {
       @Override public Option<A> zero() {
         return none();
       }
+
+      @Override public Option<A> multiply(final int n, final Option<A> o) {
+        return n <= 0 ? none() : o;
+      }
     };
   }
 
@@ -406,7 +759,63 @@ public final class Monoids {
       @Override public Either<L, R> zero() {
         return zero;
       }
+
+      @Override public Accumulator<Either<L, R>> accumulator() {
+        final Accumulator<R> rights = rM.accumulator();
+        return new Accumulator<Either<L, R>>() {
+          // the lefts appended so far, once there is one the rights are no
+          // longer needed
+          private L lefts;
+
+          @Override public void add(final Either<L, R> e) {
+            if (e.isLeft()) {
+              lefts = (lefts == null) ? e.getLeft() : lS.append(lefts, e.getLeft());
+            } else if (lefts == null) {
+              rights.add(e.getRight());
+            }
+          }
+
+          @Override public Either<L, R> result() {
+            return (lefts != null) ? left(lefts) : right(rights.result());
+          }
+        };
+      }
+
+      @Override public Either<L, R> multiply(final int n, final Either<L, R> e) {
+        if (n <= 0) {
+          return zero;
+        }
+        return e.fold(l -> left(lS.multiply1p(n - 1, l)), r -> right(rM.multiply(n, r)));
+      }
     };
   }
 
+  private static final class SumTask<A> extends RecursiveTask<A> {
+    private static final long serialVersionUID = -3458193736155862731L;
+
+    private final Spliterator<A> as;
+    private final Monoid<A> monoid;
+    private final long leafSize;
+
+    SumTask(final Spliterator<A> as, final Monoid<A> monoid, final long leafSize) {
+      this.as = as;
+      this.monoid = monoid;
+      this.leafSize = leafSize;
+    }
+
+    @Override protected A compute() {
+      if (as.estimateSize() > leafSize) {
+        final Spliterator<A> prefix = as.trySplit();
+        if (prefix != null) {
+          final SumTask<A> left = new SumTask<>(prefix, monoid, leafSize);
+          left.fork();
+          final A right = new SumTask<>(as, monoid, leafSize).compute();
+          return monoid.append(left.join(), right);
+        }
+      }
+      final Accumulator<A> accumulator = monoid.accumulator();
+      as.forEachRemaining(accumulator::add);
+      return accumulator.result();
+    }
+  }
 }
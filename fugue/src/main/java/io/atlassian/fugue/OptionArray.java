@@ -0,0 +1,348 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import static io.atlassian.fugue.Pair.pair;
+
+/**
+ * An immutable sequence of options stored in columns: which elements are
+ * defined is a bitset and their values are an array, rather than an
+ * {@link Option} object per element. The bulk operations work on the columns
+ * directly, and only {@link #get(int)} and {@link #iterator()} create options.
+ *
+ * @param <A> the value type
+ * @see OptionIntArray
+ * @see EitherArray
+ * @since 5.0.0
+ */
+public final class OptionArray<A> implements Iterable<Option<A>> {
+  /**
+   * Creates an option array of the options.
+   *
+   * @param options the options, must not be null
+   * @param <A> the value type
+   * @return an option array of the same options, in the same order
+   */
+  public static <A> OptionArray<A> of(final Iterable<Option<A>> options) {
+    final Builder<A> builder = builder();
+    for (final Option<A> o : options) {
+      builder.add(o);
+    }
+    return builder.build();
+  }
+
+  /**
+   * A builder to add options to without creating them.
+   *
+   * @param <A> the value type
+   * @return a new builder
+   */
+  public static <A> Builder<A> builder() {
+    return new Builder<>();
+  }
+
+  private final long[] defined;
+  private final Object[] values;
+  private final int size;
+
+  private OptionArray(final long[] defined, final Object[] values, final int size) {
+    this.defined = defined;
+    this.values = values;
+    this.size = size;
+  }
+
+  /**
+   * The number of elements.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * The number of defined elements.
+   *
+   * @return the number of elements that are some value
+   */
+  public int definedCount() {
+    return Bits.cardinality(defined);
+  }
+
+  /**
+   * If an element is some value.
+   *
+   * @param i the index of the element
+   * @return true if element i is defined
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public boolean isDefined(final int i) {
+    return Bits.get(defined, Bits.checkIndex(i, size));
+  }
+
+  /**
+   * The value of an element that is defined.
+   *
+   * @param i the index of the element
+   * @return the value of element i
+   * @throws NoSuchElementException if element i is none
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public A value(final int i) {
+    if (!isDefined(i)) {
+      throw new NoSuchElementException();
+    }
+    return value(values, i);
+  }
+
+  /**
+   * An element as an option.
+   *
+   * @param i the index of the element
+   * @return element i
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public Option<A> get(final int i) {
+    return isDefined(i) ? Option.some(value(values, i)) : Option.none();
+  }
+
+  /**
+   * Map the defined values, the elements that are none stay none.
+   *
+   * @param f the function to apply to the defined values, must not return null
+   * @param <B> the new value type
+   * @return an option array of the mapped values
+   */
+  public <B> OptionArray<B> map(final Function<? super A, ? extends B> f) {
+    final Object[] mapped = new Object[size];
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      mapped[i] = Objects.requireNonNull(f.apply(value(values, i)));
+    }
+    // the bitset is immutable once built, so it can be shared
+    return new OptionArray<>(defined, mapped, size);
+  }
+
+  /**
+   * Make the defined values that do not satisfy the predicate none.
+   *
+   * @param p the predicate to test the defined values with
+   * @return an option array of the values that satisfy the predicate
+   */
+  public OptionArray<A> filter(final Predicate<? super A> p) {
+    final long[] kept = Bits.create(size);
+    final Object[] keptValues = new Object[size];
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      final A a = value(values, i);
+      if (p.test(a)) {
+        Bits.set(kept, i);
+        keptValues[i] = a;
+      }
+    }
+    return new OptionArray<>(kept, keptValues, size);
+  }
+
+  /**
+   * Some of all of the values if every element is defined, otherwise none.
+   *
+   * @return the values, or none
+   */
+  public Option<List<A>> sequence() {
+    return sequence(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Some of all of the values if every element is defined, otherwise none.
+   *
+   * @param collector result collector
+   * @param <B> the intermediate accumulator type
+   * @param <C> the result type
+   * @return the collected values, or none
+   */
+  public <B, C> Option<C> sequence(final Collector<A, B, C> collector) {
+    if (Bits.nextClear(defined, 0, size) < size) {
+      return Option.none();
+    }
+    return Option.some(collectValues(collector));
+  }
+
+  /**
+   * The defined values, in order.
+   *
+   * @return the values of the elements that are defined
+   */
+  public List<A> flatten() {
+    return collectValues(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Splits the defined values by a predicate in a single pass.
+   *
+   * @param p the predicate to test the defined values with
+   * @return the values that satisfy the predicate on the left, and those that
+   * do not on the right
+   */
+  public Pair<List<A>, List<A>> partition(final Predicate<? super A> p) {
+    final List<A> matching = new ArrayList<>();
+    final List<A> others = new ArrayList<>();
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      final A a = value(values, i);
+      (p.test(a) ? matching : others).add(a);
+    }
+    return pair(Collections.unmodifiableList(matching), Collections.unmodifiableList(others));
+  }
+
+  /**
+   * A view of the elements as options, each one created when it is read.
+   *
+   * @return a list view of this array
+   */
+  public List<Option<A>> asList() {
+    return new AbstractList<Option<A>>() {
+      @Override public Option<A> get(final int i) {
+        return OptionArray.this.get(i);
+      }
+
+      @Override public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override public Iterator<Option<A>> iterator() {
+    return asList().iterator();
+  }
+
+  @Override public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof OptionArray)) {
+      return false;
+    }
+    final OptionArray<?> other = (OptionArray<?>) obj;
+    if (size != other.size || !Bits.equals(defined, other.defined, size)) {
+      return false;
+    }
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      if (!Objects.equals(values[i], other.values[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override public int hashCode() {
+    int hash = Bits.hashCode(defined, size);
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      hash = 31 * hash + Objects.hashCode(values[i]);
+    }
+    return hash;
+  }
+
+  @Override public String toString() {
+    return Iterables.makeString(this, "OptionArray[", ", ", "]", 1000);
+  }
+
+  private <B, C> C collectValues(final Collector<A, B, C> collector) {
+    final B accumulator = collector.supplier().get();
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      collector.accumulator().accept(accumulator, value(values, i));
+    }
+    return collector.finisher().apply(accumulator);
+  }
+
+  @SuppressWarnings("unchecked") private static <A> A value(final Object[] values, final int i) {
+    return (A) values[i];
+  }
+
+  /**
+   * Builds an {@link OptionArray}. Not thread safe.
+   *
+   * @param <A> the value type
+   */
+  public static final class Builder<A> {
+    private long[] defined = Bits.create(16);
+    private Object[] values = new Object[16];
+    private int size;
+
+    private Builder() {}
+
+    /**
+     * Add a defined element.
+     *
+     * @param a the value, must not be null
+     * @return this builder
+     */
+    public Builder<A> addSome(final A a) {
+      Objects.requireNonNull(a);
+      ensureCapacity();
+      Bits.set(defined, size);
+      values[size++] = a;
+      return this;
+    }
+
+    /**
+     * Add an element that is none.
+     *
+     * @return this builder
+     */
+    public Builder<A> addNone() {
+      ensureCapacity();
+      size++;
+      return this;
+    }
+
+    /**
+     * Add an element.
+     *
+     * @param o the option
+     * @return this builder
+     */
+    public Builder<A> add(final Option<A> o) {
+      return o.isDefined() ? addSome(o.get()) : addNone();
+    }
+
+    /**
+     * The option array of the elements added so far. The builder can still be
+     * added to afterwards without affecting it.
+     *
+     * @return an option array
+     */
+    public OptionArray<A> build() {
+      return new OptionArray<>(Bits.copyOf(defined, size), Arrays.copyOf(values, size), size);
+    }
+
+    private void ensureCapacity() {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      defined = Bits.ensureCapacity(defined, size + 1);
+    }
+  }
+}
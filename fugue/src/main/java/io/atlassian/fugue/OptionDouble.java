@@ -0,0 +1,335 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+
+/**
+ * An {@link Option} of a {@code double} that does not box the value. An
+ * OptionDouble may be either <em>some</em> value or <em>none</em>.
+ * <p>
+ * The operations mirror those of Option, taking the primitive specialisations
+ * of the functional interfaces, {@link DoubleUnaryOperator} rather than
+ * {@code Function<Double, Double>} and so on.
+ *
+ * @see FugueCollectors#flattenDoubles()
+ * @see Iterables#collectDoubles(Iterable, java.util.function.Function)
+ * @since 5.0.0
+ */
+public final class OptionDouble implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private static final OptionDouble NONE = new OptionDouble(false, 0);
+
+  /**
+   * Creates a defined OptionDouble.
+   *
+   * @param value the value
+   * @return an OptionDouble of the value
+   */
+  public static OptionDouble some(final double value) {
+    return new OptionDouble(true, value);
+  }
+
+  /**
+   * The undefined OptionDouble.
+   *
+   * @return none
+   */
+  public static OptionDouble none() {
+    return NONE;
+  }
+
+  /**
+   * Creates an OptionDouble from a possibly null boxed value.
+   *
+   * @param value the value, may be null
+   * @return none if the value is null, otherwise some of the value
+   */
+  public static OptionDouble option(final Double value) {
+    return (value == null) ? NONE : some(value);
+  }
+
+  /**
+   * Converts from an {@link Option}.
+   *
+   * @param option the option, must not be null and must not contain null
+   * @return an OptionDouble of the same value
+   */
+  public static OptionDouble fromOption(final Option<Double> option) {
+    return option.isDefined() ? some(option.get()) : NONE;
+  }
+
+  /**
+   * Converts from an {@link OptionalDouble}.
+   *
+   * @param optional the optional, must not be null
+   * @return an OptionDouble of the same value
+   */
+  public static OptionDouble fromOptional(final OptionalDouble optional) {
+    return optional.isPresent() ? some(optional.getAsDouble()) : NONE;
+  }
+
+  private final boolean defined;
+  private final double value;
+
+  private OptionDouble(final boolean defined, final double value) {
+    this.defined = defined;
+    this.value = value;
+  }
+
+  /**
+   * If this is some value.
+   *
+   * @return true if defined
+   */
+  public boolean isDefined() {
+    return defined;
+  }
+
+  /**
+   * If this is none.
+   *
+   * @return true if undefined
+   */
+  public boolean isEmpty() {
+    return !defined;
+  }
+
+  /**
+   * The value, used when absolutely sure this is defined.
+   *
+   * @return the value
+   * @throws NoSuchElementException if this is none
+   */
+  public double get() {
+    if (!defined) {
+      throw new NoSuchElementException();
+    }
+    return value;
+  }
+
+  /**
+   * The value if defined, otherwise {@code other}.
+   *
+   * @param other the value to return if none
+   * @return the value or other
+   */
+  public double getOrElse(final double other) {
+    return defined ? value : other;
+  }
+
+  /**
+   * The value if defined, otherwise the value from the supplier.
+   *
+   * @param supplier called if this is none
+   * @return the value or the supplied value
+   */
+  public double getOr(final DoubleSupplier supplier) {
+    return defined ? value : supplier.getAsDouble();
+  }
+
+  /**
+   * The value if defined, otherwise throws an error with the supplied message.
+   *
+   * @param err the message for the error
+   * @return the value
+   */
+  public double getOrError(final Supplier<String> err) {
+    if (!defined) {
+      throw new AssertionError(err.get());
+    }
+    return value;
+  }
+
+  /**
+   * The value if defined, otherwise throws the supplied throwable.
+   *
+   * @param <X> the exception type
+   * @param ifUndefined the supplier of the throwable
+   * @return the value
+   * @throws X the throwable the supplier creates if this is none
+   */
+  public <X extends Throwable> double getOrThrow(final Supplier<X> ifUndefined) throws X {
+    if (!defined) {
+      throw ifUndefined.get();
+    }
+    return value;
+  }
+
+  /**
+   * Map the value if defined.
+   *
+   * @param f the function to apply to the value
+   * @return some of the result, or none
+   */
+  public OptionDouble map(final DoubleUnaryOperator f) {
+    return defined ? some(f.applyAsDouble(value)) : NONE;
+  }
+
+  /**
+   * Map the value to an object if defined.
+   *
+   * @param <B> the result type
+   * @param f the function to apply to the value
+   * @return some of the result, or none
+   */
+  public <B> Option<B> mapToObj(final DoubleFunction<? extends B> f) {
+    return defined ? Option.some(f.apply(value)) : Option.none();
+  }
+
+  /**
+   * Bind the value if defined.
+   *
+   * @param f the function to apply to the value
+   * @return the result, or none
+   */
+  public OptionDouble flatMap(final DoubleFunction<OptionDouble> f) {
+    return defined ? f.apply(value) : NONE;
+  }
+
+  /**
+   * This if defined and the value satisfies the predicate, otherwise none.
+   *
+   * @param p the predicate to test the value with
+   * @return this or none
+   */
+  public OptionDouble filter(final DoublePredicate p) {
+    return (defined && p.test(value)) ? this : NONE;
+  }
+
+  /**
+   * Apply the function for the case this is in.
+   *
+   * @param <B> the result type
+   * @param none the supplier of the result if this is none
+   * @param some the function to apply to the value if defined
+   * @return the result of the supplier or the function
+   */
+  public <B> B fold(final Supplier<? extends B> none, final DoubleFunction<? extends B> some) {
+    return defined ? some.apply(value) : none.get();
+  }
+
+  /**
+   * If defined and the value satisfies the predicate.
+   *
+   * @param p the predicate to test the value with
+   * @return true if defined and the predicate holds
+   */
+  public boolean exists(final DoublePredicate p) {
+    return defined && p.test(value);
+  }
+
+  /**
+   * If none or the value satisfies the predicate.
+   *
+   * @param p the predicate to test the value with
+   * @return true if none or the predicate holds
+   */
+  public boolean forall(final DoublePredicate p) {
+    return !defined || p.test(value);
+  }
+
+  /**
+   * Perform the effect on the value if defined.
+   *
+   * @param effect the effect
+   */
+  public void forEach(final DoubleConsumer effect) {
+    if (defined) {
+      effect.accept(value);
+    }
+  }
+
+  /**
+   * This if defined, otherwise {@code orElse}.
+   *
+   * @param orElse the option to return if this is none
+   * @return this or orElse
+   */
+  public OptionDouble orElse(final OptionDouble orElse) {
+    return defined ? this : orElse;
+  }
+
+  /**
+   * This if defined, otherwise the supplied option.
+   *
+   * @param orElse the supplier of the option to return if this is none
+   * @return this or the supplied option
+   */
+  public OptionDouble orElse(final Supplier<OptionDouble> orElse) {
+    return defined ? this : orElse.get();
+  }
+
+  /**
+   * Converts to a boxed {@link Option}.
+   *
+   * @return an option of the same value
+   */
+  public Option<Double> toOption() {
+    return defined ? Option.some(value) : Option.none();
+  }
+
+  /**
+   * Converts to an {@link OptionalDouble}.
+   *
+   * @return an optional of the same value
+   */
+  public OptionalDouble toOptional() {
+    return defined ? OptionalDouble.of(value) : OptionalDouble.empty();
+  }
+
+  /**
+   * A stream of the value if defined, otherwise an empty stream.
+   *
+   * @return a stream of zero or one values
+   */
+  public DoubleStream toStream() {
+    return defined ? DoubleStream.of(value) : DoubleStream.empty();
+  }
+
+  @Override public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof OptionDouble)) {
+      return false;
+    }
+    final OptionDouble other = (OptionDouble) obj;
+    return defined ? (other.defined && Double.compare(value, other.value) == 0) : !other.defined;
+  }
+
+  @Override public int hashCode() {
+    return defined ? Double.hashCode(value) : 31;
+  }
+
+  @Override public String toString() {
+    return defined ? "some(" + value + ")" : "none()";
+  }
+
+  private Object readResolve() {
+    return defined ? some(value) : NONE;
+  }
+}
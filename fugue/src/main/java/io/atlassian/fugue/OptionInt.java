@@ -0,0 +1,346 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * An {@link Option} of an {@code int} that does not box the value. An
+ * OptionInt may be either <em>some</em> value or <em>none</em>.
+ * <p>
+ * The operations mirror those of Option, taking the primitive specialisations
+ * of the functional interfaces, {@link IntUnaryOperator} rather than
+ * {@code Function<Integer, Integer>} and so on. Values between -128 and 127 are
+ * cached, so for them {@link #some(int)} does not allocate either.
+ *
+ * @see FugueCollectors#flattenInts()
+ * @see Iterables#collectInts(Iterable, java.util.function.Function)
+ * @since 5.0.0
+ */
+public final class OptionInt implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private static final OptionInt NONE = new OptionInt(false, 0);
+
+  private static final int CACHE_LOW = -128;
+  private static final OptionInt[] CACHE = new OptionInt[256];
+
+  static {
+    for (int i = 0; i < CACHE.length; i++) {
+      CACHE[i] = new OptionInt(true, CACHE_LOW + i);
+    }
+  }
+
+  /**
+   * Creates a defined OptionInt.
+   *
+   * @param value the value
+   * @return an OptionInt of the value
+   */
+  public static OptionInt some(final int value) {
+    final int i = value - CACHE_LOW;
+    return (i >= 0 && i < CACHE.length) ? CACHE[i] : new OptionInt(true, value);
+  }
+
+  /**
+   * The undefined OptionInt.
+   *
+   * @return none
+   */
+  public static OptionInt none() {
+    return NONE;
+  }
+
+  /**
+   * Creates an OptionInt from a possibly null boxed value.
+   *
+   * @param value the value, may be null
+   * @return none if the value is null, otherwise some of the value
+   */
+  public static OptionInt option(final Integer value) {
+    return (value == null) ? NONE : some(value);
+  }
+
+  /**
+   * Converts from an {@link Option}.
+   *
+   * @param option the option, must not be null and must not contain null
+   * @return an OptionInt of the same value
+   */
+  public static OptionInt fromOption(final Option<Integer> option) {
+    return option.isDefined() ? some(option.get()) : NONE;
+  }
+
+  /**
+   * Converts from an {@link OptionalInt}.
+   *
+   * @param optional the optional, must not be null
+   * @return an OptionInt of the same value
+   */
+  public static OptionInt fromOptional(final OptionalInt optional) {
+    return optional.isPresent() ? some(optional.getAsInt()) : NONE;
+  }
+
+  private final boolean defined;
+  private final int value;
+
+  private OptionInt(final boolean defined, final int value) {
+    this.defined = defined;
+    this.value = value;
+  }
+
+  /**
+   * If this is some value.
+   *
+   * @return true if defined
+   */
+  public boolean isDefined() {
+    return defined;
+  }
+
+  /**
+   * If this is none.
+   *
+   * @return true if undefined
+   */
+  public boolean isEmpty() {
+    return !defined;
+  }
+
+  /**
+   * The value, used when absolutely sure this is defined.
+   *
+   * @return the value
+   * @throws NoSuchElementException if this is none
+   */
+  public int get() {
+    if (!defined) {
+      throw new NoSuchElementException();
+    }
+    return value;
+  }
+
+  /**
+   * The value if defined, otherwise {@code other}.
+   *
+   * @param other the value to return if none
+   * @return the value or other
+   */
+  public int getOrElse(final int other) {
+    return defined ? value : other;
+  }
+
+  /**
+   * The value if defined, otherwise the value from the supplier.
+   *
+   * @param supplier called if this is none
+   * @return the value or the supplied value
+   */
+  public int getOr(final IntSupplier supplier) {
+    return defined ? value : supplier.getAsInt();
+  }
+
+  /**
+   * The value if defined, otherwise throws an error with the supplied message.
+   *
+   * @param err the message for the error
+   * @return the value
+   */
+  public int getOrError(final Supplier<String> err) {
+    if (!defined) {
+      throw new AssertionError(err.get());
+    }
+    return value;
+  }
+
+  /**
+   * The value if defined, otherwise throws the supplied throwable.
+   *
+   * @param <X> the exception type
+   * @param ifUndefined the supplier of the throwable
+   * @return the value
+   * @throws X the throwable the supplier creates if this is none
+   */
+  public <X extends Throwable> int getOrThrow(final Supplier<X> ifUndefined) throws X {
+    if (!defined) {
+      throw ifUndefined.get();
+    }
+    return value;
+  }
+
+  /**
+   * Map the value if defined.
+   *
+   * @param f the function to apply to the value
+   * @return some of the result, or none
+   */
+  public OptionInt map(final IntUnaryOperator f) {
+    return defined ? some(f.applyAsInt(value)) : NONE;
+  }
+
+  /**
+   * Map the value to an object if defined.
+   *
+   * @param <B> the result type
+   * @param f the function to apply to the value
+   * @return some of the result, or none
+   */
+  public <B> Option<B> mapToObj(final IntFunction<? extends B> f) {
+    return defined ? Option.some(f.apply(value)) : Option.none();
+  }
+
+  /**
+   * Bind the value if defined.
+   *
+   * @param f the function to apply to the value
+   * @return the result, or none
+   */
+  public OptionInt flatMap(final IntFunction<OptionInt> f) {
+    return defined ? f.apply(value) : NONE;
+  }
+
+  /**
+   * This if defined and the value satisfies the predicate, otherwise none.
+   *
+   * @param p the predicate to test the value with
+   * @return this or none
+   */
+  public OptionInt filter(final IntPredicate p) {
+    return (defined && p.test(value)) ? this : NONE;
+  }
+
+  /**
+   * Apply the function for the case this is in.
+   *
+   * @param <B> the result type
+   * @param none the supplier of the result if this is none
+   * @param some the function to apply to the value if defined
+   * @return the result of the supplier or the function
+   */
+  public <B> B fold(final Supplier<? extends B> none, final IntFunction<? extends B> some) {
+    return defined ? some.apply(value) : none.get();
+  }
+
+  /**
+   * If defined and the value satisfies the predicate.
+   *
+   * @param p the predicate to test the value with
+   * @return true if defined and the predicate holds
+   */
+  public boolean exists(final IntPredicate p) {
+    return defined && p.test(value);
+  }
+
+  /**
+   * If none or the value satisfies the predicate.
+   *
+   * @param p the predicate to test the value with
+   * @return true if none or the predicate holds
+   */
+  public boolean forall(final IntPredicate p) {
+    return !defined || p.test(value);
+  }
+
+  /**
+   * Perform the effect on the value if defined.
+   *
+   * @param effect the effect
+   */
+  public void forEach(final IntConsumer effect) {
+    if (defined) {
+      effect.accept(value);
+    }
+  }
+
+  /**
+   * This if defined, otherwise {@code orElse}.
+   *
+   * @param orElse the option to return if this is none
+   * @return this or orElse
+   */
+  public OptionInt orElse(final OptionInt orElse) {
+    return defined ? this : orElse;
+  }
+
+  /**
+   * This if defined, otherwise the supplied option.
+   *
+   * @param orElse the supplier of the option to return if this is none
+   * @return this or the supplied option
+   */
+  public OptionInt orElse(final Supplier<OptionInt> orElse) {
+    return defined ? this : orElse.get();
+  }
+
+  /**
+   * Converts to a boxed {@link Option}.
+   *
+   * @return an option of the same value
+   */
+  public Option<Integer> toOption() {
+    return defined ? Option.some(value) : Option.none();
+  }
+
+  /**
+   * Converts to an {@link OptionalInt}.
+   *
+   * @return an optional of the same value
+   */
+  public OptionalInt toOptional() {
+    return defined ? OptionalInt.of(value) : OptionalInt.empty();
+  }
+
+  /**
+   * A stream of the value if defined, otherwise an empty stream.
+   *
+   * @return a stream of zero or one values
+   */
+  public IntStream toStream() {
+    return defined ? IntStream.of(value) : IntStream.empty();
+  }
+
+  @Override public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof OptionInt)) {
+      return false;
+    }
+    final OptionInt other = (OptionInt) obj;
+    return defined ? (other.defined && value == other.value) : !other.defined;
+  }
+
+  @Override public int hashCode() {
+    return defined ? Integer.hashCode(value) : 31;
+  }
+
+  @Override public String toString() {
+    return defined ? "some(" + value + ")" : "none()";
+  }
+
+  private Object readResolve() {
+    return defined ? some(value) : NONE;
+  }
+}
@@ -0,0 +1,291 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * An immutable sequence of {@link OptionInt}s stored in columns: which
+ * elements are defined is a bitset and their values are an {@code int[]}, so
+ * the values are never boxed. Only {@link #get(int)} and {@link #iterator()}
+ * create options.
+ *
+ * @see OptionArray
+ * @since 5.0.0
+ */
+public final class OptionIntArray implements Iterable<OptionInt> {
+  /**
+   * Creates an option array of the options.
+   *
+   * @param options the options, must not be null
+   * @return an option array of the same options, in the same order
+   */
+  public static OptionIntArray of(final Iterable<OptionInt> options) {
+    final Builder builder = builder();
+    for (final OptionInt o : options) {
+      builder.add(o);
+    }
+    return builder.build();
+  }
+
+  /**
+   * A builder to add values and nones to without creating options.
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private final long[] defined;
+  private final int[] values;
+  private final int size;
+
+  private OptionIntArray(final long[] defined, final int[] values, final int size) {
+    this.defined = defined;
+    this.values = values;
+    this.size = size;
+  }
+
+  /**
+   * The number of elements.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * The number of defined elements.
+   *
+   * @return the number of elements that are some value
+   */
+  public int definedCount() {
+    return Bits.cardinality(defined);
+  }
+
+  /**
+   * If an element is some value.
+   *
+   * @param i the index of the element
+   * @return true if element i is defined
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public boolean isDefined(final int i) {
+    return Bits.get(defined, Bits.checkIndex(i, size));
+  }
+
+  /**
+   * The value of an element that is defined.
+   *
+   * @param i the index of the element
+   * @return the value of element i
+   * @throws NoSuchElementException if element i is none
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public int value(final int i) {
+    if (!isDefined(i)) {
+      throw new NoSuchElementException();
+    }
+    return values[i];
+  }
+
+  /**
+   * An element as an option.
+   *
+   * @param i the index of the element
+   * @return element i
+   * @throws IndexOutOfBoundsException if i is not a valid index
+   */
+  public OptionInt get(final int i) {
+    return isDefined(i) ? OptionInt.some(values[i]) : OptionInt.none();
+  }
+
+  /**
+   * Map the defined values, the elements that are none stay none.
+   *
+   * @param f the function to apply to the defined values
+   * @return an option array of the mapped values
+   */
+  public OptionIntArray map(final IntUnaryOperator f) {
+    final int[] mapped = new int[size];
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      mapped[i] = f.applyAsInt(values[i]);
+    }
+    // the bitset is immutable once built, so it can be shared
+    return new OptionIntArray(defined, mapped, size);
+  }
+
+  /**
+   * Make the defined values that do not satisfy the predicate none.
+   *
+   * @param p the predicate to test the defined values with
+   * @return an option array of the values that satisfy the predicate
+   */
+  public OptionIntArray filter(final IntPredicate p) {
+    final long[] kept = defined.clone();
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      if (!p.test(values[i])) {
+        Bits.clear(kept, i);
+      }
+    }
+    return new OptionIntArray(kept, values, size);
+  }
+
+  /**
+   * Some of all of the values if every element is defined, otherwise none.
+   *
+   * @return the values, or none
+   */
+  public Option<int[]> sequence() {
+    return (Bits.nextClear(defined, 0, size) < size) ? Option.none() : Option.some(values.clone());
+  }
+
+  /**
+   * The defined values, in order.
+   *
+   * @return the values of the elements that are defined
+   */
+  public int[] flatten() {
+    final int[] result = new int[definedCount()];
+    int j = 0;
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      result[j++] = values[i];
+    }
+    return result;
+  }
+
+  /**
+   * A view of the elements as options, each one created when it is read.
+   *
+   * @return a list view of this array
+   */
+  public List<OptionInt> asList() {
+    return new AbstractList<OptionInt>() {
+      @Override public OptionInt get(final int i) {
+        return OptionIntArray.this.get(i);
+      }
+
+      @Override public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override public Iterator<OptionInt> iterator() {
+    return asList().iterator();
+  }
+
+  @Override public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof OptionIntArray)) {
+      return false;
+    }
+    final OptionIntArray other = (OptionIntArray) obj;
+    if (size != other.size || !Bits.equals(defined, other.defined, size)) {
+      return false;
+    }
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      if (values[i] != other.values[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override public int hashCode() {
+    int hash = Bits.hashCode(defined, size);
+    for (int i = Bits.nextSet(defined, 0); i >= 0; i = Bits.nextSet(defined, i + 1)) {
+      hash = 31 * hash + values[i];
+    }
+    return hash;
+  }
+
+  @Override public String toString() {
+    return Iterables.makeString(this, "OptionIntArray[", ", ", "]", 1000);
+  }
+
+  /**
+   * Builds an {@link OptionIntArray}. Not thread safe.
+   */
+  public static final class Builder {
+    private long[] defined = Bits.create(16);
+    private int[] values = new int[16];
+    private int size;
+
+    private Builder() {}
+
+    /**
+     * Add a defined element.
+     *
+     * @param value the value
+     * @return this builder
+     */
+    public Builder addSome(final int value) {
+      ensureCapacity();
+      Bits.set(defined, size);
+      values[size++] = value;
+      return this;
+    }
+
+    /**
+     * Add an element that is none.
+     *
+     * @return this builder
+     */
+    public Builder addNone() {
+      ensureCapacity();
+      size++;
+      return this;
+    }
+
+    /**
+     * Add an element.
+     *
+     * @param o the option
+     * @return this builder
+     */
+    public Builder add(final OptionInt o) {
+      return o.isDefined() ? addSome(o.get()) : addNone();
+    }
+
+    /**
+     * The option array of the elements added so far. The builder can still be
+     * added to afterwards without affecting it.
+     *
+     * @return an option array
+     */
+    public OptionIntArray build() {
+      return new OptionIntArray(Bits.copyOf(defined, size), Arrays.copyOf(values, size), size);
+    }
+
+    private void ensureCapacity() {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      defined = Bits.ensureCapacity(defined, size + 1);
+    }
+  }
+}
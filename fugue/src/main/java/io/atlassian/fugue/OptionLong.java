@@ -0,0 +1,346 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * An {@link Option} of a {@code long} that does not box the value. An
+ * OptionLong may be either <em>some</em> value or <em>none</em>.
+ * <p>
+ * The operations mirror those of Option, taking the primitive specialisations
+ * of the functional interfaces, {@link LongUnaryOperator} rather than
+ * {@code Function<Long, Long>} and so on. Values between -128 and 127 are
+ * cached, so for them {@link #some(long)} does not allocate either.
+ *
+ * @see FugueCollectors#flattenLongs()
+ * @see Iterables#collectLongs(Iterable, java.util.function.Function)
+ * @since 5.0.0
+ */
+public final class OptionLong implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private static final OptionLong NONE = new OptionLong(false, 0);
+
+  private static final int CACHE_LOW = -128;
+  private static final OptionLong[] CACHE = new OptionLong[256];
+
+  static {
+    for (int i = 0; i < CACHE.length; i++) {
+      CACHE[i] = new OptionLong(true, CACHE_LOW + i);
+    }
+  }
+
+  /**
+   * Creates a defined OptionLong.
+   *
+   * @param value the value
+   * @return an OptionLong of the value
+   */
+  public static OptionLong some(final long value) {
+    final long i = value - CACHE_LOW;
+    return (i >= 0 && i < CACHE.length) ? CACHE[(int) i] : new OptionLong(true, value);
+  }
+
+  /**
+   * The undefined OptionLong.
+   *
+   * @return none
+   */
+  public static OptionLong none() {
+    return NONE;
+  }
+
+  /**
+   * Creates an OptionLong from a possibly null boxed value.
+   *
+   * @param value the value, may be null
+   * @return none if the value is null, otherwise some of the value
+   */
+  public static OptionLong option(final Long value) {
+    return (value == null) ? NONE : some(value);
+  }
+
+  /**
+   * Converts from an {@link Option}.
+   *
+   * @param option the option, must not be null and must not contain null
+   * @return an OptionLong of the same value
+   */
+  public static OptionLong fromOption(final Option<Long> option) {
+    return option.isDefined() ? some(option.get()) : NONE;
+  }
+
+  /**
+   * Converts from an {@link OptionalLong}.
+   *
+   * @param optional the optional, must not be null
+   * @return an OptionLong of the same value
+   */
+  public static OptionLong fromOptional(final OptionalLong optional) {
+    return optional.isPresent() ? some(optional.getAsLong()) : NONE;
+  }
+
+  private final boolean defined;
+  private final long value;
+
+  private OptionLong(final boolean defined, final long value) {
+    this.defined = defined;
+    this.value = value;
+  }
+
+  /**
+   * If this is some value.
+   *
+   * @return true if defined
+   */
+  public boolean isDefined() {
+    return defined;
+  }
+
+  /**
+   * If this is none.
+   *
+   * @return true if undefined
+   */
+  public boolean isEmpty() {
+    return !defined;
+  }
+
+  /**
+   * The value, used when absolutely sure this is defined.
+   *
+   * @return the value
+   * @throws NoSuchElementException if this is none
+   */
+  public long get() {
+    if (!defined) {
+      throw new NoSuchElementException();
+    }
+    return value;
+  }
+
+  /**
+   * The value if defined, otherwise {@code other}.
+   *
+   * @param other the value to return if none
+   * @return the value or other
+   */
+  public long getOrElse(final long other) {
+    return defined ? value : other;
+  }
+
+  /**
+   * The value if defined, otherwise the value from the supplier.
+   *
+   * @param supplier called if this is none
+   * @return the value or the supplied value
+   */
+  public long getOr(final LongSupplier supplier) {
+    return defined ? value : supplier.getAsLong();
+  }
+
+  /**
+   * The value if defined, otherwise throws an error with the supplied message.
+   *
+   * @param err the message for the error
+   * @return the value
+   */
+  public long getOrError(final Supplier<String> err) {
+    if (!defined) {
+      throw new AssertionError(err.get());
+    }
+    return value;
+  }
+
+  /**
+   * The value if defined, otherwise throws the supplied throwable.
+   *
+   * @param <X> the exception type
+   * @param ifUndefined the supplier of the throwable
+   * @return the value
+   * @throws X the throwable the supplier creates if this is none
+   */
+  public <X extends Throwable> long getOrThrow(final Supplier<X> ifUndefined) throws X {
+    if (!defined) {
+      throw ifUndefined.get();
+    }
+    return value;
+  }
+
+  /**
+   * Map the value if defined.
+   *
+   * @param f the function to apply to the value
+   * @return some of the result, or none
+   */
+  public OptionLong map(final LongUnaryOperator f) {
+    return defined ? some(f.applyAsLong(value)) : NONE;
+  }
+
+  /**
+   * Map the value to an object if defined.
+   *
+   * @param <B> the result type
+   * @param f the function to apply to the value
+   * @return some of the result, or none
+   */
+  public <B> Option<B> mapToObj(final LongFunction<? extends B> f) {
+    return defined ? Option.some(f.apply(value)) : Option.none();
+  }
+
+  /**
+   * Bind the value if defined.
+   *
+   * @param f the function to apply to the value
+   * @return the result, or none
+   */
+  public OptionLong flatMap(final LongFunction<OptionLong> f) {
+    return defined ? f.apply(value) : NONE;
+  }
+
+  /**
+   * This if defined and the value satisfies the predicate, otherwise none.
+   *
+   * @param p the predicate to test the value with
+   * @return this or none
+   */
+  public OptionLong filter(final LongPredicate p) {
+    return (defined && p.test(value)) ? this : NONE;
+  }
+
+  /**
+   * Apply the function for the case this is in.
+   *
+   * @param <B> the result type
+   * @param none the supplier of the result if this is none
+   * @param some the function to apply to the value if defined
+   * @return the result of the supplier or the function
+   */
+  public <B> B fold(final Supplier<? extends B> none, final LongFunction<? extends B> some) {
+    return defined ? some.apply(value) : none.get();
+  }
+
+  /**
+   * If defined and the value satisfies the predicate.
+   *
+   * @param p the predicate to test the value with
+   * @return true if defined and the predicate holds
+   */
+  public boolean exists(final LongPredicate p) {
+    return defined && p.test(value);
+  }
+
+  /**
+   * If none or the value satisfies the predicate.
+   *
+   * @param p the predicate to test the value with
+   * @return true if none or the predicate holds
+   */
+  public boolean forall(final LongPredicate p) {
+    return !defined || p.test(value);
+  }
+
+  /**
+   * Perform the effect on the value if defined.
+   *
+   * @param effect the effect
+   */
+  public void forEach(final LongConsumer effect) {
+    if (defined) {
+      effect.accept(value);
+    }
+  }
+
+  /**
+   * This if defined, otherwise {@code orElse}.
+   *
+   * @param orElse the option to return if this is none
+   * @return this or orElse
+   */
+  public OptionLong orElse(final OptionLong orElse) {
+    return defined ? this : orElse;
+  }
+
+  /**
+   * This if defined, otherwise the supplied option.
+   *
+   * @param orElse the supplier of the option to return if this is none
+   * @return this or the supplied option
+   */
+  public OptionLong orElse(final Supplier<OptionLong> orElse) {
+    return defined ? this : orElse.get();
+  }
+
+  /**
+   * Converts to a boxed {@link Option}.
+   *
+   * @return an option of the same value
+   */
+  public Option<Long> toOption() {
+    return defined ? Option.some(value) : Option.none();
+  }
+
+  /**
+   * Converts to an {@link OptionalLong}.
+   *
+   * @return an optional of the same value
+   */
+  public OptionalLong toOptional() {
+    return defined ? OptionalLong.of(value) : OptionalLong.empty();
+  }
+
+  /**
+   * A stream of the value if defined, otherwise an empty stream.
+   *
+   * @return a stream of zero or one values
+   */
+  public LongStream toStream() {
+    return defined ? LongStream.of(value) : LongStream.empty();
+  }
+
+  @Override public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof OptionLong)) {
+      return false;
+    }
+    final OptionLong other = (OptionLong) obj;
+    return defined ? (other.defined && value == other.value) : !other.defined;
+  }
+
+  @Override public int hashCode() {
+    return defined ? Long.hashCode(value) : 31;
+  }
+
+  @Override public String toString() {
+    return defined ? "some(" + value + ")" : "none()";
+  }
+
+  private Object readResolve() {
+    return defined ? some(value) : NONE;
+  }
+}
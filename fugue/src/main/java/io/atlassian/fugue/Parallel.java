@@ -0,0 +1,90 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Fail fast evaluation of independent computations on an executor, used by
+ * the parallel sequence functions.
+ */
+final class Parallel {
+  // /CLOVER:OFF
+
+  private Parallel() {}
+
+  // /CLOVER:ON
+
+  /**
+   * Runs every task on the executor and waits for them. As soon as one
+   * completes with a value that has failed the rest are cancelled, interrupting
+   * the ones already running, and that value is returned on the left.
+   * Otherwise all of the values are returned on the right, in the order of the
+   * tasks. Tasks are also cancelled if the calling thread is interrupted or a
+   * task throws.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   * @throws ExecutionException if a task threw
+   */
+  static <T> Either<T, List<T>> sequence(final Iterable<? extends Supplier<? extends T>> tasks, final Executor executor, final Predicate<? super T> failed)
+    throws InterruptedException, ExecutionException {
+    final CompletionService<T> completion = new ExecutorCompletionService<>(requireNonNull(executor, "executor"));
+    final List<Future<T>> futures = new ArrayList<>();
+    try {
+      for (final Supplier<? extends T> task : tasks) {
+        requireNonNull(task, "task");
+        futures.add(completion.submit(task::get));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        final T t = completion.take().get();
+        if (failed.test(t)) {
+          return Either.left(t);
+        }
+      }
+      final List<T> results = new ArrayList<>(futures.size());
+      for (final Future<T> f : futures) {
+        results.add(f.get());
+      }
+      return Either.right(results);
+    } finally {
+      // a no-op for the ones that are done
+      for (final Future<T> f : futures) {
+        f.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * The cause of a task's exception, as an unchecked exception.
+   */
+  static RuntimeException unchecked(final ExecutionException e) {
+    final Throwable cause = e.getCause();
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return (cause instanceof RuntimeException) ? (RuntimeException) cause : new IllegalStateException(cause);
+  }
+}
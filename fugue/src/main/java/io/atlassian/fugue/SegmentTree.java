@@ -0,0 +1,234 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A mutable sequence that keeps the {@link Monoid} sums of its ranges, so the
+ * sum of any range is found in {@code O(log n)} appends rather than by summing
+ * the range, and replacing or adding an element takes {@code O(log n)} appends
+ * to keep the sums up to date. For example a {@code SegmentTree} of
+ * {@link Monoids#intAddition} answers range totals, one of
+ * {@code Monoids.option(Semigroups.intMaximum)} range maxima, and one of
+ * {@link Monoids#firstOption()} the first defined value of a range.
+ * <p>
+ * The elements are the leaves of a complete binary tree, each internal node
+ * holding the sum of the leaves below it, and the leaves past the size are
+ * the monoid's zero. The monoid need not be commutative, sums are always
+ * appended in the order of the elements. Not thread safe.
+ *
+ * @param <A> the element type
+ * @since 5.0.0
+ */
+public final class SegmentTree<A> {
+  /**
+   * Creates a tree of the elements, in {@code O(n)} appends.
+   *
+   * @param monoid the monoid to sum ranges with, must not be null
+   * @param as the elements
+   * @param <A> the element type
+   * @return a tree of the elements, in the same order
+   */
+  public static <A> SegmentTree<A> of(final Monoid<A> monoid, final Iterable<A> as) {
+    final SegmentTree<A> tree = new SegmentTree<>(monoid, 1);
+    int size = 0;
+    for (final A a : as) {
+      if (size == tree.capacity) {
+        tree.grow();
+      }
+      tree.nodes[tree.capacity + size] = a;
+      size++;
+    }
+    tree.size = size;
+    tree.rebuild();
+    return tree;
+  }
+
+  /**
+   * Creates an empty tree.
+   *
+   * @param monoid the monoid to sum ranges with, must not be null
+   * @param <A> the element type
+   * @return an empty tree
+   */
+  public static <A> SegmentTree<A> empty(final Monoid<A> monoid) {
+    return new SegmentTree<>(monoid, 1);
+  }
+
+  private final Monoid<A> monoid;
+  // nodes[1] is the root, the children of node i are 2i and 2i + 1, and
+  // element i is the leaf capacity + i
+  private Object[] nodes;
+  private int capacity;
+  private int size;
+
+  private SegmentTree(final Monoid<A> monoid, final int capacity) {
+    this.monoid = requireNonNull(monoid, "monoid");
+    this.capacity = capacity;
+    this.nodes = new Object[2 * capacity];
+    Arrays.fill(nodes, monoid.zero());
+  }
+
+  /**
+   * The number of elements.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * The element at an index.
+   *
+   * @param i the index
+   * @return the element
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public A get(final int i) {
+    return node(capacity + Bits.checkIndex(i, size));
+  }
+
+  /**
+   * Replaces the element at an index, in {@code O(log n)} appends.
+   *
+   * @param i the index
+   * @param a the new element
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public void update(final int i, final A a) {
+    set(Bits.checkIndex(i, size), a);
+  }
+
+  /**
+   * Adds an element to the end, in amortized {@code O(log n)} appends.
+   *
+   * @param a the element
+   */
+  public void add(final A a) {
+    if (size == capacity) {
+      grow();
+      rebuild();
+    }
+    set(size++, a);
+  }
+
+  /**
+   * The sum of the elements from an index up to another, in
+   * {@code O(log n)} appends.
+   *
+   * @param from the index of the first element, inclusive
+   * @param to the index after the last element, exclusive
+   * @return the sum of the elements in the range, the zero if it is empty
+   * @throws IndexOutOfBoundsException if the range is out of bounds
+   */
+  public A query(final int from, final int to) {
+    if (from < 0 || to > size || from > to) {
+      throw new IndexOutOfBoundsException("Range: [" + from + ", " + to + "), Size: " + size);
+    }
+    A left = monoid.zero();
+    A right = monoid.zero();
+    // climb from both ends, taking the nodes that are wholly inside the range
+    for (int l = capacity + from, r = capacity + to; l < r; l >>>= 1, r >>>= 1) {
+      if ((l & 1) == 1) {
+        left = monoid.append(left, node(l++));
+      }
+      if ((r & 1) == 1) {
+        right = monoid.append(node(--r), right);
+      }
+    }
+    return monoid.append(left, right);
+  }
+
+  /**
+   * The sum of all of the elements, without appending.
+   *
+   * @return the sum
+   */
+  public A sum() {
+    return node(1);
+  }
+
+  /**
+   * Splits the sequence where the sums of its prefixes first satisfy a
+   * predicate, in {@code O(log n)} appends. The predicate must be monotonic,
+   * false for the sums of shorter prefixes and true for longer ones, such as
+   * a sum exceeding a threshold. The sequence splits into
+   * {@code query(0, i)} which does not satisfy it, and {@code query(i, size())}
+   * whose first element makes it.
+   *
+   * @param p the predicate to test the sums of prefixes with
+   * @return the index of the element that makes the prefix sum satisfy the
+   * predicate, or the size if the sum of all of them does not
+   */
+  public int split(final Predicate<? super A> p) {
+    if (size == 0 || !p.test(node(1))) {
+      return size;
+    }
+    A prefix = monoid.zero();
+    int node = 1;
+    // descend into the left child if the prefix ends there, otherwise the right
+    while (node < capacity) {
+      final A withLeft = monoid.append(prefix, node(2 * node));
+      if (p.test(withLeft)) {
+        node = 2 * node;
+      } else {
+        prefix = withLeft;
+        node = 2 * node + 1;
+      }
+    }
+    return node - capacity;
+  }
+
+  @Override public String toString() {
+    final StringBuilder sb = new StringBuilder("SegmentTree(");
+    for (int i = 0; i < size; i++) {
+      sb.append((i == 0) ? "" : ", ").append(node(capacity + i));
+    }
+    return sb.append(")").toString();
+  }
+
+  private void set(final int i, final A a) {
+    int node = capacity + i;
+    nodes[node] = a;
+    for (node >>>= 1; node >= 1; node >>>= 1) {
+      nodes[node] = monoid.append(node(2 * node), node(2 * node + 1));
+    }
+  }
+
+  // doubles the capacity, moving the leaves, the internal nodes must be rebuilt
+  private void grow() {
+    final Object[] grown = new Object[4 * capacity];
+    Arrays.fill(grown, monoid.zero());
+    System.arraycopy(nodes, capacity, grown, 2 * capacity, capacity);
+    nodes = grown;
+    capacity *= 2;
+  }
+
+  private void rebuild() {
+    for (int node = capacity - 1; node >= 1; node--) {
+      nodes[node] = monoid.append(node(2 * node), node(2 * node + 1));
+    }
+  }
+
+  @SuppressWarnings("unchecked") private A node(final int i) {
+    return (A) nodes[i];
+  }
+}
@@ -62,6 +62,30 @@ public interface Semigroup<A> {
 
   }
 
+  /**
+   * Reduce a 'non-empty' Iterable with {@link #append(Object, Object)} in a
+   * balanced tree: neighbouring elements are appended pairwise, then
+   * neighbouring pairs, and so on, keeping the order of the elements. The
+   * result is the same as {@link #sumNonEmpty(Object, Iterable)} but large
+   * operands only meet near the end, so when appending costs more as the
+   * operands grow (multiplying big integers, concatenating immutable
+   * sequences) this is much faster than a left fold. Only a small stack of
+   * partial sums is kept, about log n of them.
+   *
+   * @param head the head of the 'non-empty' Iterable
+   * @param tail the tail (maybe an empty Iterable).
+   * @return the sum of all elements.
+   * @since 5.0.0
+   */
+  default A sumBalanced(final A head, final Iterable<A> tail) {
+    final BalancedSum<A> sum = new BalancedSum<>(this, null);
+    sum.add(head);
+    for (final A a : tail) {
+      sum.add(a);
+    }
+    return sum.result();
+  }
+
   /**
    * Returns a value summed <code>n + 1</code> times (
    * <code>a + a + ... + a</code>) The default definition uses peasant
@@ -35,42 +35,42 @@ public final class Semigroups {
   /**
    * A semigroup that yields the maximum of integers.
    */
-  public static final Semigroup<Integer> intMaximum = Math::max;
+  public static final Semigroup<Integer> intMaximum = (Idempotent<Integer>) Math::max;
 
   /**
    * A semigroup that yields the minimum of integers.
    */
-  public static final Semigroup<Integer> intMinimum = Math::min;
+  public static final Semigroup<Integer> intMinimum = (Idempotent<Integer>) Math::min;
 
   /**
    * A semigroup that yields the maximum of big integers.
    */
-  public static final Semigroup<BigInteger> bigintMaximum = BigInteger::max;
+  public static final Semigroup<BigInteger> bigintMaximum = (Idempotent<BigInteger>) BigInteger::max;
 
   /**
    * A semigroup that yields the minimum of big integers.
    */
-  public static final Semigroup<BigInteger> bigintMinimum = BigInteger::min;
+  public static final Semigroup<BigInteger> bigintMinimum = (Idempotent<BigInteger>) BigInteger::min;
 
   /**
    * A semigroup that yields the maximum of big decimals.
    */
-  public static final Semigroup<BigDecimal> bigDecimalMaximum = BigDecimal::max;
+  public static final Semigroup<BigDecimal> bigDecimalMaximum = (Idempotent<BigDecimal>) BigDecimal::max;
 
   /**
    * A semigroup that yields the minimum of big decimals.
    */
-  public static final Semigroup<BigDecimal> bigDecimalMinimum = BigDecimal::min;
+  public static final Semigroup<BigDecimal> bigDecimalMinimum = (Idempotent<BigDecimal>) BigDecimal::min;
 
   /**
    * A semigroup that yields the maximum of longs.
    */
-  public static final Semigroup<Long> longMaximum = Math::max;
+  public static final Semigroup<Long> longMaximum = (Idempotent<Long>) Math::max;
 
   /**
    * A semigroup that yields the minimum of longs.
    */
-  public static final Semigroup<Long> longMinimum = Math::min;
+  public static final Semigroup<Long> longMinimum = (Idempotent<Long>) Math::min;
 
   private Semigroups() {}
 
@@ -82,7 +82,7 @@ public final class Semigroups {
    * input
    */
   public static <A> Semigroup<A> first() {
-    return (x, y) -> x;
+    return (Idempotent<A>) (x, y) -> x;
   }
 
   /**
@@ -92,7 +92,7 @@ public final class Semigroups {
    * @return a {@link io.atlassian.fugue.Semigroup} that ignores the first input
    */
   public static <A> Semigroup<A> last() {
-    return (x, y) -> y;
+    return (Idempotent<A>) (x, y) -> y;
   }
 
   /**
@@ -104,7 +104,16 @@ public final class Semigroups {
    * @param <B> composable output type
    */
   public static <A, B> Semigroup<Function<A, B>> function(final Semigroup<B> sb) {
-    return (a1, a2) -> a -> sb.append(a1.apply(a), a2.apply(a));
+    return new Semigroup<Function<A, B>>() {
+      @Override public Function<A, B> append(final Function<A, B> a1, final Function<A, B> a2) {
+        return a -> sb.append(a1.apply(a), a2.apply(a));
+      }
+
+      // applies the function once, rather than once per repetition
+      @Override public Function<A, B> multiply1p(final int n, final Function<A, B> f) {
+        return a -> sb.multiply1p(n, f.apply(a));
+      }
+    };
   }
 
   /**
@@ -115,7 +124,7 @@ public final class Semigroups {
    * @param <A> result type
    */
   public static <A> Semigroup<A> max(final Comparator<A> comparator) {
-    return (a1, a2) -> comparator.compare(a1, a2) < 0 ? a2 : a1;
+    return (Idempotent<A>) (a1, a2) -> comparator.compare(a1, a2) < 0 ? a2 : a1;
   }
 
   /**
@@ -126,7 +135,7 @@ public final class Semigroups {
    * @param <A> result type
    */
   public static <A> Semigroup<A> min(final Comparator<A> comparator) {
-    return (a1, a2) -> comparator.compare(a1, a2) > 0 ? a2 : a1;
+    return (Idempotent<A>) (a1, a2) -> comparator.compare(a1, a2) > 0 ? a2 : a1;
   }
 
   /**
@@ -136,7 +145,7 @@ public final class Semigroups {
    * @param <A> result type
    */
   public static <A extends Comparable<A>> Semigroup<A> max() {
-    return (a1, a2) -> a1.compareTo(a2) < 0 ? a2 : a1;
+    return (Idempotent<A>) (a1, a2) -> a1.compareTo(a2) < 0 ? a2 : a1;
   }
 
   /**
@@ -146,7 +155,7 @@ public final class Semigroups {
    * @param <A> result type
    */
   public static <A extends Comparable<A>> Semigroup<A> min() {
-    return (a1, a2) -> a1.compareTo(a2) > 0 ? a2 : a1;
+    return (Idempotent<A>) (a1, a2) -> a1.compareTo(a2) > 0 ? a2 : a1;
   }
 
   /**
@@ -166,8 +175,26 @@ public final class Semigroups {
    * @return A semigroup that Sums up values inside either.
    */
   public static <L, R> Semigroup<Either<L, R>> either(final Semigroup<L> lS, final Semigroup<R> rS) {
-    return (e1, e2) -> e1.<Either<L, R>> fold(l1 -> e2.<Either<L, R>> fold(l2 -> left(lS.append(l1, l2)), r2 -> e1),
-      r1 -> e2.<Either<L, R>> fold(l2 -> e2, r2 -> right(rS.append(r1, r2))));
+    return new Semigroup<Either<L, R>>() {
+      @Override public Either<L, R> append(final Either<L, R> e1, final Either<L, R> e2) {
+        return e1.<Either<L, R>> fold(l1 -> e2.<Either<L, R>> fold(l2 -> left(lS.append(l1, l2)), r2 -> e1),
+          r1 -> e2.<Either<L, R>> fold(l2 -> e2, r2 -> right(rS.append(r1, r2))));
+      }
+
+      @Override public Either<L, R> multiply1p(final int n, final Either<L, R> e) {
+        return e.fold(l -> left(lS.multiply1p(n, l)), r -> right(rS.multiply1p(n, r)));
+      }
+    };
+  }
+
+  /**
+   * A semigroup whose append is idempotent, append(a, a) == a, so a value
+   * appended to itself any number of times is itself.
+   */
+  private interface Idempotent<A> extends Semigroup<A> {
+    @Override default A multiply1p(final int n, final A a) {
+      return a;
+    }
   }
 
 }
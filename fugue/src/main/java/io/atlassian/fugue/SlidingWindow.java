@@ -0,0 +1,125 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The sums of a sliding window over an iterable, one for each element, of the
+ * window ending at that element. The window is a queue of two stacks: new
+ * elements are pushed onto the back and summed into a running total, and the
+ * oldest are popped from the front, which holds the sums of its suffixes.
+ * When the front is empty the back is moved onto it, summing each element once,
+ * so an element costs a constant number of appends however large the window,
+ * and the monoid needs no inverse.
+ *
+ * @see Monoids#slidingWindow(Monoid, int)
+ */
+final class SlidingWindow<A> extends Iterables.IterableToString<A> {
+  private final Iterable<A> as;
+  private final Monoid<A> monoid;
+  private final int size;
+  private final long nanos;
+  // null for windows of a count of elements
+  private final LongSupplier ticker;
+
+  SlidingWindow(final Iterable<A> as, final Monoid<A> monoid, final int size, final long nanos, final LongSupplier ticker) {
+    this.as = requireNonNull(as, "iterable");
+    this.monoid = monoid;
+    this.size = size;
+    this.nanos = nanos;
+    this.ticker = ticker;
+  }
+
+  @Override public Iterator<A> iterator() {
+    return new Iter();
+  }
+
+  final class Iter extends Iterators.Abstract<A> {
+    private final Iterator<A> it = as.iterator();
+    private Object[] back = new Object[8];
+    private long[] backTimes = new long[8];
+    private int backSize;
+    private A backSum = monoid.zero();
+    // the oldest element is at the top, frontSums[i] is the sum of it and the
+    // elements below it up to the back
+    private Object[] frontSums = new Object[8];
+    private long[] frontTimes = new long[8];
+    private int frontSize;
+
+    @Override protected A computeNext() {
+      if (!it.hasNext()) {
+        return endOfData();
+      }
+      final A a = it.next();
+      final long now = (ticker == null) ? 0L : ticker.getAsLong();
+      push(a, now);
+      while (backSize + frontSize > size || (ticker != null && now - oldestTime() >= nanos)) {
+        pop();
+      }
+      return (frontSize == 0) ? backSum : monoid.append(frontSum(), backSum);
+    }
+
+    private void push(final A a, final long time) {
+      if (backSize == back.length) {
+        back = Arrays.copyOf(back, 2 * backSize);
+        backTimes = Arrays.copyOf(backTimes, 2 * backSize);
+      }
+      back[backSize] = a;
+      backTimes[backSize] = time;
+      backSize++;
+      backSum = monoid.append(backSum, a);
+    }
+
+    private void pop() {
+      if (frontSize == 0) {
+        flip();
+      }
+      frontSize--;
+      frontSums[frontSize] = null;
+    }
+
+    // moves the back onto the front, newest first so the oldest is on top
+    private void flip() {
+      if (backSize > frontSums.length) {
+        frontSums = new Object[backSize];
+        frontTimes = new long[backSize];
+      }
+      for (int i = backSize - 1; i >= 0; i--) {
+        @SuppressWarnings("unchecked")
+        final A a = (A) back[i];
+        frontSums[frontSize] = (frontSize == 0) ? a : monoid.append(a, frontSum());
+        frontTimes[frontSize] = backTimes[i];
+        frontSize++;
+        back[i] = null;
+      }
+      backSize = 0;
+      backSum = monoid.zero();
+    }
+
+    private long oldestTime() {
+      return (frontSize == 0) ? backTimes[0] : frontTimes[frontSize - 1];
+    }
+
+    @SuppressWarnings("unchecked") private A frontSum() {
+      return (A) frontSums[frontSize - 1];
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+/**
+ * A lightweight exception for expected failures, such as invalid input, that
+ * are reported as a {@link Try} failure rather than handled by a catch block.
+ * <p>
+ * Constructing one does not capture a stack trace, which for an ordinary
+ * exception is most of the cost of failing. Nor does it record suppressed
+ * exceptions, so an instance is immutable and a constant can be preallocated
+ * and shared by every failure of the same kind, with
+ * {@link Checked#liftPartial(Checked.Function, java.util.function.Supplier)}
+ * for example.
+ * <p>
+ * As there is no stack trace, the message should say what failed.
+ *
+ * @since 5.0.0
+ */
+public class StacklessException extends Exception {
+  private static final long serialVersionUID = -1540211374307361556L;
+
+  /**
+   * Creates an exception with a message.
+   *
+   * @param message the detail message
+   */
+  public StacklessException(final String message) {
+    this(message, null);
+  }
+
+  /**
+   * Creates an exception with a message and a cause.
+   *
+   * @param message the detail message
+   * @param cause the cause, may be null
+   */
+  public StacklessException(final String message, final Throwable cause) {
+    super(message, cause, false, false);
+  }
+}
@@ -136,10 +136,11 @@ public class Suppliers {
    *
    * @param <A> the type
    * @param supplier the supplier to memoize
-   * @return the memoizing supplier
+   * @return the memoizing supplier, a {@link Lazy}
+   * @see Lazy
    */
   public static <A> Supplier<A> memoize(final Supplier<A> supplier) {
-    return supplier instanceof MemoizingSupplier ? supplier : new MemoizingSupplier<>(Objects.requireNonNull(supplier));
+    return supplier instanceof Lazy ? supplier : Lazy.lazy(supplier);
   }
 
   /**
@@ -152,36 +153,10 @@ public class Suppliers {
    * @return the weakly memoizing supplier
    */
   public static <A> Supplier<A> weakMemoize(final Supplier<A> supplier) {
-    return supplier instanceof WeakMemoizingSupplier || supplier instanceof MemoizingSupplier ? supplier : new WeakMemoizingSupplier<>(
+    return supplier instanceof WeakMemoizingSupplier || supplier instanceof Lazy ? supplier : new WeakMemoizingSupplier<>(
       Objects.requireNonNull(supplier));
   }
 
-  private static final class MemoizingSupplier<A> implements Supplier<A> {
-
-    private volatile Supplier<A> delegate;
-
-    private A a;
-
-    MemoizingSupplier(final Supplier<A> delegate) {
-      this.delegate = delegate;
-    }
-
-    @Override public A get() {
-      // double Checked Locking
-      if (delegate != null) {
-        synchronized (this) {
-          if (delegate != null) {
-            final A res;
-            this.a = res = delegate.get();
-            delegate = null;
-            return res;
-          }
-        }
-      }
-      return a;
-    }
-  }
-
   private static final class WeakMemoizingSupplier<A> implements Supplier<A> {
 
     private final Supplier<A> delegate;
@@ -5,11 +5,15 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -22,9 +26,7 @@ import static io.atlassian.fugue.Either.left;
 import static io.atlassian.fugue.Either.right;
 import static io.atlassian.fugue.Option.none;
 import static io.atlassian.fugue.Option.some;
-import static io.atlassian.fugue.Suppliers.memoize;
 import static io.atlassian.fugue.Suppliers.ofInstance;
-import static io.atlassian.fugue.Unit.Unit;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Function.identity;
 
@@ -53,7 +55,8 @@ import static java.util.function.Function.identity;
   private static final long serialVersionUID = -999421999482330308L;
 
   /**
-   * Creates a new failure
+   * Creates a new failure. For failures that are expected and frequent, a
+   * {@link StacklessException} avoids the cost of capturing a stack trace.
    *
    * @param e an exception to wrap, must not be null.
    * @param <A> the success type
@@ -84,7 +87,24 @@ import static java.util.function.Function.identity;
    * @return a new Delayed Try wrapping the supplier.
    */
   public static <A> Try<A> delayed(final Supplier<Try<A>> supplier) {
-    return Delayed.fromSupplier(supplier);
+    return Delayed.fromSupplier(supplier, true);
+  }
+
+  /**
+   * Creates a delayed Try that is evaluated again every time its result is
+   * asked for. Unlike {@link #delayed(Supplier)} neither the supplier nor the
+   * steps of any Try composed from the returned one (with map, flatMap,
+   * recover, etc.) have their results kept, so they run on every evaluation.
+   * Use this when the supplier reads state that is expected to change between
+   * evaluations.
+   *
+   * @param supplier a supplier that returns a Try of A.
+   * @param <A> the wrapped value type
+   * @return a new Delayed Try wrapping the supplier.
+   * @since 5.0.0
+   */
+  public static <A> Try<A> delayedReevaluating(final Supplier<Try<A>> supplier) {
+    return Delayed.fromSupplier(supplier, false);
   }
 
   /**
@@ -128,6 +148,118 @@ import static java.util.function.Function.identity;
     return Try.successful(collector.finisher().apply(accumulator));
   }
 
+  /**
+   * Apply a function to the elements of a stream and return a success wrapping
+   * all of the values if every result is a success, otherwise the first
+   * failure. Unlike collecting with {@link FugueCollectors#toTrySuccess()}, no
+   * more elements are pulled from the stream once a failure is found, so a long
+   * or infinite stream that fails early is not consumed. The elements are
+   * visited one at a time in encounter order, even if the stream is parallel,
+   * and a delayed result is evaluated before the next element is pulled.
+   *
+   * @param stream the stream to traverse
+   * @param f the function to apply to each element
+   * @param <A> The stream element type
+   * @param <B> The success type
+   * @return a success wrapping all of the values, or the first failure
+   * @since 5.0.0
+   */
+  public static <A, B> Try<List<B>> traverseStream(final Stream<A> stream, final Function<? super A, Try<B>> f) {
+    return traverseStream(stream, f, Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Apply a function to the elements of a stream and return a success wrapping
+   * all of the values if every result is a success, otherwise the first
+   * failure. Unlike collecting with
+   * {@link FugueCollectors#toTrySuccess(Collector)}, no more elements are
+   * pulled from the stream once a failure is found, so a long or infinite
+   * stream that fails early is not consumed. The elements are visited one at a
+   * time in encounter order, even if the stream is parallel, and a delayed
+   * result is evaluated before the next element is pulled.
+   *
+   * @param stream the stream to traverse
+   * @param f the function to apply to each element
+   * @param collector result collector
+   * @param <A> The stream element type
+   * @param <T> The success type
+   * @param <B> The intermediate accumulator type
+   * @param <R> The result type
+   * @return a success wrapping the collected values, or the first failure
+   * @since 5.0.0
+   */
+  public static <A, T, B, R> Try<R> traverseStream(final Stream<A> stream, final Function<? super A, Try<T>> f, final Collector<T, B, R> collector) {
+    final B accumulator = collector.supplier().get();
+    for (final Iterator<A> it = stream.iterator(); it.hasNext();) {
+      // a single fold, so a delayed Try is evaluated once
+      final Exception failure = f.apply(it.next()).fold(identity(), t -> {
+        collector.accumulator().accept(accumulator, t);
+        return null;
+      });
+      if (failure != null) {
+        return Try.failure(failure);
+      }
+    }
+    return Try.successful(collector.finisher().apply(accumulator));
+  }
+
+  /**
+   * Evaluates all of the arguments concurrently on an executor and returns a
+   * success wrapping all of the values if all of them were a success,
+   * otherwise the first failure to complete. Evaluations still in flight when
+   * a failure completes are cancelled, interrupting the threads running them.
+   * <p>
+   * This is only useful for {@link Try#delayed(Supplier) delayed} arguments,
+   * the calling thread blocks until the result is known.
+   *
+   * @param trys an iterable of try values
+   * @param executor the executor to evaluate the arguments on
+   * @param <A> The success type
+   * @return a success wrapping all of the values if all of the arguments were a
+   * success, otherwise the first failure to complete, or a failure of an
+   * {@link InterruptedException} if the calling thread was interrupted
+   * @since 5.0.0
+   */
+  public static <A> Try<Iterable<A>> parallelSequence(final Iterable<Try<A>> trys, final Executor executor) {
+    return parallelSequence(trys, executor, Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Evaluates all of the arguments concurrently on an executor and returns a
+   * success wrapping all of the values if all of them were a success,
+   * otherwise the first failure to complete. Evaluations still in flight when
+   * a failure completes are cancelled, interrupting the threads running them.
+   * <p>
+   * This is only useful for {@link Try#delayed(Supplier) delayed} arguments,
+   * the calling thread blocks until the result is known.
+   *
+   * @param trys an iterable of try values
+   * @param executor the executor to evaluate the arguments on
+   * @param collector result collector, values are collected in the order of
+   * the arguments
+   * @param <T> The success type
+   * @param <A> The intermediate accumulator type
+   * @param <R> The result type
+   * @return a success wrapping all of the values if all of the arguments were a
+   * success, otherwise the first failure to complete, or a failure of an
+   * {@link InterruptedException} if the calling thread was interrupted
+   * @since 5.0.0
+   */
+  public static <T, A, R> Try<R> parallelSequence(final Iterable<Try<T>> trys, final Executor executor, final Collector<T, A, R> collector) {
+    // evaluate to a strict copy, so a reevaluating delayed Try is run only once
+    final Iterable<Supplier<Try<T>>> tasks = Iterables.map(trys, t -> () -> t.fold(Try::failure, Try::successful));
+    try {
+      return Parallel.sequence(tasks, executor, Try::isFailure).fold(failure -> Try.failure(failure.fold(identity(), x -> {
+        throw new NoSuchElementException();
+      })), results -> sequence(results, collector));
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Try.failure(e);
+    } catch (final ExecutionException e) {
+      return Try.failure(Parallel.unchecked(e));
+    }
+  }
+
   /**
    * Reduces a nested Try by a single level
    *
@@ -599,44 +731,185 @@ import static java.util.function.Function.identity;
     }
   }
 
+  /**
+   * A delayed Try is a chain of steps, each one transforming the result of its
+   * parent, rooted at a supplier. Composing only links a new step to the chain,
+   * and evaluation runs the steps in a loop rather than by nesting calls, so the
+   * stack depth stays constant however long the chain is.
+   * <p>
+   * Unless created with {@link Try#delayedReevaluating(Supplier)}, every link
+   * of the chain keeps its result in a {@link Lazy} once evaluated, so it is
+   * not run again however many times it is asked for, and evaluating a Try
+   * composed from it only runs the steps added since.
+   */
   private static final class Delayed<A> extends Try<A> implements Externalizable {
     private static final long serialVersionUID = 2439842151512848666L;
 
-    private final AtomicReference<Function<Unit, Try<A>>> runReference;
+    // the chain, released once a memoized result is evaluated, so a long
+    // pipeline does not keep every intermediate result reachable
+    private volatile Delayed<?> parent;
+    private volatile Function<Try<Object>, Try<Object>> step;
+    // the start of the chain, null unless this is the root
+    private volatile Supplier<Try<A>> source;
+    // the evaluated result, null if the chain is reevaluated every time
+    private final Lazy<Try<A>> result;
 
-    static <A> Delayed<A> fromSupplier(final Supplier<Try<A>> delayed) {
-      Supplier<Try<A>> memorized = memoize(delayed);
-      return new Delayed<>(unit -> memorized.get());
+    static <A> Delayed<A> fromSupplier(final Supplier<Try<A>> delayed, final boolean memoized) {
+      return new Delayed<>(requireNonNull(delayed, "supplier"), memoized);
     }
 
     public Delayed() {
-      this(unit -> {
+      this(() -> {
         throw new IllegalStateException("Try.Delayed() default constructor only required for Serialization. Do not invoke directly.");
-      });
+      }, true);
+    }
+
+    private Delayed(final Supplier<Try<A>> source, final boolean memoized) {
+      this.parent = null;
+      this.step = null;
+      this.source = source;
+      this.result = memoized ? Lazy.lazy(this::evalOnce) : null;
+    }
+
+    private Delayed(final Delayed<?> parent, final Function<Try<Object>, Try<Object>> step) {
+      this.parent = parent;
+      this.step = step;
+      this.source = null;
+      this.result = (parent.result != null) ? Lazy.lazy(this::evalOnce) : null;
+    }
+
+    private boolean isEvaluated() {
+      return result != null && result.isEvaluated();
+    }
+
+    /**
+     * Runs the chain up to and including this step to a Success or Failure,
+     * without consulting our own result. A step that returns another delayed
+     * Try has that chain run on the spot, pushing the rest of the current one
+     * on a stack, so nesting does not grow the call stack either. In a
+     * memoized chain the ancestors are evaluated through their own results
+     * instead, so a prefix shared by several chains only runs once, and a
+     * memoized Try returned by a step is run on the spot and then completed
+     * with its value, so it is not run again when evaluated directly.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" }) private Try<A> eval() {
+      final ArrayDeque<Frame> frames = new ArrayDeque<>();
+      Try<Object> t = (Try<Object>) (Try<?>) this;
+      while (true) {
+        if (t instanceof Delayed) {
+          final Delayed<?> d = (Delayed<?>) t;
+          if (d.isEvaluated()) {
+            t = (Try<Object>) d.result.get();
+            continue;
+          }
+          if (d.result != null && d != this) {
+            // read once, another thread may evaluate and release it meanwhile
+            final Delayed<?> parent = d.parent;
+            final Function<Try<Object>, Try<Object>> step = d.step;
+            final Supplier<? extends Try<?>> source = d.source;
+            if (parent != null && step != null) {
+              frames.push(new Frame(d));
+              t = step.apply((Try<Object>) parent.evaluateMemoized());
+            } else if (source != null) {
+              frames.push(new Frame(d));
+              t = (Try<Object>) source.get();
+            } else {
+              t = (Try<Object>) d.result.get();
+            }
+            continue;
+          }
+          if (d.result != null && d.parent != null) {
+            t = d.step.apply((Try<Object>) d.parent.evaluateMemoized());
+            continue;
+          }
+          int depth = 0;
+          Delayed<?> start = d;
+          while (start.parent != null && !start.isEvaluated()) {
+            start = start.parent;
+            depth++;
+          }
+          if (depth > 0) {
+            final Function<Try<Object>, Try<Object>>[] steps = new Function[depth];
+            Delayed<?> link = d;
+            for (int i = depth - 1; i >= 0; i--) {
+              steps[i] = link.step;
+              link = link.parent;
+            }
+            frames.push(new Frame(steps));
+          }
+          t = (Try<Object>) (start.isEvaluated() ? start.result.get() : start.source.get());
+        } else {
+          final Frame frame = frames.peek();
+          if (frame == null) {
+            return (Try<A>) t;
+          }
+          if (frame.completes != null) {
+            frames.pop();
+            t = (Try<Object>) frame.completes.complete(t);
+          } else if (frame.next == frame.steps.length) {
+            frames.pop();
+          } else {
+            t = frame.steps[frame.next++].apply(t);
+          }
+        }
+      }
+    }
+
+    /**
+     * Fills the results of a memoized chain from the first unevaluated
+     * ancestor down to this step. Each of them finds its parent evaluated, so
+     * this neither repeats shared work nor grows the call stack with the
+     * length of the chain.
+     */
+    private Try<A> evaluateMemoized() {
+      final ArrayList<Delayed<?>> pending = new ArrayList<>();
+      for (Delayed<?> d = this; d != null && !d.isEvaluated(); d = d.parent) {
+        pending.add(d);
+      }
+      for (int i = pending.size() - 1; i > 0; i--) {
+        pending.get(i).result.get();
+      }
+      return result.get();
+    }
+
+    // evaluates our memoized result
+    private Try<A> evalOnce() {
+      final Try<A> t = eval();
+      release();
+      return t;
     }
 
-    private Delayed(final Function<Unit, Try<A>> run) {
-      this.runReference = new AtomicReference<>(run);
+    // sets our result to a value computed by another chain, unless it is set
+    @SuppressWarnings("unchecked") private Try<A> complete(final Try<?> t) {
+      if (result.complete((Try<A>) t)) {
+        release();
+        return (Try<A>) t;
+      }
+      return result.get();
     }
 
-    private Function<Unit, Try<A>> getRunner() {
-      return this.runReference.get();
+    // an evaluated result needs nothing of the chain that computed it
+    private void release() {
+      parent = null;
+      step = null;
+      source = null;
     }
 
-    private Try<A> eval() {
-      return this.getRunner().apply(Unit());
+    // evaluates to a Success or Failure
+    private Try<A> evaluate() {
+      return (result != null) ? result.get() : eval();
     }
 
     @Override public boolean isFailure() {
-      return eval().isFailure();
+      return evaluate().isFailure();
     }
 
     @Override public boolean isSuccess() {
-      return eval().isSuccess();
+      return evaluate().isSuccess();
     }
 
-    private <B> Try<B> composeDelayed(Function<Try<A>, Try<B>> f) {
-      return new Delayed<>(f.compose(this.getRunner()));
+    @SuppressWarnings("unchecked") private <B> Try<B> composeDelayed(Function<Try<A>, Try<B>> f) {
+      return new Delayed<>(this, (Function<Try<Object>, Try<Object>>) (Function<?, ?>) f);
     }
 
     @Override public <B> Try<B> flatMap(Function<? super A, Try<B>> f) {
@@ -664,7 +937,7 @@ import static java.util.function.Function.identity;
     }
 
     @Override public A getOrElse(Supplier<A> s) {
-      return eval().getOrElse(s);
+      return evaluate().getOrElse(s);
     }
 
     @Override public Try<A> orElse(Supplier<? extends Try<? extends A>> orElse) {
@@ -676,39 +949,57 @@ import static java.util.function.Function.identity;
     }
 
     @Override public <B> B fold(Function<? super Exception, B> failureF, Function<A, B> successF) {
-      return eval().fold(failureF, successF);
+      return evaluate().fold(failureF, successF);
     }
 
     @Override public Either<Exception, A> toEither() {
-      return eval().toEither();
+      return evaluate().toEither();
     }
 
     @Override public Option<A> toOption() {
-      return eval().toOption();
+      return evaluate().toOption();
     }
 
     @Override public Optional<A> toOptional() {
-      return eval().toOptional();
+      return evaluate().toOptional();
     }
 
     @Override public Stream<A> toStream() {
-      return eval().toStream();
+      return evaluate().toStream();
     }
 
     @Override public void forEach(Consumer<? super A> action) {
-      eval().forEach(action);
+      evaluate().forEach(action);
     }
 
     @Override public void writeExternal(ObjectOutput out) throws IOException {
       // If you required serialization to return this through a remote call, it
       // would seem expected for the expression to be evaluated.
       // Therefore in order to serialize we need to evaluate the Delayed.
-      out.writeObject(eval());
+      out.writeObject(evaluate());
     }
 
     @Override @SuppressWarnings("unchecked") public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
       Try<A> result = (Try<A>) in.readObject();
-      this.runReference.set(unit -> result);
+      this.source = () -> result;
+    }
+
+    // the steps of a chain still to be applied
+    private static final class Frame {
+      final Function<Try<Object>, Try<Object>>[] steps;
+      // the memoized Try to complete with the value instead, if not null
+      final Delayed<?> completes;
+      int next;
+
+      Frame(final Function<Try<Object>, Try<Object>>[] steps) {
+        this.steps = steps;
+        this.completes = null;
+      }
+
+      Frame(final Delayed<?> completes) {
+        this.steps = null;
+        this.completes = completes;
+      }
     }
   }
 }
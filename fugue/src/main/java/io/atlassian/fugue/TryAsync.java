@@ -0,0 +1,288 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An asynchronous {@link Try}: a computation running on an {@link Executor}
+ * (or anything else that completes a {@link CompletionStage}) that will end in
+ * either a Success or a Failure. The combinators mirror those of Try but never
+ * block, each one runs when the computation it depends on completes, so no
+ * thread is held while waiting for a result.
+ * <p>
+ * An underlying stage that completes exceptionally with an {@link Exception}
+ * (including a cancellation, or an exception thrown by one of the functions
+ * passed to the combinators) is treated as a Failure of that exception.
+ * {@link Error}s are not caught and complete the stages exceptionally.
+ *
+ * @param <A> the success type
+ * @since 5.0.0
+ */
+public final class TryAsync<A> {
+  /**
+   * Runs a computation on an executor.
+   *
+   * @param executor the executor to run the supplier on, must not be null
+   * @param s the computation, must not be null
+   * @param <A> the success type
+   * @param <E> the type of exception the supplier may throw
+   * @return a TryAsync that is a Success of the value the supplier returns, or
+   * a Failure of the exception it throws
+   */
+  public static <A, E extends Exception> TryAsync<A> async(final Executor executor, final Checked.Supplier<A, E> s) {
+    requireNonNull(s, "supplier");
+    return new TryAsync<>(CompletableFuture.supplyAsync(() -> Checked.now(s), requireNonNull(executor, "executor")));
+  }
+
+  /**
+   * Creates a completed TryAsync from a Try. A delayed Try is evaluated by the
+   * first stage that depends on it.
+   *
+   * @param t the try, must not be null
+   * @param <A> the success type
+   * @return a completed TryAsync holding the try
+   */
+  public static <A> TryAsync<A> fromTry(final Try<A> t) {
+    return new TryAsync<>(CompletableFuture.completedFuture(requireNonNull(t, "try")));
+  }
+
+  /**
+   * Adapts a completion stage, a value it completes with is a Success, and an
+   * exception it completes exceptionally with is a Failure.
+   *
+   * @param stage the stage, must not be null
+   * @param <A> the success type
+   * @return a TryAsync that completes when the stage does
+   */
+  public static <A> TryAsync<A> fromCompletionStage(final CompletionStage<A> stage) {
+    return new TryAsync<>(requireNonNull(stage, "stage").<Try<A>> handle((a, x) -> (x == null) ? Try.successful(a) : Try.failure(exception(x))).toCompletableFuture());
+  }
+
+  /**
+   * Creates a completed Success.
+   *
+   * @param value the value, must not be null
+   * @param <A> the success type
+   * @return a completed TryAsync holding a Success of the value
+   */
+  public static <A> TryAsync<A> successful(final A value) {
+    return fromTry(Try.successful(value));
+  }
+
+  /**
+   * Creates a completed Failure.
+   *
+   * @param e the exception, must not be null
+   * @param <A> the success type
+   * @return a completed TryAsync holding a Failure of the exception
+   */
+  public static <A> TryAsync<A> failure(final Exception e) {
+    return fromTry(Try.failure(e));
+  }
+
+  /**
+   * Completes with a Success of all of the values when all of the arguments
+   * are a success, otherwise with the first failure in iteration order. The
+   * arguments are already running, so they complete concurrently and the
+   * result completes when all of them have.
+   *
+   * @param trys the computations to wait for
+   * @param <A> the success type
+   * @return a TryAsync of all of the values, or of the first failure
+   */
+  public static <A> TryAsync<Iterable<A>> sequence(final Iterable<TryAsync<A>> trys) {
+    return sequence(trys, Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Completes with a Success of all of the values when all of the arguments
+   * are a success, otherwise with the first failure in iteration order. The
+   * arguments are already running, so they complete concurrently and the
+   * result completes when all of them have.
+   *
+   * @param trys the computations to wait for
+   * @param collector result collector
+   * @param <T> the success type
+   * @param <A> the intermediate accumulator type
+   * @param <R> the result type
+   * @return a TryAsync of the collected values, or of the first failure
+   */
+  public static <T, A, R> TryAsync<R> sequence(final Iterable<TryAsync<T>> trys, final Collector<T, A, R> collector) {
+    final List<CompletableFuture<Try<T>>> futures = new ArrayList<>();
+    for (final TryAsync<T> t : trys) {
+      futures.add(t.future);
+    }
+    return new TryAsync<>(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).handle((ignored, x) -> {
+      final List<Try<T>> results = new ArrayList<>(futures.size());
+      for (final CompletableFuture<Try<T>> f : futures) {
+        results.add(join(f));
+      }
+      return Try.sequence(results, collector);
+    }));
+  }
+
+  private final CompletableFuture<Try<A>> future;
+
+  private TryAsync(final CompletableFuture<Try<A>> future) {
+    this.future = future;
+  }
+
+  /**
+   * Map the success value.
+   *
+   * @param f the function to apply to a success value
+   * @param <B> the new success type
+   * @return a TryAsync of the mapped value, or the same failure
+   * @see Try#map(Function)
+   */
+  public <B> TryAsync<B> map(final Function<? super A, ? extends B> f) {
+    return then(t -> t.map(f));
+  }
+
+  /**
+   * Continue with another asynchronous computation on success.
+   *
+   * @param f the function returning the next computation
+   * @param <B> the new success type
+   * @return a TryAsync of the result of the next computation, or the same
+   * failure
+   * @see Try#flatMap(Function)
+   */
+  public <B> TryAsync<B> flatMap(final Function<? super A, TryAsync<B>> f) {
+    return new TryAsync<>(future.handle(TryAsync::settle).thenCompose(t -> t.fold(e -> CompletableFuture.completedFuture(Try.<B> failure(e)), a -> f.apply(a).future)));
+  }
+
+  /**
+   * Recover from a failure with a value.
+   *
+   * @param f the function from the exception to a success value
+   * @return a TryAsync of the same success, or of the recovered value
+   * @see Try#recover(Function)
+   */
+  public TryAsync<A> recover(final Function<? super Exception, A> f) {
+    return then(t -> t.recover(f));
+  }
+
+  /**
+   * Recover from a failure with another asynchronous computation.
+   *
+   * @param f the function from the exception to the next computation
+   * @return a TryAsync of the same success, or of the result of the next
+   * computation
+   * @see Try#recoverWith(Function)
+   */
+  public TryAsync<A> recoverWith(final Function<? super Exception, TryAsync<A>> f) {
+    return new TryAsync<>(future.handle(TryAsync::settle).thenCompose(t -> t.fold(e -> f.apply(e).future, a -> CompletableFuture.completedFuture(t))));
+  }
+
+  /**
+   * Turn a success into a failure when it doesn't satisfy a predicate.
+   *
+   * @param p the predicate to test a success value with
+   * @param orElseSupplier supplies the exception of the failure
+   * @return a TryAsync of the same success if it satisfies the predicate,
+   * otherwise of a failure
+   * @see Try#filterOrElse(Predicate, Supplier)
+   */
+  public TryAsync<A> filterOrElse(final Predicate<? super A> p, final Supplier<Exception> orElseSupplier) {
+    return then(t -> t.filterOrElse(p, orElseSupplier));
+  }
+
+  /**
+   * Fold the result once it completes.
+   *
+   * @param failureF the function to apply to a failure
+   * @param successF the function to apply to a success
+   * @param <B> the result type
+   * @return a future of the folded result
+   * @see Try#fold(Function, Function)
+   */
+  public <B> CompletableFuture<B> fold(final Function<? super Exception, B> failureF, final Function<A, B> successF) {
+    return future.handle((t, x) -> settle(t, x).fold(failureF, successF));
+  }
+
+  /**
+   * A Try that waits for the computation to complete when it is evaluated.
+   *
+   * @return a delayed Try of the result
+   */
+  public Try<A> toTry() {
+    return Try.delayed(() -> join(future));
+  }
+
+  /**
+   * A future of the result that does not complete exceptionally with an
+   * Exception. Completing the returned future has no effect on this
+   * computation.
+   *
+   * @return a future of the result
+   */
+  public CompletableFuture<Try<A>> toCompletableFuture() {
+    return future.handle(TryAsync::settle);
+  }
+
+  /**
+   * Has the computation completed.
+   *
+   * @return true if the result is available without waiting
+   */
+  public boolean isDone() {
+    return future.isDone();
+  }
+
+  @Override public String toString() {
+    return future.isDone() ? "TryAsync(" + join(future) + ")" : "TryAsync(?)";
+  }
+
+  private <B> TryAsync<B> then(final Function<Try<A>, Try<B>> step) {
+    return new TryAsync<>(future.handle((t, x) -> step.apply(settle(t, x))));
+  }
+
+  private static <A> Try<A> settle(final Try<A> t, final Throwable x) {
+    return (x == null) ? t : Try.failure(exception(x));
+  }
+
+  private static <A> Try<A> join(final CompletableFuture<Try<A>> f) {
+    try {
+      return f.join();
+    } catch (final CompletionException | CancellationException e) {
+      return Try.failure(exception(e));
+    }
+  }
+
+  private static Exception exception(final Throwable x) {
+    final Throwable cause = (x instanceof CompletionException && x.getCause() != null) ? x.getCause() : x;
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return (cause instanceof Exception) ? (Exception) cause : new RuntimeException(cause);
+  }
+}
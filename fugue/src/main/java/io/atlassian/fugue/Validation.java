@@ -0,0 +1,429 @@
+/*
+   Copyright 2011 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The result of a validation, either a Success of a value or a Failure of
+ * errors. Unlike {@link Either}, which stops at the first Left, validations are
+ * combined with a {@link Semigroup} for the errors so that all of the failures
+ * are reported: combining two Failures appends their errors.
+ * <p>
+ * The combining operations ({@link #ap(Validation, Semigroup)},
+ * {@link #map2(Validation, Validation, BiFunction, Semigroup)},
+ * {@link #sequence(Iterable, Semigroup)} and
+ * {@link #traverse(Iterable, Function, Semigroup)}) make a single pass. Once
+ * there is a Failure the values of later Successes are no longer collected,
+ * only their errors.
+ * <p>
+ * Validation is immutable, but does not force immutability on contained
+ * objects; if the contained objects are mutable then equals and hashcode
+ * methods should not be relied on.
+ *
+ * @param <E> the error type
+ * @param <A> the success type
+ * @see Either
+ * @since 5.0.0
+ */
+public abstract class Validation<E, A> implements Serializable {
+  private static final long serialVersionUID = -1L;
+
+  /**
+   * Creates a Success.
+   *
+   * @param value the value, must not be null
+   * @param <E> the error type
+   * @param <A> the success type
+   * @return a Success of the value
+   */
+  public static <E, A> Validation<E, A> success(final A value) {
+    return new Success<>(value);
+  }
+
+  /**
+   * Creates a Failure.
+   *
+   * @param errors the errors, must not be null
+   * @param <E> the error type
+   * @param <A> the success type
+   * @return a Failure of the errors
+   */
+  public static <E, A> Validation<E, A> failure(final E errors) {
+    return new Failure<>(errors);
+  }
+
+  /**
+   * Converts an either, a Right is a Success and a Left is a Failure.
+   *
+   * @param either the either, must not be null
+   * @param <E> the error type
+   * @param <A> the success type
+   * @return a validation of the either
+   */
+  public static <E, A> Validation<E, A> fromEither(final Either<E, A> either) {
+    return either.fold(Validation::failure, Validation::success);
+  }
+
+  /**
+   * Combines two validations. If both are a Success then the function is
+   * applied to their values, otherwise the result is a Failure of the errors
+   * of the second appended to the errors of the first.
+   *
+   * @param va the first validation
+   * @param vb the second validation
+   * @param f the function to combine the values with
+   * @param semigroup appends the errors
+   * @param <E> the error type
+   * @param <A> the first success type
+   * @param <B> the second success type
+   * @param <C> the result type
+   * @return a Success of the combined values, or a Failure of all of the
+   * errors
+   */
+  public static <E, A, B, C> Validation<E, C> map2(final Validation<E, A> va, final Validation<E, B> vb, final BiFunction<? super A, ? super B, ? extends C> f,
+    final Semigroup<E> semigroup) {
+    if (va.isSuccess() && vb.isSuccess()) {
+      return success(f.apply(va.get(), vb.get()));
+    }
+    return failure(appendErrors(semigroup, appendErrors(semigroup, null, va), vb));
+  }
+
+  /**
+   * Collects the values if all of the validations are a Success, otherwise
+   * returns a Failure of the errors of all of the Failures, appended in
+   * iteration order.
+   *
+   * @param validations the validations
+   * @param semigroup appends the errors
+   * @param <E> the error type
+   * @param <A> the success type
+   * @return a Success of all of the values, or a Failure of all of the errors
+   */
+  public static <E, A> Validation<E, List<A>> sequence(final Iterable<Validation<E, A>> validations, final Semigroup<E> semigroup) {
+    return sequence(validations, semigroup, Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Collects the values if all of the validations are a Success, otherwise
+   * returns a Failure of the errors of all of the Failures, appended in
+   * iteration order.
+   *
+   * @param validations the validations
+   * @param semigroup appends the errors
+   * @param collector result collector
+   * @param <E> the error type
+   * @param <T> the success type
+   * @param <B> the intermediate accumulator type
+   * @param <R> the result type
+   * @return a Success of the collected values, or a Failure of all of the
+   * errors
+   */
+  public static <E, T, B, R> Validation<E, R> sequence(final Iterable<Validation<E, T>> validations, final Semigroup<E> semigroup,
+    final Collector<T, B, R> collector) {
+    return traverse(validations, Function.identity(), semigroup, collector);
+  }
+
+  /**
+   * Validates each element and collects the values if all of them are a
+   * Success, otherwise returns a Failure of the errors of all of the Failures,
+   * appended in iteration order. No intermediate collection of validations is
+   * created.
+   *
+   * @param as the elements to validate
+   * @param f the validation of an element
+   * @param semigroup appends the errors
+   * @param <E> the error type
+   * @param <A> the element type
+   * @param <B> the success type
+   * @return a Success of all of the values, or a Failure of all of the errors
+   */
+  public static <E, A, B> Validation<E, List<B>> traverse(final Iterable<A> as, final Function<? super A, Validation<E, B>> f, final Semigroup<E> semigroup) {
+    return traverse(as, f, semigroup, Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+  }
+
+  /**
+   * Validates each element and collects the values if all of them are a
+   * Success, otherwise returns a Failure of the errors of all of the Failures,
+   * appended in iteration order. No intermediate collection of validations is
+   * created.
+   *
+   * @param as the elements to validate
+   * @param f the validation of an element
+   * @param semigroup appends the errors
+   * @param collector result collector
+   * @param <E> the error type
+   * @param <A> the element type
+   * @param <T> the success type
+   * @param <B> the intermediate accumulator type
+   * @param <R> the result type
+   * @return a Success of the collected values, or a Failure of all of the
+   * errors
+   */
+  public static <E, A, T, B, R> Validation<E, R> traverse(final Iterable<A> as, final Function<? super A, Validation<E, T>> f, final Semigroup<E> semigroup,
+    final Collector<T, B, R> collector) {
+    requireNonNull(semigroup, "semigroup");
+    B accumulator = collector.supplier().get();
+    E errors = null;
+    for (final A a : as) {
+      final Validation<E, T> v = f.apply(a);
+      if (v.isFailure()) {
+        // the values are no longer needed
+        accumulator = null;
+        errors = appendErrors(semigroup, errors, v);
+      } else if (errors == null) {
+        collector.accumulator().accept(accumulator, v.get());
+      }
+    }
+    return (errors != null) ? failure(errors) : success(collector.finisher().apply(accumulator));
+  }
+
+  // the errors of v appended to the errors so far, which are null if none
+  static <E> E appendErrors(final Semigroup<E> semigroup, final E errors, final Validation<E, ?> v) {
+    if (v.isSuccess()) {
+      return errors;
+    }
+    return (errors == null) ? v.getFailure() : semigroup.append(errors, v.getFailure());
+  }
+
+  //
+  // constructor
+  //
+
+  Validation() {}
+
+  /**
+   * Is this a Success.
+   *
+   * @return true if this is a Success
+   */
+  public abstract boolean isSuccess();
+
+  /**
+   * Is this a Failure.
+   *
+   * @return true if this is a Failure
+   */
+  public final boolean isFailure() {
+    return !isSuccess();
+  }
+
+  /**
+   * The value of a Success.
+   *
+   * @return the value
+   * @throws NoSuchElementException if this is a Failure
+   */
+  public abstract A get();
+
+  /**
+   * The errors of a Failure.
+   *
+   * @return the errors
+   * @throws NoSuchElementException if this is a Success
+   */
+  public abstract E getFailure();
+
+  /**
+   * The value of a Success, otherwise the value of the supplier.
+   *
+   * @param supplier supplies the value of a Failure
+   * @return the value
+   */
+  public final A getOr(final Supplier<? extends A> supplier) {
+    return isSuccess() ? get() : supplier.get();
+  }
+
+  /**
+   * Apply the matching function.
+   *
+   * @param ifFailure the function to apply to the errors of a Failure
+   * @param ifSuccess the function to apply to the value of a Success
+   * @param <B> the result type
+   * @return the result of the function that was applied
+   */
+  public abstract <B> B fold(Function<? super E, ? extends B> ifFailure, Function<? super A, ? extends B> ifSuccess);
+
+  /**
+   * Map the value of a Success.
+   *
+   * @param f the function to apply to the value
+   * @param <B> the new success type
+   * @return a Success of the mapped value, or the same Failure
+   */
+  public final <B> Validation<E, B> map(final Function<? super A, ? extends B> f) {
+    return isSuccess() ? success(f.apply(get())) : failureAs();
+  }
+
+  /**
+   * Map the errors of a Failure.
+   *
+   * @param f the function to apply to the errors
+   * @param <X> the new error type
+   * @return a Failure of the mapped errors, or the same Success
+   */
+  public final <X> Validation<X, A> mapFailure(final Function<? super E, ? extends X> f) {
+    return isSuccess() ? successAs() : failure(f.apply(getFailure()));
+  }
+
+  /**
+   * Applies the function of another validation to the value of this one. If
+   * both are a Success the result is a Success of the function applied to the
+   * value, otherwise it is a Failure of the errors of this validation appended
+   * to the errors of the other.
+   *
+   * @param vf the validation of a function
+   * @param semigroup appends the errors
+   * @param <B> the new success type
+   * @return a Success of the applied function, or a Failure of all of the
+   * errors
+   */
+  public final <B> Validation<E, B> ap(final Validation<E, ? extends Function<? super A, ? extends B>> vf, final Semigroup<E> semigroup) {
+    return map2(this, vf, (a, f) -> f.apply(a), semigroup);
+  }
+
+  /**
+   * Converts to an either, a Success is a Right and a Failure is a Left.
+   *
+   * @return an either of this validation
+   */
+  public final Either<E, A> toEither() {
+    return isSuccess() ? Either.right(get()) : Either.left(getFailure());
+  }
+
+  /**
+   * The value of a Success.
+   *
+   * @return some value if this is a Success, otherwise none
+   */
+  public final Option<A> toOption() {
+    return isSuccess() ? Option.some(get()) : Option.none();
+  }
+
+  // this failure as a validation of another success type, isFailure() must be
+  // true
+  @SuppressWarnings("unchecked") private <B> Validation<E, B> failureAs() {
+    return (Validation<E, B>) this;
+  }
+
+  // this success as a validation of another error type, isSuccess() must be
+  // true
+  @SuppressWarnings("unchecked") private <X> Validation<X, A> successAs() {
+    return (Validation<X, A>) this;
+  }
+
+  //
+  // inner class implementations
+  //
+
+  private static final class Success<E, A> extends Validation<E, A> {
+    private static final long serialVersionUID = 4619012873045271381L;
+
+    private final A value;
+
+    Success(final A value) {
+      this.value = requireNonNull(value);
+    }
+
+    @Override public boolean isSuccess() {
+      return true;
+    }
+
+    @Override public A get() {
+      return value;
+    }
+
+    @Override public E getFailure() {
+      throw new NoSuchElementException();
+    }
+
+    @Override public <B> B fold(final Function<? super E, ? extends B> ifFailure, final Function<? super A, ? extends B> ifSuccess) {
+      return ifSuccess.apply(value);
+    }
+
+    @Override public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Success<?, ?>)) {
+        return false;
+      }
+      return value.equals(((Success<?, ?>) o).value);
+    }
+
+    @Override public int hashCode() {
+      return value.hashCode();
+    }
+
+    @Override public String toString() {
+      return "Validation.Success(" + value.toString() + ")";
+    }
+  }
+
+  private static final class Failure<E, A> extends Validation<E, A> {
+    private static final long serialVersionUID = -2913706418452273610L;
+
+    private final E errors;
+
+    Failure(final E errors) {
+      this.errors = requireNonNull(errors);
+    }
+
+    @Override public boolean isSuccess() {
+      return false;
+    }
+
+    @Override public A get() {
+      throw new NoSuchElementException();
+    }
+
+    @Override public E getFailure() {
+      return errors;
+    }
+
+    @Override public <B> B fold(final Function<? super E, ? extends B> ifFailure, final Function<? super A, ? extends B> ifSuccess) {
+      return ifFailure.apply(errors);
+    }
+
+    @Override public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Failure<?, ?>)) {
+        return false;
+      }
+      return errors.equals(((Failure<?, ?>) o).errors);
+    }
+
+    @Override public int hashCode() {
+      return ~errors.hashCode();
+    }
+
+    @Override public String toString() {
+      return "Validation.Failure(" + errors.toString() + ")";
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+   Copyright 2015 Atlassian
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package io.atlassian.fugue.law;
+
+import io.atlassian.fugue.CommutativeMonoid;
+
+/**
+ * Laws for a commutative monoid, in addition to the {@link MonoidLaws}
+ *
+ * @since 5.0.0
+ */
+public final class CommutativeMonoidLaws<A> {
+
+  private final CommutativeMonoid<A> monoid;
+
+  /**
+   * Build a law instance to check commutative monoid properties
+   *
+   * @param monoid a {@link io.atlassian.fugue.CommutativeMonoid} to check
+   * matches the desired behaviors of
+   */
+  public CommutativeMonoidLaws(final CommutativeMonoid<A> monoid) {
+    this.monoid = monoid;
+  }
+
+  /**
+   * A commutative monoid must not care about the order of the two elements
+   * it appends.
+   *
+   * @param x an A object
+   * @param y an A object
+   * @return a {@link io.atlassian.fugue.law.IsEq} instance where append(x,y)
+   * is equal to append(y,x)
+   */
+  public IsEq<A> appendCommutative(final A x, final A y) {
+    return IsEq.isEq(monoid.append(x, y), monoid.append(y, x));
+  }
+
+}
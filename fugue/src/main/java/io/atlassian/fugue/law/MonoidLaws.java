@@ -92,6 +92,19 @@ public final class MonoidLaws<A> {
     return IsEq.isEq(monoid.sum(as), Functions.fold(monoid::append, monoid.zero(), as));
   }
 
+  /**
+   * The sumBalanced function of your monoid must be equal to
+   * {@link Functions#fold(BiFunction, Object, Iterable)} using append as the
+   * folding function and zero() as the initial value
+   *
+   * @param as a {@link java.lang.Iterable}
+   * @return a {@link io.atlassian.fugue.law.IsEq} where sumBalanced(as) is
+   * equal to fold(append, zero, as)
+   */
+  public IsEq<A> sumBalancedEqualFold(final Iterable<A> as) {
+    return IsEq.isEq(monoid.sumBalanced(as), Functions.fold(monoid::append, monoid.zero(), as));
+  }
+
   /**
    * The multiply function of your monoid must be equal to the sum function
    * called with an iterable containing {@code n} copies of the input type.
@@ -70,6 +70,22 @@ public final class SemigroupLaws<A> {
     return IsEq.isEq(semigroup.sumNonEmpty(head, tail), Functions.fold(semigroup::append, head, tail));
   }
 
+  /**
+   * The {@link Semigroup#sumBalanced(Object, Iterable)} function of your
+   * semigroup must be equal to a
+   * {@link Functions#fold(BiFunction, Object, Iterable)} where append is used
+   * as the combining function, head is used as the initial value and tail is
+   * the iterable to check
+   *
+   * @param head an A
+   * @param tail a {@link java.lang.Iterable} of A's
+   * @return a {@link io.atlassian.fugue.law.IsEq} where sumBalanced(head,
+   * tail) is equal to fold(append, head, tail)
+   */
+  public IsEq<A> sumBalancedEqualFold(final A head, final Iterable<A> tail) {
+    return IsEq.isEq(semigroup.sumBalanced(head, tail), Functions.fold(semigroup::append, head, tail));
+  }
+
   /**
    * The {@link Semigroup#multiply1p(int, Object)} function of your semigroup
    * must be equal to {@link Semigroup#sumNonEmpty(Object, Iterable)} applied to
@@ -0,0 +1,69 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static io.atlassian.fugue.Option.none;
+import static io.atlassian.fugue.Option.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class AggregatorTest {
+  private final Aggregator.Builder<Long> builder = Aggregator.builder();
+  private final Aggregator.Field<Long> count = builder.field(Monoids.longAddition, l -> 1L);
+  private final Aggregator.Field<Long> total = builder.field(Monoids.longAddition, l -> l);
+  private final Aggregator.Field<Option<Long>> min = builder.field(Semigroups.longMinimum, l -> l);
+  private final Aggregator.Field<Option<Long>> max = builder.field(Semigroups.longMaximum, l -> l);
+  private final Aggregator.Field<Option<Long>> first = builder.field(Semigroups.<Long> first(), l -> l);
+  private final Aggregator.Field<String> digits = builder.field(Monoids.string, l -> String.valueOf(l % 10));
+  private final Aggregator<Long> stats = builder.build();
+
+  @Test public void sumsEveryFieldInOnePass() {
+    final Aggregator.Result r = stats.sum(Arrays.asList(3L, 9L, 1L, 4L));
+    assertThat(r.get(count), is(4L));
+    assertThat(r.get(total), is(17L));
+    assertThat(r.get(min), is(some(1L)));
+    assertThat(r.get(max), is(some(9L)));
+    assertThat(r.get(first), is(some(3L)));
+    assertThat(r.get(digits), is("3914"));
+  }
+
+  @Test public void emptyIsZeroAndNone() {
+    final Aggregator.Result r = stats.sum(Arrays.<Long> asList());
+    assertThat(r.get(count), is(0L));
+    assertThat(r.get(min), is(none()));
+    assertThat(r.get(digits), is(""));
+    assertThat(r, is(stats.monoid().zero()));
+  }
+
+  @Test public void monoidMergesPartialResults() {
+    final List<Long> values = Arrays.asList(5L, 2L, 8L, 7L, 1L);
+    final Monoid<Aggregator.Result> monoid = stats.monoid();
+    final Aggregator.Result merged = monoid.append(stats.sum(values.subList(0, 2)), stats.sum(values.subList(2, 5)));
+    assertThat(merged, is(stats.sum(values)));
+    assertThat(monoid.sum(Iterables.map(values, stats::of)), is(stats.sum(values)));
+    assertThat(monoid.append(monoid.zero(), merged), is(merged));
+  }
+
+  @Test public void parallelCollectorKeepsOrder() {
+    final List<Long> values = LongStream.rangeClosed(1, 10000).boxed().collect(Collectors.toList());
+    final Aggregator.Result r = values.parallelStream().collect(stats.collector());
+    assertThat(r, is(stats.sum(values)));
+    assertThat(r.get(first), is(some(1L)));
+    assertThat(r.get(total), is(50005000L));
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void fieldOfAnotherAggregator() {
+    final Aggregator.Builder<Long> other = Aggregator.builder();
+    final Aggregator.Field<Long> otherCount = other.field(Monoids.longAddition, l -> 1L);
+    stats.of(1L).get(otherCount);
+  }
+
+  @Test(expected = IllegalStateException.class) public void noFieldsAfterBuild() {
+    builder.field(Monoids.longAddition, l -> l);
+  }
+}
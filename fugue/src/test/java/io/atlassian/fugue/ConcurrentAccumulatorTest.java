@@ -0,0 +1,78 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+
+import static io.atlassian.fugue.Option.none;
+import static io.atlassian.fugue.Option.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ConcurrentAccumulatorTest {
+  private static final int THREADS = 8;
+  private static final int PER_THREAD = 10000;
+
+  @Test public void emptyIsZero() {
+    assertThat(Monoids.concurrentAccumulator(CommutativeMonoid.of(Monoids.longAddition)).result(), is(0L));
+  }
+
+  @Test public void commutativeInstancesAreNotWrapped() {
+    assertThat(CommutativeMonoid.of(Monoids.longAddition), sameInstance(Monoids.longAddition));
+  }
+
+  @Test public void sumsFromManyThreads() throws InterruptedException {
+    final ConcurrentAccumulator<Long> sum = Monoids.concurrentAccumulator(CommutativeMonoid.of(Monoids.longAddition));
+    addConcurrently(i -> sum.add((long) i));
+    final long n = (long) THREADS * PER_THREAD;
+    assertThat(sum.result(), is(n * (n - 1) / 2));
+  }
+
+  @Test public void maximumFromManyThreads() throws InterruptedException {
+    final ConcurrentAccumulator<Option<Integer>> max = Monoids.concurrentAccumulator(CommutativeMonoid.of(Monoids.option(Semigroups.intMaximum)));
+    assertThat(max.result(), is(none()));
+    addConcurrently(i -> max.add(some(i)));
+    assertThat(max.result(), is(some(THREADS * PER_THREAD - 1)));
+  }
+
+  @Test public void unionFromManyThreads() throws InterruptedException {
+    final ConcurrentAccumulator<Set<Integer>> union = Monoids.concurrentAccumulator(Monoids.<Integer> set());
+    addConcurrently(i -> union.add(Collections.singleton(i % 100)));
+    final Set<Integer> expected = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      expected.add(i);
+    }
+    assertThat(union.result(), is(expected));
+  }
+
+  private static void addConcurrently(final IntConsumer add) throws InterruptedException {
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final int from = t * PER_THREAD;
+      final Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (final InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+        for (int i = from; i < from + PER_THREAD; i++) {
+          add.accept(i);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+  }
+}
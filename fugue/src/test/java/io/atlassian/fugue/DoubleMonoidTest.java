@@ -0,0 +1,42 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class DoubleMonoidTest {
+  private final double[] values = { 0.5, -1.0, 4.0, 1.5 };
+
+  @Test public void additionSums() {
+    assertThat(DoubleMonoid.addition.sum(values), is(5.0));
+    assertThat(DoubleMonoid.addition.sum(new double[0]), is(0.0));
+  }
+
+  @Test public void sumOfStreamAndIterator() {
+    assertThat(DoubleMonoid.addition.sum(DoubleStream.of(values)), is(5.0));
+    assertThat(DoubleMonoid.multiplication.sum(DoubleStream.of(values).iterator()), is(-3.0));
+  }
+
+  @Test public void maximumAndMinimum() {
+    assertThat(DoubleMonoid.maximum.sum(values), is(4.0));
+    assertThat(DoubleMonoid.minimum.sum(values), is(-1.0));
+    assertThat(DoubleMonoid.maximum.sum(new double[0]), is(Double.NEGATIVE_INFINITY));
+    assertThat(DoubleSemigroup.minimum.sumNonEmpty(-2.0, values), is(-2.0));
+  }
+
+  @Test public void multiply() {
+    assertThat(DoubleMonoid.addition.multiply(4, 1.5), is(6.0));
+    assertThat(DoubleMonoid.multiplication.multiply(3, 2.0), is(8.0));
+    assertThat(DoubleMonoid.multiplication.multiply(0, 2.0), is(1.0));
+  }
+
+  @Test public void boxedMonoidAgrees() {
+    final Monoid<Double> boxed = DoubleMonoid.addition.boxed();
+    assertThat(boxed.sum(Arrays.asList(0.5, -1.0, 4.0, 1.5)), is(5.0));
+    assertThat(boxed.append(1.0, 2.0), is(3.0));
+  }
+}
@@ -0,0 +1,90 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static io.atlassian.fugue.Either.left;
+import static io.atlassian.fugue.Either.right;
+import static io.atlassian.fugue.Pair.pair;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class EitherArrayTest {
+  private final EitherArray<String, Integer> array = EitherArray.of(Arrays.asList(right(1), left("a"), right(3), left("b")));
+
+  @Test public void elements() {
+    assertThat(array.size(), is(4));
+    assertThat(array.rightCount(), is(2));
+    assertThat(array.leftCount(), is(2));
+    assertThat(array.isRight(0), is(true));
+    assertThat(array.isLeft(1), is(true));
+    assertThat(array.right(2), is(3));
+    assertThat(array.left(3), is("b"));
+    assertThat(array.get(1), is(left("a")));
+  }
+
+  @Test(expected = NoSuchElementException.class) public void rightOfLeft() {
+    array.right(1);
+  }
+
+  @Test(expected = NoSuchElementException.class) public void leftOfRight() {
+    array.left(0);
+  }
+
+  @Test public void map() {
+    assertThat(array.map(i -> i * 10), contains(right(10), left("a"), right(30), left("b")));
+  }
+
+  @Test public void leftMap() {
+    assertThat(array.leftMap(String::length), contains(right(1), left(1), right(3), left(1)));
+  }
+
+  @Test public void filterOrElse() {
+    assertThat(array.filterOrElse(i -> i > 1, () -> "small"), contains(left("small"), left("a"), right(3), left("b")));
+  }
+
+  @Test public void sequenceRightReturnsFirstLeft() {
+    assertThat(array.sequenceRight(), is(left("a")));
+  }
+
+  @Test public void sequenceRightAllRights() {
+    assertThat(EitherArray.<String, Integer> of(Arrays.asList(right(1), right(2))).sequenceRight(), is(right(Arrays.asList(1, 2))));
+  }
+
+  @Test public void partition() {
+    assertThat(array.partition(), is(pair(Arrays.asList("a", "b"), Arrays.asList(1, 3))));
+  }
+
+  @Test public void builderMatchesOf() {
+    final EitherArray<String, Integer> built = EitherArray.<String, Integer> builder().addRight(1).addLeft("a").add(right(3)).add(left("b")).build();
+    assertThat(built, is(array));
+    assertThat(built.hashCode(), is(array.hashCode()));
+  }
+
+  @Test public void growsPastInitialCapacity() {
+    final List<Either<String, Integer>> eithers = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      eithers.add(i % 2 == 0 ? left("l" + i) : right(i));
+    }
+    final EitherArray<String, Integer> large = EitherArray.of(eithers);
+    assertThat(large.asList(), is(eithers));
+    assertThat(large.rightCount(), is(100));
+  }
+
+  @Test(expected = NullPointerException.class) public void builderRejectsNull() {
+    EitherArray.<String, Integer> builder().addRight(null);
+  }
+
+  @Test(expected = NullPointerException.class) public void mapRejectsNull() {
+    array.map(i -> null);
+  }
+
+  @Test(expected = NullPointerException.class) public void leftMapRejectsNull() {
+    array.leftMap(l -> null);
+  }
+}
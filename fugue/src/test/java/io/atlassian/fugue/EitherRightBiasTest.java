@@ -302,4 +302,15 @@ public class EitherRightBiasTest {
     assertThat(l.ap(func).left().get(), is("woo"));
   }
 
+  @Test public void unchangedLeftIsNotCopied() {
+    assertThat(l.map(addOne), Matchers.sameInstance(l));
+    assertThat(l.flatMap(i -> right(i + 1)), Matchers.sameInstance(l));
+    assertThat(l.sequence(r), Matchers.sameInstance(l));
+  }
+
+  @Test public void unchangedRightIsNotCopied() {
+    assertThat(r.orElse(l), Matchers.sameInstance(r));
+    assertThat(r.leftMap(String::length), Matchers.sameInstance(r));
+    assertThat(r.filterOrElse(i -> i > 0, () -> "negative"), Matchers.sameInstance(r));
+  }
 }
@@ -4,12 +4,16 @@ import org.junit.Test;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static io.atlassian.fugue.Either.left;
 import static io.atlassian.fugue.Either.right;
 import static java.util.Arrays.asList;
 import static java.util.Collections.shuffle;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -30,4 +34,20 @@ public class EitherRightCollectorTest {
     assertThat(sequence.stream().collect(FugueCollectors.toEitherRight()), is(left(3)));
   }
 
+  @Test public void toEitherRight_parallelStreamOfRightValues_keepsEncounterOrder() {
+    assertThat(IntStream.range(0, 10_000).parallel().mapToObj(Either::<Integer, Integer> right).collect(FugueCollectors.toEitherRight()), is(right(
+      IntStream.range(0, 10_000).boxed().collect(toList()))));
+  }
+
+  @Test public void toEitherRight_parallelStreamWithLefts_returnsLeftMostLeft() {
+    assertThat(IntStream.range(0, 10_000).parallel().mapToObj(i -> (i % 1000 == 999) ? Either.<Integer, Integer> left(i) : Either.<Integer, Integer> right(i))
+      .collect(FugueCollectors.toEitherRight()), is(left(999)));
+  }
+
+  @Test public void toEitherRight_afterLeft_doesNotAccumulate() {
+    final AtomicInteger accumulated = new AtomicInteger();
+    Stream.<Either<Integer, Integer>> of(right(1), left(2), right(3), right(4)).collect(
+      FugueCollectors.toEitherRight(Collectors.reducing(0, i -> accumulated.incrementAndGet(), Integer::sum)));
+    assertThat(accumulated.get(), is(1));
+  }
 }
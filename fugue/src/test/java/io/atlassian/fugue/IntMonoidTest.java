@@ -0,0 +1,51 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class IntMonoidTest {
+  private final int[] values = { 3, -1, 4, 1, 5 };
+
+  @Test public void additionSums() {
+    assertThat(IntMonoid.addition.sum(values), is(12));
+    assertThat(IntMonoid.addition.sum(new int[0]), is(0));
+  }
+
+  @Test public void sumOfStreamAndIterator() {
+    assertThat(IntMonoid.addition.sum(IntStream.of(values)), is(12));
+    assertThat(IntMonoid.addition.sum(IntStream.rangeClosed(1, 1000).parallel()), is(500500));
+    assertThat(IntMonoid.multiplication.sum(IntStream.of(values).iterator()), is(-60));
+  }
+
+  @Test public void maximumAndMinimum() {
+    assertThat(IntMonoid.maximum.sum(values), is(5));
+    assertThat(IntMonoid.minimum.sum(values), is(-1));
+    assertThat(IntMonoid.maximum.sum(new int[0]), is(Integer.MIN_VALUE));
+    assertThat(IntSemigroup.maximum.sumNonEmpty(2, values), is(5));
+    assertThat(IntSemigroup.minimum.sumNonEmpty(-2, values), is(-2));
+  }
+
+  @Test public void multiplyIsRepeatedAppend() {
+    for (int n = 0; n < 40; n++) {
+      final int[] copies = new int[n];
+      Arrays.fill(copies, 3);
+      assertThat(IntMonoid.addition.multiply(n, 3), is(IntMonoid.addition.sum(copies)));
+      assertThat(IntMonoid.multiplication.multiply(n, 3), is(IntMonoid.multiplication.sum(copies)));
+    }
+    assertThat(IntMonoid.addition.multiply(-1, 3), is(0));
+  }
+
+  @Test public void boxedMonoidAgrees() {
+    final Monoid<Integer> boxed = IntMonoid.addition.boxed();
+    assertThat(boxed.zero(), is(0));
+    assertThat(boxed.append(1, 2), is(3));
+    assertThat(boxed.sum(Arrays.asList(3, -1, 4, 1, 5)), is(12));
+    assertThat(boxed.multiply(4, 3), is(12));
+    assertThat(IntSemigroup.maximum.boxed().append(1, 2), is(2));
+  }
+}
@@ -111,6 +111,42 @@ import static org.hamcrest.Matchers.is;
     assertThat(memoized.toString(), is("[1, 2, 3, 4]"));
   }
 
+  @Test public void assertThatFailureOfDelegateIsRethrownWithoutSkippingElements() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Iterable<Integer> memoized = memoize(() -> new Iterator<Integer>() {
+      int i = 0;
+
+      @Override public boolean hasNext() {
+        return i < 4;
+      }
+
+      @Override public Integer next() {
+        calls.incrementAndGet();
+        if (++i == 3 && calls.get() == 3) {
+          throw new IllegalStateException("boom");
+        }
+        return i;
+      }
+    });
+    final Iterator<Integer> first = memoized.iterator();
+    assertThat(first.next(), is(1));
+    final IllegalStateException failure = assertFailure(first);
+
+    final Iterator<Integer> second = memoized.iterator();
+    assertThat(second.next(), is(1));
+    assertThat(assertFailure(second), is(failure));
+    assertThat(calls.get(), is(3));
+  }
+
+  private static IllegalStateException assertFailure(final Iterator<Integer> it) {
+    try {
+      it.next();
+    } catch (final IllegalStateException e) {
+      return e;
+    }
+    throw new AssertionError("expected the delegate failure");
+  }
+
   private <A, B> CountingFunction<A, B> counting(final Function<A, B> f) {
     return new CountingFunction<>(f);
   }
@@ -6,14 +6,15 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -23,21 +24,8 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
-public class LazyReferenceTest {
-
-  // /**
-  // * Used to pound the tests
-  // *
-  // * @throws Exception
-  // */
-  // public static void main(final String[] args) throws Exception {
-  // final Iterables.LazyReferenceTest test = new Iterables.LazyReferenceTest();
-  // for (int i = 0; i < 10000; i++) {
-  // // test.concurrentCreate();
-  // // test.getInterruptibly();
-  // test.getNotInterruptable();
-  // }
-  // }
+public class LazyTest {
+
   static final int WAIT = 10;
 
   static void pause(final int millis) {
@@ -58,23 +46,21 @@ public class LazyReferenceTest {
     final int nThreads = 40;
     final Object[] results = new Object[nThreads];
     final AtomicInteger createCallCount = new AtomicInteger(0);
-    final Iterables.LazyReference<Object> ref = new Iterables.LazyReference<Object>() {
-      @Override protected Object create() {
-        /*
-         * We are trying to simulate an expensive object construction call. So
-         * we do a sleep here. The idea is that we will get many threads to call
-         * create() at the same time, make create "slow" and then ensure that
-         * create() method was indeed invoked only once.
-         */
-        createCallCount.incrementAndGet();
-        pause();
-        pause();
-        pause();
-        pause();
-        pause();
-        return new Object();
-      }
-    };
+    final Lazy<Object> ref = Lazy.lazy(() -> {
+      /*
+       * We are trying to simulate an expensive object construction call. So we
+       * do a sleep here. The idea is that we will get many threads to call the
+       * supplier at the same time, make it "slow" and then ensure that it was
+       * indeed invoked only once.
+       */
+      createCallCount.incrementAndGet();
+      pause();
+      pause();
+      pause();
+      pause();
+      pause();
+      return new Object();
+    });
 
     /*
      * pool size must be large enough to accommodate all Callables running in
@@ -102,7 +88,7 @@ public class LazyReferenceTest {
 
     final List<Future<Object>> futures = pool.invokeAll(tasks);
 
-    // Ensure the create() method was invoked once
+    // Ensure the supplier was invoked once
     assertEquals(1, createCallCount.get());
 
     /*
@@ -120,74 +106,68 @@ public class LazyReferenceTest {
   }
 
   @Test public void exception() {
-    final Exception myException = new Exception();
+    final RuntimeException myException = new RuntimeException();
+    final AtomicInteger calls = new AtomicInteger(0);
 
-    final Iterables.LazyReference<Object> ref = new Iterables.LazyReference<Object>() {
-      @Override protected Object create() throws Exception {
+    final Lazy<Object> ref = Lazy.lazy(() -> {
+      if (calls.incrementAndGet() == 1) {
         throw myException;
       }
-    };
+      return "recovered";
+    });
 
     try {
       ref.get();
       fail("RuntimeException should have been thrown");
     } catch (final RuntimeException yay) {
-      assertNotNull(yay.getCause());
-      assertTrue(myException == yay.getCause());
+      assertSame(myException, yay);
     }
+    assertFalse(ref.isEvaluated());
+    assertEquals("recovered", ref.get());
+    assertEquals(2, calls.get());
   }
 
   @Test public void getNotInterruptibleDoesntThrow() {
     final BooleanLatch latch = new BooleanLatch();
 
-    final Iterables.LazyReference<Integer> ref = new Iterables.LazyReference<Integer>() {
-      @Override protected Integer create() {
-        // do not interrupt
-        while (true) {
-          try {
-            latch.await();
-            return 10;
-          } catch (final InterruptedException e) {}
-        }
+    final Lazy<Integer> ref = Lazy.lazy(() -> {
+      // do not interrupt
+      while (true) {
+        try {
+          latch.await();
+          return 10;
+        } catch (final InterruptedException e) {}
       }
-    };
+    });
 
     final Thread client = new Thread(ref::get, this.getClass().getName());
     client.start();
 
     for (int i = 0; i < 10; i++) {
       pause();
-      assertFalse(ref.isInitialized());
+      assertFalse(ref.isEvaluated());
       client.interrupt();
     }
     pause();
-    assertFalse(ref.isInitialized());
+    assertFalse(ref.isEvaluated());
 
     latch.release();
     pause();
-    assertTrue(ref.isInitialized());
+    assertTrue(ref.isEvaluated());
 
     final int obj = ref.get();
     assertEquals(10, obj);
   }
 
   @Test public void getResetsInterrupted() throws Exception {
-    final Iterables.LazyReference<String> ref = new Iterables.LazyReference<String>() {
-      @Override protected String create() throws Exception {
-        return "test!";// exchange.get();
-      }
-    };
+    final Lazy<String> ref = Lazy.lazy(() -> "test!");
     Thread.currentThread().interrupt();
     ref.get();
     assertTrue(Thread.interrupted());
   }
 
   @Test(expected = InterruptedException.class) public void getInterruptiblyThrowsInterrupted() throws Exception {
-    final Iterables.LazyReference<String> ref = new Iterables.LazyReference<String>() {
-      @Override protected String create() throws Exception {
-        return "test";
-      }
-    };
+    final Lazy<String> ref = Lazy.lazy(() -> "test");
     Thread.currentThread().interrupt();
     ref.getInterruptibly();
   }
@@ -209,17 +189,15 @@ public class LazyReferenceTest {
     }
     final BooleanLatch latch = new BooleanLatch();
 
-    final Iterables.LazyReference<Integer> ref = new Iterables.LazyReference<Integer>() {
-      @Override protected Integer create() {
-        // do not interrupt
-        while (true) {
-          try {
-            latch.await();
-            return 10;
-          } catch (final InterruptedException e) {}
-        }
+    final Lazy<Integer> ref = Lazy.lazy(() -> {
+      // do not interrupt
+      while (true) {
+        try {
+          latch.await();
+          return 10;
+        } catch (final InterruptedException e) {}
       }
-    };
+    });
 
     final AtomicReference<Result<Integer>> result1 = new AtomicReference<>();
     final Thread client1 = new Thread(() -> {
@@ -244,7 +222,7 @@ public class LazyReferenceTest {
 
     for (int i = 0; i < 10; i++) {
       pause();
-      assertFalse(ref.isInitialized());
+      assertFalse(ref.isEvaluated());
       client1.interrupt();
       client2.interrupt();
     }
@@ -253,11 +231,11 @@ public class LazyReferenceTest {
     assertNotNull(result2.get().exception);
     assertEquals(InterruptedException.class, result2.get().exception.getClass());
     pause();
-    assertFalse(ref.isInitialized());
+    assertFalse(ref.isEvaluated());
 
     latch.release();
     pause();
-    assertTrue(ref.isInitialized());
+    assertTrue(ref.isEvaluated());
 
     {
       final int result = ref.get();
@@ -271,34 +249,66 @@ public class LazyReferenceTest {
     }
   }
 
-  @Test(expected = CancellationException.class) public void cancellable() throws Exception {
-    final Iterables.LazyReference<String> ref = new Iterables.LazyReference<String>() {
-      // /CLOVER:OFF
-      @Override protected String create() throws Exception {
-        return "created!";
+  @Test public void timedGet() throws Exception {
+    final BooleanLatch latch = new BooleanLatch();
+    final Lazy<Integer> ref = Lazy.lazy(() -> {
+      while (true) {
+        try {
+          latch.await();
+          return 10;
+        } catch (final InterruptedException e) {}
       }
-      // /CLOVER:ON
-    };
-    ref.cancel();
-    ref.get(); // throws
+    });
+    final Thread client = new Thread(ref::get, this.getClass().getName());
+    client.start();
+    pause();
+
+    try {
+      ref.get(WAIT, TimeUnit.MILLISECONDS);
+      fail("TimeoutException should have been thrown");
+    } catch (final TimeoutException expected) {}
+
+    latch.release();
+    assertEquals(Integer.valueOf(10), ref.get(1, TimeUnit.MINUTES));
+    client.join();
   }
 
-  @Test public void initExConstructorWithBlankExecExCause() throws Exception {
-    @SuppressWarnings("serial")
-    final ExecutionException e = new ExecutionException("") {};
-    assertSame(e, new Iterables.LazyReference.InitializationException(e).getCause());
+  @Test public void nullValue() {
+    final AtomicInteger calls = new AtomicInteger(0);
+    final Lazy<String> ref = Lazy.lazy(() -> {
+      calls.incrementAndGet();
+      return null;
+    });
+    assertNull(ref.get());
+    assertNull(ref.get());
+    assertTrue(ref.isEvaluated());
+    assertEquals(1, calls.get());
   }
 
-  @Test public void initExConstructorWithRealExecExCause() throws Exception {
-    final NoSuchMethodError er = new NoSuchMethodError();
-    assertSame(er, new Iterables.LazyReference.InitializationException(new ExecutionException("", er)).getCause());
+  @Test public void supplierValue() {
+    final Supplier<String> value = () -> "inner";
+    final Lazy<Supplier<String>> ref = Lazy.lazy(() -> value);
+    assertSame(value, ref.get());
+    assertSame(value, ref.get());
   }
 
-  @Test(expected = Iterables.LazyReference.InitializationException.class) public void reentrancy() {
-    new Iterables.LazyReference<String>() {
-      @Override protected String create() throws Exception {
-        return this.get();
-      }
-    }.get();
+  @Test public void evaluated() {
+    final Lazy<String> ref = Lazy.evaluated("done");
+    assertTrue(ref.isEvaluated());
+    assertEquals("done", ref.get());
+  }
+
+  @Test(expected = IllegalStateException.class) public void reentrancy() {
+    final AtomicReference<Lazy<String>> self = new AtomicReference<>();
+    self.set(Lazy.lazy(() -> self.get().get()));
+    self.get().get();
+  }
+
+  @Test public void complete() {
+    final Lazy<String> ref = Lazy.lazy(() -> "supplied");
+    assertTrue(ref.complete("completed"));
+    assertEquals("completed", ref.get());
+    assertFalse(ref.complete("again"));
+    assertEquals("completed", ref.get());
   }
 }
@@ -0,0 +1,51 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class LongMonoidTest {
+  private final long[] values = { 3L, -1L, 4L, 1L, 5L };
+
+  @Test public void additionSums() {
+    assertThat(LongMonoid.addition.sum(values), is(12L));
+    assertThat(LongMonoid.addition.sum(new long[0]), is(0L));
+  }
+
+  @Test public void sumOfStreamAndIterator() {
+    assertThat(LongMonoid.addition.sum(LongStream.of(values)), is(12L));
+    assertThat(LongMonoid.addition.sum(LongStream.rangeClosed(1, 1000).parallel()), is(500500L));
+    assertThat(LongMonoid.multiplication.sum(LongStream.of(values).iterator()), is(-60L));
+  }
+
+  @Test public void maximumAndMinimum() {
+    assertThat(LongMonoid.maximum.sum(values), is(5L));
+    assertThat(LongMonoid.minimum.sum(values), is(-1L));
+    assertThat(LongMonoid.maximum.sum(new long[0]), is(Long.MIN_VALUE));
+    assertThat(LongSemigroup.maximum.sumNonEmpty(2L, values), is(5L));
+    assertThat(LongSemigroup.minimum.sumNonEmpty(-2L, values), is(-2L));
+  }
+
+  @Test public void multiplyIsRepeatedAppend() {
+    for (int n = 0; n < 40; n++) {
+      final long[] copies = new long[n];
+      Arrays.fill(copies, 3L);
+      assertThat(LongMonoid.addition.multiply(n, 3L), is(LongMonoid.addition.sum(copies)));
+      assertThat(LongMonoid.multiplication.multiply(n, 3L), is(LongMonoid.multiplication.sum(copies)));
+    }
+    assertThat(LongMonoid.addition.multiply(-1, 3L), is(0L));
+  }
+
+  @Test public void boxedMonoidAgrees() {
+    final Monoid<Long> boxed = LongMonoid.addition.boxed();
+    assertThat(boxed.zero(), is(0L));
+    assertThat(boxed.append(1L, 2L), is(3L));
+    assertThat(boxed.sum(Arrays.asList(3L, -1L, 4L, 1L, 5L)), is(12L));
+    assertThat(boxed.multiply(4, 3L), is(12L));
+    assertThat(LongSemigroup.maximum.boxed().append(1L, 2L), is(2L));
+  }
+}
@@ -0,0 +1,113 @@
+package io.atlassian.fugue;
+
+import io.atlassian.fugue.law.IsEq;
+import io.atlassian.fugue.law.MonoidLaws;
+import io.atlassian.fugue.law.SemigroupLaws;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static io.atlassian.fugue.Either.left;
+import static io.atlassian.fugue.Either.right;
+import static io.atlassian.fugue.Option.none;
+import static io.atlassian.fugue.Option.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class MultiplyTest {
+  private static final int MAX = 20;
+
+  @Test public void intMultiplication() {
+    monoid(Monoids.intMultiplication, -2, 3);
+  }
+
+  @Test public void longMultiplication() {
+    monoid(Monoids.longMultiplication, -2L, 3L);
+  }
+
+  @Test public void conjunction() {
+    monoid(Monoids.conjunction, true, false);
+  }
+
+  @Test public void exclusiveDisjunction() {
+    monoid(Monoids.exclusiveDisjunction, true, false);
+  }
+
+  @Test public void iterable() {
+    final Function<Iterable<Integer>, List<Integer>> list = MultiplyTest::list;
+    observedMonoid(Monoids.<Integer> iterable(), list, Arrays.asList(1, 2), Iterables.<Integer> emptyIterable());
+  }
+
+  @Test public void firstOption() {
+    monoid(Monoids.<Integer> firstOption(), some(1), none());
+  }
+
+  @Test public void lastOption() {
+    monoid(Monoids.<Integer> lastOption(), some(1), none());
+  }
+
+  @Test public void monoidEither() {
+    monoid(Monoids.either(Semigroups.intMaximum, Monoids.intAddition), left(2), right(3));
+  }
+
+  @Test public void maxAndMin() {
+    semigroup(Semigroups.<Integer> max(), 2);
+    semigroup(Semigroups.<Integer> min(), 2);
+  }
+
+  @Test public void firstAndLast() {
+    semigroup(Semigroups.<Integer> first(), 2);
+    semigroup(Semigroups.<Integer> last(), 2);
+  }
+
+  @Test public void semigroupEither() {
+    semigroup(Semigroups.either(Semigroups.intMaximum, Semigroups.intMinimum), left(2));
+    semigroup(Semigroups.either(Semigroups.intMaximum, Monoids.intAddition), right(3));
+  }
+
+  @Test public void function() {
+    final Function<Integer, Integer> f = i -> i + 1;
+    final SemigroupLaws<Function<Integer, Integer>> laws = new SemigroupLaws<>(Semigroups.function(Monoids.intAddition));
+    for (int n = 0; n < MAX; n++) {
+      assertEqual(laws.multiply1pEqualRepeatedAppend(n, f), g -> g.apply(2));
+    }
+  }
+
+  @SafeVarargs private static <A> void monoid(final Monoid<A> monoid, final A... as) {
+    observedMonoid(monoid, Function.identity(), as);
+  }
+
+  @SafeVarargs private static <A, B> void observedMonoid(final Monoid<A> monoid, final Function<A, B> observe, final A... as) {
+    final MonoidLaws<A> monoidLaws = new MonoidLaws<>(monoid);
+    final SemigroupLaws<A> semigroupLaws = new SemigroupLaws<>(monoid);
+    for (final A a : as) {
+      for (int n = 0; n < MAX; n++) {
+        assertEqual(monoidLaws.multiplyEqualRepeatedAppend(n, a), observe);
+        assertEqual(semigroupLaws.multiply1pEqualRepeatedAppend(n, a), observe);
+      }
+    }
+  }
+
+  private static <A> void semigroup(final Semigroup<A> semigroup, final A a) {
+    final SemigroupLaws<A> laws = new SemigroupLaws<>(semigroup);
+    for (int n = 0; n < MAX; n++) {
+      assertEqual(laws.multiply1pEqualRepeatedAppend(n, a), Function.identity());
+    }
+  }
+
+  private static <A, B> void assertEqual(final IsEq<A> isEq, final Function<A, B> observe) {
+    isEq.match((lhs, rhs) -> {
+      assertThat(observe.apply(lhs), is(observe.apply(rhs)));
+      return null;
+    });
+  }
+
+  private static <A> List<A> list(final Iterable<A> as) {
+    final List<A> list = new ArrayList<>();
+    as.forEach(list::add);
+    return list;
+  }
+}
@@ -0,0 +1,102 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static io.atlassian.fugue.Option.none;
+import static io.atlassian.fugue.Option.some;
+import static io.atlassian.fugue.Pair.pair;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class OptionArrayTest {
+  private final OptionArray<Integer> array = OptionArray.of(Arrays.asList(some(1), none(), some(3), some(4)));
+
+  @Test public void elements() {
+    assertThat(array.size(), is(4));
+    assertThat(array.definedCount(), is(3));
+    assertThat(array.isDefined(0), is(true));
+    assertThat(array.isDefined(1), is(false));
+    assertThat(array.get(1), is(none()));
+    assertThat(array.get(2), is(some(3)));
+    assertThat(array.value(3), is(4));
+  }
+
+  @Test(expected = NoSuchElementException.class) public void valueOfNone() {
+    array.value(1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class) public void indexPastSize() {
+    array.isDefined(4);
+  }
+
+  @Test public void iteratesAsOptions() {
+    assertThat(array, contains(some(1), none(), some(3), some(4)));
+  }
+
+  @Test public void map() {
+    assertThat(array.map(i -> i * 10), contains(some(10), none(), some(30), some(40)));
+  }
+
+  @Test public void filter() {
+    assertThat(array.filter(i -> i > 2), contains(none(), none(), some(3), some(4)));
+  }
+
+  @Test public void flatten() {
+    assertThat(array.flatten(), contains(1, 3, 4));
+  }
+
+  @Test public void sequenceWithNone() {
+    assertThat(array.sequence(), is(none()));
+  }
+
+  @Test public void sequenceAllDefined() {
+    assertThat(OptionArray.of(Arrays.asList(some(1), some(2))).sequence(), is(some(Arrays.asList(1, 2))));
+  }
+
+  @Test public void partition() {
+    assertThat(array.partition(i -> i % 2 == 1), is(pair(Arrays.asList(1, 3), Arrays.asList(4))));
+  }
+
+  @Test public void builderMatchesOf() {
+    final OptionArray<Integer> built = OptionArray.<Integer> builder().addSome(1).addNone().add(some(3)).addSome(4).build();
+    assertThat(built, is(array));
+    assertThat(built.hashCode(), is(array.hashCode()));
+    assertThat(built.map(i -> i + 1), not(array));
+  }
+
+  @Test public void growsPastInitialCapacity() {
+    final List<Option<Integer>> options = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      options.add(i % 3 == 0 ? none() : some(i));
+    }
+    final OptionArray<Integer> large = OptionArray.of(options);
+    assertThat(large.asList(), is(options));
+    assertThat(large.definedCount(), is(133));
+  }
+
+  @Test public void builderIsNotAffectedByLaterAdds() {
+    final OptionArray.Builder<Integer> builder = OptionArray.<Integer> builder().addSome(1);
+    final OptionArray<Integer> first = builder.build();
+    builder.addNone();
+    assertThat(first.size(), is(1));
+  }
+
+  @Test public void toStringShowsElements() {
+    assertThat(array.toString(), is("OptionArray[some(1), none(), some(3), some(4)]"));
+  }
+
+  @Test(expected = NullPointerException.class) public void mapRejectsNull() {
+    array.map(i -> null);
+  }
+
+  @Test(expected = NullPointerException.class) public void builderRejectsNull() {
+    OptionArray.<Integer> builder().addSome(null);
+  }
+}
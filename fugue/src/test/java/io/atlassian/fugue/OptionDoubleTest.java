@@ -0,0 +1,44 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.stream.Stream;
+
+import static io.atlassian.fugue.OptionDouble.none;
+import static io.atlassian.fugue.OptionDouble.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class OptionDoubleTest {
+  @Test public void someAndNone() {
+    assertThat(some(1.5).get(), is(1.5));
+    assertThat(none().isEmpty(), is(true));
+  }
+
+  @Test public void equalsFollowsDoubleCompare() {
+    assertThat(some(Double.NaN), is(some(Double.NaN)));
+    assertThat(some(0.0).equals(some(-0.0)), is(false));
+  }
+
+  @Test public void mapFlatMapFilter() {
+    assertThat(some(1.0).map(d -> d * 2), is(some(2.0)));
+    assertThat(some(1.0).flatMap(d -> none()), is(none()));
+    assertThat(some(1.0).filter(d -> d > 1), is(none()));
+    assertThat(none().getOrElse(5.0), is(5.0));
+  }
+
+  @Test public void conversions() {
+    assertThat(some(1.0).toOption(), is(Option.some(1.0)));
+    assertThat(some(1.0).toOptional(), is(OptionalDouble.of(1.0)));
+    assertThat(OptionDouble.fromOption(Option.some(1.0)), is(some(1.0)));
+    assertThat(OptionDouble.fromOptional(OptionalDouble.empty()), is(none()));
+  }
+
+  @Test public void flattenDoubles() {
+    assertArrayEquals(new double[] { 1.0, 3.0 }, Stream.of(some(1.0), none(), some(3.0)).collect(FugueCollectors.flattenDoubles()), 0.0);
+    assertArrayEquals(new double[] { 2.0 }, Iterables.collectDoubles(Arrays.asList(1.0, 2.0), d -> (d > 1) ? some(d) : none()), 0.0);
+  }
+}
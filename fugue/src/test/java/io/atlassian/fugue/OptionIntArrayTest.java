@@ -0,0 +1,51 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static io.atlassian.fugue.OptionInt.none;
+import static io.atlassian.fugue.OptionInt.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+public class OptionIntArrayTest {
+  private final OptionIntArray array = OptionIntArray.builder().addSome(1).addNone().addSome(3).add(some(4)).build();
+
+  @Test public void elements() {
+    assertThat(array.size(), is(4));
+    assertThat(array.definedCount(), is(3));
+    assertThat(array.isDefined(1), is(false));
+    assertThat(array.get(1), is(none()));
+    assertThat(array.value(2), is(3));
+  }
+
+  @Test(expected = NoSuchElementException.class) public void valueOfNone() {
+    array.value(1);
+  }
+
+  @Test public void iteratesAsOptions() {
+    assertThat(array, contains(some(1), none(), some(3), some(4)));
+  }
+
+  @Test public void mapAndFilter() {
+    assertThat(array.map(i -> i * 2).filter(i -> i > 2), contains(none(), none(), some(6), some(8)));
+  }
+
+  @Test public void flatten() {
+    assertArrayEquals(new int[] { 1, 3, 4 }, array.flatten());
+  }
+
+  @Test public void sequence() {
+    assertThat(array.sequence().isDefined(), is(false));
+    assertArrayEquals(new int[] { 1, 2 }, OptionIntArray.of(Arrays.asList(some(1), some(2))).sequence().get());
+  }
+
+  @Test public void equality() {
+    assertThat(OptionIntArray.of(Arrays.asList(some(1), none(), some(3), some(4))), is(array));
+    assertThat(OptionIntArray.of(Arrays.asList(some(1), none(), some(3), some(4))).hashCode(), is(array.hashCode()));
+  }
+}
@@ -0,0 +1,156 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.stream.Stream;
+
+import static io.atlassian.fugue.OptionInt.none;
+import static io.atlassian.fugue.OptionInt.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertArrayEquals;
+
+public class OptionIntTest {
+  @Test public void someIsDefined() {
+    assertThat(some(1).isDefined(), is(true));
+    assertThat(some(1).isEmpty(), is(false));
+    assertThat(some(1).get(), is(1));
+  }
+
+  @Test public void noneIsEmpty() {
+    assertThat(none().isDefined(), is(false));
+    assertThat(none().isEmpty(), is(true));
+  }
+
+  @Test(expected = NoSuchElementException.class) public void noneGet() {
+    none().get();
+  }
+
+  @Test public void smallValuesAreCached() {
+    assertThat(some(-128), sameInstance(some(-128)));
+    assertThat(some(127), sameInstance(some(127)));
+    assertThat(some(128), not(sameInstance(some(128))));
+    assertThat(some(128), is(some(128)));
+  }
+
+  @Test public void extremeValues() {
+    assertThat(some(Integer.MAX_VALUE).get(), is(Integer.MAX_VALUE));
+    assertThat(some(Integer.MIN_VALUE).get(), is(Integer.MIN_VALUE));
+  }
+
+  @Test public void getOr() {
+    assertThat(some(1).getOrElse(2), is(1));
+    assertThat(none().getOrElse(2), is(2));
+    assertThat(some(1).getOr(() -> 2), is(1));
+    assertThat(none().getOr(() -> 2), is(2));
+  }
+
+  @Test(expected = IllegalStateException.class) public void getOrThrow() {
+    none().getOrThrow(IllegalStateException::new);
+  }
+
+  @Test(expected = AssertionError.class) public void getOrError() {
+    none().getOrError(() -> "none");
+  }
+
+  @Test public void map() {
+    assertThat(some(1).map(i -> i + 1), is(some(2)));
+    assertThat(none().map(i -> i + 1), is(none()));
+  }
+
+  @Test public void mapToObj() {
+    assertThat(some(1).mapToObj(Integer::toString), is(Option.some("1")));
+    assertThat(none().mapToObj(Integer::toString), is(Option.<String> none()));
+  }
+
+  @Test public void flatMap() {
+    assertThat(some(1).flatMap(i -> some(i * 10)), is(some(10)));
+    assertThat(some(1).flatMap(i -> none()), is(none()));
+    assertThat(none().flatMap(i -> some(i * 10)), is(none()));
+  }
+
+  @Test public void filter() {
+    assertThat(some(1).filter(i -> i > 0), is(some(1)));
+    assertThat(some(1).filter(i -> i > 1), is(none()));
+    assertThat(none().filter(i -> true), is(none()));
+  }
+
+  @Test public void fold() {
+    assertThat(some(1).fold(() -> "none", i -> "some " + i), is("some 1"));
+    assertThat(none().fold(() -> "none", i -> "some " + i), is("none"));
+  }
+
+  @Test public void existsAndForall() {
+    assertThat(some(1).exists(i -> i == 1), is(true));
+    assertThat(none().exists(i -> true), is(false));
+    assertThat(some(1).forall(i -> i == 2), is(false));
+    assertThat(none().forall(i -> false), is(true));
+  }
+
+  @Test public void orElse() {
+    assertThat(some(1).orElse(some(2)), is(some(1)));
+    assertThat(none().orElse(some(2)), is(some(2)));
+    assertThat(none().orElse(() -> some(2)), is(some(2)));
+  }
+
+  @Test public void forEach() {
+    final int[] seen = new int[1];
+    some(3).forEach(i -> seen[0] = i);
+    none().forEach(i -> seen[0] = -1);
+    assertThat(seen[0], is(3));
+  }
+
+  @Test public void conversions() {
+    assertThat(some(1).toOption(), is(Option.some(1)));
+    assertThat(none().toOption(), is(Option.<Integer> none()));
+    assertThat(some(1).toOptional(), is(OptionalInt.of(1)));
+    assertThat(none().toOptional(), is(OptionalInt.empty()));
+    assertThat(some(1).toStream().sum(), is(1));
+    assertThat(none().toStream().count(), is(0L));
+  }
+
+  @Test public void fromConversions() {
+    assertThat(OptionInt.fromOption(Option.some(1)), is(some(1)));
+    assertThat(OptionInt.fromOption(Option.none()), is(none()));
+    assertThat(OptionInt.fromOptional(OptionalInt.of(1)), is(some(1)));
+    assertThat(OptionInt.fromOptional(OptionalInt.empty()), is(none()));
+    assertThat(OptionInt.option(1), is(some(1)));
+    assertThat(OptionInt.option(null), is(none()));
+  }
+
+  @Test public void equalsAndHashCode() {
+    assertThat(some(1000).hashCode(), is(some(1000).hashCode()));
+    assertThat(some(0).equals(none()), is(false));
+    assertThat(none().equals(some(0)), is(false));
+  }
+
+  @Test public void toStringMatchesOption() {
+    assertThat(some(1).toString(), is(Option.some(1).toString()));
+    assertThat(none().toString(), is(Option.none().toString()));
+  }
+
+  @Test public void serializationResolvesNone() throws Exception {
+    assertThat(Serializer.toObject(Serializer.toBytes(none())), sameInstance(none()));
+    assertThat(Serializer.toObject(Serializer.toBytes(some(1000))), is(some(1000)));
+  }
+
+  @Test public void flattenIntsCollector() {
+    assertArrayEquals(new int[] { 1, 3 }, Stream.of(some(1), none(), some(3)).collect(FugueCollectors.flattenInts()));
+  }
+
+  @Test public void flattenIntsParallel() {
+    final int[] values = Stream.iterate(0, i -> i + 1).limit(10000).parallel().map(i -> (i % 2 == 0) ? some(i) : none())
+      .collect(FugueCollectors.flattenInts());
+    assertThat(values.length, is(5000));
+    assertThat(values[4999], is(9998));
+  }
+
+  @Test public void collectInts() {
+    assertArrayEquals(new int[] { 1, 3 }, Iterables.collectInts(Arrays.asList("1", "x", "3"), s -> s.equals("x") ? none() : some(Integer.parseInt(s))));
+  }
+}
@@ -0,0 +1,46 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import static io.atlassian.fugue.OptionLong.none;
+import static io.atlassian.fugue.OptionLong.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertArrayEquals;
+
+public class OptionLongTest {
+  @Test public void someAndNone() {
+    assertThat(some(1L).get(), is(1L));
+    assertThat(none().isEmpty(), is(true));
+    assertThat(some(Long.MIN_VALUE).get(), is(Long.MIN_VALUE));
+  }
+
+  @Test public void smallValuesAreCached() {
+    assertThat(some(-128L), sameInstance(some(-128L)));
+    assertThat(some(127L), sameInstance(some(127L)));
+  }
+
+  @Test public void mapFlatMapFilter() {
+    assertThat(some(1L).map(l -> l + 1), is(some(2L)));
+    assertThat(some(1L).flatMap(l -> none()), is(none()));
+    assertThat(some(1L).filter(l -> l > 1), is(none()));
+    assertThat(none().getOrElse(5L), is(5L));
+  }
+
+  @Test public void conversions() {
+    assertThat(some(1L).toOption(), is(Option.some(1L)));
+    assertThat(some(1L).toOptional(), is(OptionalLong.of(1L)));
+    assertThat(OptionLong.fromOption(Option.some(1L)), is(some(1L)));
+    assertThat(OptionLong.fromOptional(OptionalLong.empty()), is(none()));
+  }
+
+  @Test public void flattenLongs() {
+    assertArrayEquals(new long[] { 1L, 3L }, Stream.of(some(1L), none(), some(3L)).collect(FugueCollectors.flattenLongs()));
+    assertArrayEquals(new long[] { 2L }, Iterables.collectLongs(Arrays.asList(1L, 2L), l -> (l % 2 == 0) ? some(l) : none()));
+  }
+}
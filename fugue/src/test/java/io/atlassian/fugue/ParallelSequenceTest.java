@@ -0,0 +1,118 @@
+package io.atlassian.fugue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static io.atlassian.fugue.Eithers.parallelSequenceRight;
+import static io.atlassian.fugue.Functions.identity;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+public class ParallelSequenceTest {
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final CountDownLatch interrupted = new CountDownLatch(1);
+
+  @After public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  // blocks until interrupted
+  private <A> A block() {
+    try {
+      new CountDownLatch(1).await();
+      throw new AssertionError();
+    } catch (final InterruptedException e) {
+      interrupted.countDown();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Test public void trySuccessesInOrder() {
+    final List<Try<Integer>> trys = Arrays.asList(Checked.delay(() -> {
+      Thread.sleep(50);
+      return 1;
+    }), Checked.delay(() -> 2), Try.successful(3));
+    final Try<Iterable<Integer>> result = Try.parallelSequence(trys, executor);
+    assertThat(result.getOrElse(() -> null), contains(1, 2, 3));
+  }
+
+  @Test public void tryCustomCollector() {
+    final List<Try<Integer>> trys = Arrays.asList(Checked.delay(() -> 1), Checked.delay(() -> 2), Checked.delay(() -> 2));
+    assertThat(Try.parallelSequence(trys, executor, Collectors.toSet()).getOrElse(() -> null), contains(1, 2));
+  }
+
+  @Test public void tryRunsConcurrently() {
+    final CountDownLatch latch = new CountDownLatch(3);
+    final Checked.Supplier<Integer, Exception> s = () -> {
+      latch.countDown();
+      return latch.await(10, TimeUnit.SECONDS) ? 1 : 0;
+    };
+    final Try<Integer> result = Try.parallelSequence(Arrays.asList(Checked.delay(s), Checked.delay(s), Checked.delay(s)), executor,
+      Collectors.summingInt(Integer::intValue));
+    assertThat(result.getOrElse(() -> -1), is(3));
+  }
+
+  @Test public void tryFailureCancelsInFlight() throws InterruptedException {
+    final Exception e = new Exception("ex");
+    final Try<Integer> failure = Checked.delay(() -> {
+      throw e;
+    });
+    final Try<Iterable<Integer>> result = Try.parallelSequence(Arrays.asList(Try.delayed(this::block), failure), executor);
+    assertThat(result.fold(identity(), x -> {
+      throw new NoSuchElementException();
+    }), sameInstance(e));
+    assertThat(interrupted.await(10, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test public void tryRuntimeExceptionIsFailure() {
+    final RuntimeException e = new IllegalStateException();
+    final Try<Integer> t = Checked.delay(() -> 1).flatMap(i -> {
+      throw e;
+    });
+    assertThat(Try.parallelSequence(Arrays.asList(t), executor).fold(identity(), x -> {
+      throw new NoSuchElementException();
+    }), sameInstance(e));
+  }
+
+  @Test public void eitherRightsInOrder() throws InterruptedException {
+    final List<Supplier<Either<String, Integer>>> eithers = Arrays.asList(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (final InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      return Either.right(1);
+    }, () -> Either.right(2), () -> Either.right(3));
+    assertThat(parallelSequenceRight(eithers, executor).right().get(), contains(1, 2, 3));
+  }
+
+  @Test public void eitherCustomCollector() throws InterruptedException {
+    final List<Supplier<Either<String, Integer>>> eithers = Arrays.asList(() -> Either.right(1), () -> Either.right(2));
+    assertThat(parallelSequenceRight(eithers, executor, Collectors.summingInt(Integer::intValue)), is(Either.<String, Integer> right(3)));
+  }
+
+  @Test public void eitherLeftCancelsInFlight() throws InterruptedException {
+    final List<Supplier<Either<String, Integer>>> eithers = Arrays.asList(this::block, () -> Either.left("bad"));
+    assertThat(parallelSequenceRight(eithers, executor), is(Either.<String, Iterable<Integer>> left("bad")));
+    assertThat(interrupted.await(10, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test(expected = IllegalStateException.class) public void eitherSupplierThrows() throws InterruptedException {
+    final List<Supplier<Either<String, Integer>>> eithers = Arrays.asList(() -> {
+      throw new IllegalStateException();
+    });
+    parallelSequenceRight(eithers, executor);
+  }
+}
@@ -0,0 +1,76 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static io.atlassian.fugue.Option.none;
+import static io.atlassian.fugue.Option.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class SegmentTreeTest {
+
+  @Test public void queriesMatchSumOfSublist() {
+    final Random random = new Random(42);
+    final List<String> list = new ArrayList<>();
+    final SegmentTree<String> tree = SegmentTree.empty(Monoids.string);
+    for (int i = 0; i < 37; i++) {
+      final String s = String.valueOf((char) ('a' + random.nextInt(26)));
+      list.add(s);
+      tree.add(s);
+    }
+    for (int round = 0; round < 200; round++) {
+      final int i = random.nextInt(list.size());
+      final String s = String.valueOf((char) ('a' + random.nextInt(26)));
+      list.set(i, s);
+      tree.update(i, s);
+      final int from = random.nextInt(list.size() + 1);
+      final int to = from + random.nextInt(list.size() + 1 - from);
+      assertThat(tree.query(from, to), is(Monoids.string.sum(list.subList(from, to))));
+    }
+    assertThat(tree.sum(), is(Monoids.string.sum(list)));
+    assertThat(tree.size(), is(37));
+  }
+
+  @Test public void maximumAndFirstOption() {
+    final SegmentTree<Option<Integer>> max = SegmentTree.of(Monoids.option(Semigroups.intMaximum), Arrays.asList(some(3), some(9), none(), some(4)));
+    assertThat(max.query(0, 4), is(some(9)));
+    assertThat(max.query(2, 4), is(some(4)));
+    assertThat(max.query(2, 3), is(none()));
+    max.update(1, some(1));
+    assertThat(max.query(0, 4), is(some(4)));
+
+    final SegmentTree<Option<String>> first = SegmentTree.of(Monoids.firstOption(), Arrays.asList(none(), none(), some("c"), some("d")));
+    assertThat(first.query(0, 4), is(some("c")));
+    assertThat(first.query(3, 4), is(some("d")));
+  }
+
+  @Test public void splitFindsWherePrefixSumCrossesThreshold() {
+    final SegmentTree<Integer> tree = SegmentTree.of(Monoids.intAddition, Arrays.asList(2, 3, 0, 5, 1));
+    assertThat(tree.split(sum -> sum > 0), is(0));
+    assertThat(tree.split(sum -> sum > 5), is(3));
+    assertThat(tree.split(sum -> sum >= 5), is(1));
+    assertThat(tree.split(sum -> sum > 10), is(4));
+    assertThat(tree.split(sum -> sum > 11), is(5));
+    assertThat(SegmentTree.empty(Monoids.intAddition).split(sum -> true), is(0));
+  }
+
+  @Test public void emptyRangeIsZero() {
+    final SegmentTree<Integer> tree = SegmentTree.of(Monoids.intAddition, Arrays.asList(1, 2));
+    assertThat(tree.query(1, 1), is(0));
+    assertThat(SegmentTree.empty(Monoids.intAddition).sum(), is(0));
+    assertThat(tree.get(1), is(2));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class) public void queryPastEnd() {
+    SegmentTree.of(Monoids.intAddition, Arrays.asList(1, 2)).query(0, 3);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class) public void updatePastEnd() {
+    SegmentTree.of(Monoids.intAddition, Arrays.asList(1, 2)).update(2, 3);
+  }
+}
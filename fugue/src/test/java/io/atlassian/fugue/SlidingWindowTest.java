@@ -0,0 +1,61 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.atlassian.fugue.Option.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class SlidingWindowTest {
+
+  @Test public void windowsMatchSumOfSublists() {
+    final Random random = new Random(42);
+    final List<String> as = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      as.add(String.valueOf((char) ('a' + random.nextInt(26))));
+    }
+    for (final int size : new int[] { 1, 2, 3, 7, 50, 200 }) {
+      final List<String> expected = new ArrayList<>();
+      for (int i = 0; i < as.size(); i++) {
+        expected.add(Monoids.string.sum(as.subList(Math.max(0, i - size + 1), i + 1)));
+      }
+      final List<String> windows = new ArrayList<>();
+      Monoids.slidingWindow(Monoids.string, size).apply(as).forEach(windows::add);
+      assertThat(windows, is(expected));
+    }
+  }
+
+  @Test public void rollingMaximum() {
+    final Iterable<Option<Integer>> maxima = Monoids.slidingWindow(Monoids.option(Semigroups.intMaximum), 3).apply(
+      Iterables.map(Arrays.asList(1, 5, 2, 3, 1, 1, 4), Option::some));
+    assertThat(maxima, contains(some(1), some(5), some(5), some(5), some(3), some(3), some(4)));
+  }
+
+  @Test public void isLazy() {
+    final Iterable<Integer> sums = Monoids.slidingWindow(Monoids.intAddition, 2).apply(Iterables.iterate(i -> i + 1, 1));
+    assertThat(Iterables.take(4, sums), contains(1, 3, 5, 7));
+  }
+
+  @Test public void timeWindowEvictsOldElements() {
+    final AtomicLong now = new AtomicLong();
+    final long[] times = { 0, 1, 2, 10, 11, 30 };
+    final Iterable<Integer> as = Iterables.map(Arrays.asList(0, 1, 2, 3, 4, 5), i -> {
+      now.set(TimeUnit.SECONDS.toNanos(times[i]));
+      return 1;
+    });
+    final Iterable<Integer> counts = Monoids.slidingWindow(Monoids.intAddition, 10, TimeUnit.SECONDS, now::get).apply(as);
+    assertThat(counts, contains(1, 2, 3, 3, 3, 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void windowMustBePositive() {
+    Monoids.slidingWindow(Monoids.intAddition, 0);
+  }
+}
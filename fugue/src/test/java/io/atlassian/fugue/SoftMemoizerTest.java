@@ -0,0 +1,59 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.function.Function;
+
+import static io.atlassian.fugue.Functions.SoftMemoizer.softMemoizer;
+import static io.atlassian.fugue.Functions.softMemoize;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SoftMemoizerTest {
+
+  static Function<Integer, String> supplier() {
+    return Functions.fromSupplier(() -> new String("test"));
+  }
+
+  @Test public void callingTwiceReturnsSame() throws Exception {
+    final Function<Integer, String> memoizer = softMemoize(supplier());
+    assertSame(memoizer.apply(1), memoizer.apply(1));
+  }
+
+  @Test public void callingDifferentMemoizersReturnsDifferent() throws Exception {
+    assertNotSame(softMemoizer(supplier()).apply(1), softMemoizer(supplier()).apply(1));
+  }
+
+  @Test public void referenceNotNull() throws Exception {
+    final Functions.SoftMemoizer.MappedReference<String, String> ref = new Functions.SoftMemoizer.MappedReference<>("test", "value",
+      new ReferenceQueue<>());
+    assertNotNull(ref.getDescriptor());
+    assertNotNull(ref.get());
+  }
+
+  @Test(expected = NullPointerException.class) public void referenceNullDescriptor() throws Exception {
+    new Functions.SoftMemoizer.MappedReference<String, String>(null, "value", new ReferenceQueue<>());
+  }
+
+  @Test(expected = NullPointerException.class) public void referenceNullValue() throws Exception {
+    new Functions.SoftMemoizer.MappedReference<String, String>("ref", null, new ReferenceQueue<>());
+  }
+
+  @Test(expected = NullPointerException.class) public void nullDescriptor() throws Exception {
+    softMemoize(supplier()).apply(null);
+  }
+
+  @Test public void keepsReferenceAcrossCollections() throws Exception {
+    final Function<Integer, String> memoizer = softMemoize(supplier());
+
+    final WeakReference<String> one = new WeakReference<>(memoizer.apply(1));
+    for (int i = 0; i < 10; i++) {
+      System.gc();
+    }
+    assertNotNull(one.get());
+    assertSame(one.get(), memoizer.apply(1));
+  }
+}
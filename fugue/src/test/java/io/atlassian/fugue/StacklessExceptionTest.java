@@ -0,0 +1,58 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import static io.atlassian.fugue.Functions.identity;
+import static io.atlassian.fugue.Option.none;
+import static io.atlassian.fugue.Option.some;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+public class StacklessExceptionTest {
+  private static final StacklessException INVALID = new StacklessException("invalid");
+
+  @Test public void noStackTrace() {
+    assertThat(new StacklessException("ex").getStackTrace().length, is(0));
+  }
+
+  @Test public void stackTraceNotWritable() {
+    final StacklessException e = new StacklessException("ex");
+    e.setStackTrace(new IOException().getStackTrace());
+    assertThat(e.getStackTrace().length, is(0));
+  }
+
+  @Test public void suppressionDisabled() {
+    INVALID.addSuppressed(new IOException());
+    assertThat(INVALID.getSuppressed().length, is(0));
+  }
+
+  @Test public void messageAndCause() {
+    final IOException cause = new IOException();
+    final StacklessException e = new StacklessException("ex", cause);
+    assertThat(e.getMessage(), is("ex"));
+    assertThat(e.getCause(), sameInstance(cause));
+  }
+
+  @Test public void liftPartialDefined() {
+    final Function<String, Try<Integer>> parse = Checked.liftPartial(s -> s.isEmpty() ? none() : some(s.length()), () -> INVALID);
+    assertThat(parse.apply("abc"), is(Try.successful(3)));
+  }
+
+  @Test public void liftPartialUndefinedIsSharedFailure() {
+    final Function<String, Try<Integer>> parse = Checked.liftPartial(s -> s.isEmpty() ? none() : some(s.length()), () -> INVALID);
+    assertThat(parse.apply("").fold(identity(), i -> null), sameInstance(INVALID));
+    assertThat(parse.apply("").fold(identity(), i -> null), sameInstance(INVALID));
+  }
+
+  @Test public void liftPartialThrowing() {
+    final IOException e = new IOException();
+    final Function<String, Try<Integer>> parse = Checked.liftPartial(s -> {
+      throw e;
+    }, () -> INVALID);
+    assertThat(parse.apply("").fold(identity(), i -> null), sameInstance(e));
+  }
+}
@@ -0,0 +1,58 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static io.atlassian.fugue.Either.left;
+import static io.atlassian.fugue.Either.right;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class TraverseStreamTest {
+  @Test public void eithersAllRights() {
+    assertThat(Eithers.traverseStream(Stream.of(1, 2, 3), Either::<String, Integer> right), is(right(asList(1, 2, 3))));
+  }
+
+  @Test public void eithersCustomCollector() {
+    assertThat(Eithers.traverseStream(Stream.of(1, 2, 3), Either::<String, Integer> right, Collectors.summingInt(i -> i)), is(right(6)));
+  }
+
+  @Test public void eithersStopsPullingAtFirstLeft() {
+    final AtomicInteger pulled = new AtomicInteger();
+    final Either<Integer, ?> result = Eithers.traverseStream(Stream.iterate(0, i -> i + 1).peek(i -> pulled.incrementAndGet()), i -> (i < 5) ? right(i)
+      : left(i));
+    assertThat(result, is(left(5)));
+    assertThat(pulled.get(), is(6));
+  }
+
+  @Test public void eithersParallelStreamInEncounterOrder() {
+    assertThat(Eithers.traverseStream(IntStream.range(0, 1000).boxed().parallel(), i -> (i % 100 == 99) ? left(i) : right(i)), is(left(99)));
+  }
+
+  @Test public void trysAllSuccesses() {
+    assertThat(Try.traverseStream(Stream.of(1, 2, 3), Try::successful), is(Try.successful(asList(1, 2, 3))));
+  }
+
+  @Test public void trysStopsPullingAtFirstFailure() {
+    final AtomicInteger pulled = new AtomicInteger();
+    final Exception failure = new Exception();
+    final Try<?> result = Try.traverseStream(Stream.iterate(0, i -> i + 1).peek(i -> pulled.incrementAndGet()), i -> (i < 5) ? Try.successful(i) : Try
+      .failure(failure));
+    assertThat(result, is(Try.failure(failure)));
+    assertThat(pulled.get(), is(6));
+  }
+
+  @Test public void trysEvaluatesDelayedOnce() {
+    final AtomicInteger evaluations = new AtomicInteger();
+    assertThat(Try.traverseStream(Stream.of(1, 2), i -> Try.delayedReevaluating(() -> {
+      evaluations.incrementAndGet();
+      return Try.successful(i);
+    })), is(Try.successful(asList(1, 2))));
+    assertThat(evaluations.get(), is(2));
+  }
+}
@@ -0,0 +1,139 @@
+package io.atlassian.fugue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.summingInt;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+public class TryAsyncTest {
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test public void asyncSuccess() {
+    assertThat(TryAsync.async(executor, () -> 1).toCompletableFuture().join(), is(Try.successful(1)));
+  }
+
+  @Test public void asyncFailure() {
+    final Exception e = new Exception("ex");
+    final TryAsync<Integer> t = TryAsync.async(executor, () -> {
+      throw e;
+    });
+    assertThat(t.fold(x -> x, i -> null).join(), sameInstance(e));
+  }
+
+  @Test public void map() {
+    assertThat(TryAsync.async(executor, () -> 2).map(i -> i * 10).toCompletableFuture().join(), is(Try.successful(20)));
+  }
+
+  @Test public void mapThrowingIsFailure() {
+    final RuntimeException e = new IllegalStateException();
+    final TryAsync<Integer> t = TryAsync.successful(1).flatMap(i -> {
+      throw e;
+    });
+    assertThat(t.toTry().fold(x -> x, i -> null), sameInstance(e));
+  }
+
+  @Test public void flatMap() {
+    assertThat(TryAsync.async(executor, () -> 2).flatMap(i -> TryAsync.async(executor, () -> i + 1)).toCompletableFuture().join(), is(Try.successful(3)));
+  }
+
+  @Test public void flatMapFailureSkipsFunction() {
+    final AtomicInteger called = new AtomicInteger();
+    final TryAsync<Integer> t = TryAsync.<Integer> failure(new Exception()).flatMap(i -> TryAsync.successful(called.incrementAndGet()));
+    assertThat(t.toTry().isFailure(), is(true));
+    assertThat(called.get(), is(0));
+  }
+
+  @Test public void recover() {
+    assertThat(TryAsync.<Integer> failure(new Exception()).recover(e -> 42).toCompletableFuture().join(), is(Try.successful(42)));
+  }
+
+  @Test public void recoverWith() {
+    assertThat(TryAsync.<Integer> failure(new Exception()).recoverWith(e -> TryAsync.async(executor, () -> 42)).toCompletableFuture().join(), is(Try.successful(42)));
+  }
+
+  @Test public void recoverWithSuccessUnchanged() {
+    assertThat(TryAsync.successful(1).recoverWith(e -> TryAsync.successful(42)).toCompletableFuture().join(), is(Try.successful(1)));
+  }
+
+  @Test public void filterOrElse() {
+    final Exception e = new Exception();
+    assertThat(TryAsync.successful(1).filterOrElse(i -> i > 1, () -> e).toCompletableFuture().join(), is(Try.<Integer> failure(e)));
+  }
+
+  @Test public void toTryWaits() {
+    final CompletableFuture<Integer> f = new CompletableFuture<>();
+    final Try<Integer> t = TryAsync.fromCompletionStage(f).toTry();
+    executor.execute(() -> f.complete(1));
+    assertThat(t.getOrElse(() -> -1), is(1));
+  }
+
+  @Test public void fromTry() {
+    assertThat(TryAsync.fromTry(Try.successful(1)).toCompletableFuture().join(), is(Try.successful(1)));
+  }
+
+  @Test public void fromCompletionStage() {
+    final CompletableFuture<Integer> f = new CompletableFuture<>();
+    final TryAsync<Integer> t = TryAsync.fromCompletionStage(f).map(i -> i + 1);
+    assertThat(t.isDone(), is(false));
+    f.complete(1);
+    assertThat(t.toCompletableFuture().join(), is(Try.successful(2)));
+  }
+
+  @Test public void fromExceptionalCompletionStage() {
+    final CompletableFuture<Integer> f = new CompletableFuture<>();
+    final Exception e = new Exception();
+    f.completeExceptionally(e);
+    assertThat(TryAsync.fromCompletionStage(f).toCompletableFuture().join(), is(Try.<Integer> failure(e)));
+  }
+
+  @Test public void doesNotBlockWhileWaiting() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final TryAsync<Integer> t = TryAsync.async(executor, () -> {
+      latch.await();
+      return 1;
+    }).map(i -> i + 1);
+    assertThat(t.isDone(), is(false));
+    latch.countDown();
+    assertThat(t.toCompletableFuture().join(), is(Try.successful(2)));
+  }
+
+  @Test public void sequenceSuccess() {
+    final TryAsync<Iterable<Integer>> t = TryAsync.sequence(Arrays.asList(TryAsync.async(executor, () -> 1), TryAsync.async(executor, () -> 2), TryAsync.successful(3)));
+    assertThat(t.toTry().getOrElse(null), contains(1, 2, 3));
+  }
+
+  @Test public void sequenceFirstFailure() {
+    final Exception first = new Exception("first");
+    final TryAsync<Integer> failing = TryAsync.async(executor, () -> {
+      throw first;
+    });
+    final TryAsync<Iterable<Integer>> t = TryAsync.sequence(Arrays.asList(TryAsync.successful(1), failing, TryAsync.failure(new Exception("second"))));
+    assertThat(t.toTry().fold(x -> x, i -> null), sameInstance(first));
+  }
+
+  @Test public void sequenceRunsConcurrently() {
+    final CountDownLatch latch = new CountDownLatch(2);
+    final Checked.Supplier<Integer, Exception> both = () -> {
+      latch.countDown();
+      latch.await();
+      return 1;
+    };
+    final TryAsync<Integer> t = TryAsync.sequence(Arrays.asList(TryAsync.async(executor, both), TryAsync.async(executor, both)), summingInt(Integer::intValue));
+    assertThat(t.toCompletableFuture().join(), is(Try.successful(2)));
+  }
+}
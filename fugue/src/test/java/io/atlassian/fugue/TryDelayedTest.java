@@ -2,9 +2,11 @@ package io.atlassian.fugue;
 
 import org.junit.Test;
 
+import java.lang.ref.WeakReference;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
@@ -12,6 +14,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 
 public class TryDelayedTest {
@@ -241,4 +244,108 @@ public class TryDelayedTest {
     assertThat(iterator.hasNext(), is(false));
   }
 
+  @Test public void longMapChainIsStackSafe() {
+    Try<Integer> t = Checked.delay(() -> 0);
+    for (int i = 0; i < 100000; i++) {
+      t = t.map(x -> x + 1);
+    }
+    assertThat(t.getOrElse(() -> -1), is(100000));
+  }
+
+  @Test public void longMixedChainIsStackSafe() {
+    Try<Integer> t = Try.delayed(() -> Try.successful(0));
+    for (int i = 0; i < 100000; i++) {
+      t = (i % 3 == 0) ? t.flatMap(x -> Try.delayed(() -> Try.successful(x + 1))) : (i % 3 == 1) ? t.map(x -> x + 1) : t.recover(e -> -1);
+    }
+    assertThat(t.getOrElse(() -> -1), is(66667));
+  }
+
+  @Test public void longRecursiveFlatMapIsStackSafe() {
+    assertThat(countDown(100000).getOrElse(() -> -1), is(0));
+  }
+
+  private static Try<Integer> countDown(int n) {
+    return Try.delayed(() -> Try.successful(n)).flatMap(i -> (i == 0) ? Try.successful(0) : countDown(i - 1));
+  }
+
+  @Test public void longFailureChainIsStackSafe() {
+    Try<Integer> t = Checked.delay(() -> {
+      throw new Exception("ex");
+    });
+    for (int i = 0; i < 100000; i++) {
+      t = t.map(x -> x + 1);
+    }
+    assertThat(t.recover(e -> 42).getOrElse(() -> -1), is(42));
+  }
+
+  @Test public void composedStepsEvaluatedOnce() {
+    AtomicInteger evaluated = new AtomicInteger(0);
+    Try<Integer> t = Checked.delay(() -> 1).map(i -> evaluated.addAndGet(i * 10));
+    assertThat(t.isSuccess(), is(true));
+    assertThat(t.fold(e -> -1, i -> i), is(10));
+    assertThat(t.getOrElse(() -> -1), is(10));
+    assertThat(evaluated.get(), is(10));
+  }
+
+  @Test public void composedFromEvaluatedOnlyRunsNewSteps() {
+    AtomicInteger evaluated = new AtomicInteger(0);
+    Try<Integer> a = Checked.delay(() -> 1).map(i -> i + evaluated.incrementAndGet());
+    assertThat(a.getOrElse(() -> -1), is(2));
+    Try<Integer> b = a.map(i -> i * 10);
+    assertThat(b.getOrElse(() -> -1), is(20));
+    assertThat(evaluated.get(), is(1));
+  }
+
+  @Test public void sharedPrefixEvaluatedOnce() {
+    AtomicInteger supplied = new AtomicInteger(0);
+    AtomicInteger mapped = new AtomicInteger(0);
+    Try<Integer> root = Try.delayed(() -> Try.successful(supplied.incrementAndGet()));
+    Try<Integer> shared = root.map(i -> i + mapped.incrementAndGet());
+    Try<Integer> left = shared.map(i -> i * 10);
+    Try<Integer> right = shared.map(i -> i * 100);
+    Try<Integer> other = root.map(i -> -i);
+    assertThat(left.getOrElse(() -> -1), is(20));
+    assertThat(right.getOrElse(() -> -1), is(200));
+    assertThat(other.getOrElse(() -> 0), is(-1));
+    assertThat(shared.getOrElse(() -> -1), is(2));
+    assertThat(supplied.get(), is(1));
+    assertThat(mapped.get(), is(1));
+  }
+
+  @Test public void sharedDelayedReachedThroughFlatMapEvaluatedOnce() {
+    AtomicInteger supplied = new AtomicInteger(0);
+    Try<Integer> shared = Try.delayed(() -> Try.successful(supplied.incrementAndGet()));
+    Try<Integer> mapped = shared.map(i -> i * 10);
+    Try<Integer> viaRoot = Try.delayed(() -> Try.successful(1)).flatMap(i -> shared);
+    Try<Integer> viaMapped = Try.delayed(() -> Try.successful(1)).flatMap(i -> mapped);
+    assertThat(viaRoot.getOrElse(() -> -1), is(1));
+    assertThat(viaMapped.getOrElse(() -> -1), is(10));
+    assertThat(shared.getOrElse(() -> -1), is(1));
+    assertThat(mapped.getOrElse(() -> -1), is(10));
+    assertThat(supplied.get(), is(1));
+  }
+
+  @Test public void evaluatedChainReleasesIntermediateResults() {
+    AtomicReference<WeakReference<Object>> intermediate = new AtomicReference<>();
+    Try<Integer> last = Try.delayed(() -> Try.successful(1)).map(i -> {
+      Object value = new Object();
+      intermediate.set(new WeakReference<>(value));
+      return value;
+    }).map(o -> 2);
+    assertThat(last.getOrElse(() -> -1), is(2));
+    for (int i = 0; i < 3 && intermediate.get().get() != null; i++) {
+      System.gc();
+    }
+    assertThat(intermediate.get().get(), is(nullValue()));
+    assertThat(last.getOrElse(() -> -1), is(2));
+  }
+
+  @Test public void reevaluatingRunsEveryTime() {
+    AtomicInteger evaluated = new AtomicInteger(0);
+    Try<Integer> t = Try.delayedReevaluating(() -> Try.successful(evaluated.incrementAndGet())).map(i -> i * 10);
+    assertThat(evaluated.get(), is(0));
+    assertThat(t.getOrElse(() -> -1), is(10));
+    assertThat(t.getOrElse(() -> -1), is(20));
+    assertThat(evaluated.get(), is(2));
+  }
 }
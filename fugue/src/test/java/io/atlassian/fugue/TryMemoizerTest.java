@@ -0,0 +1,104 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertSame;
+
+public class TryMemoizerTest {
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private Try<String> flaky(final Integer i) {
+    calls.incrementAndGet();
+    return i % 2 == 0 ? Try.successful(new String("even")) : Try.failure(new TestException());
+  }
+
+  @Test public void successIsMemoized() {
+    final Function<Integer, Try<String>> memoizer = Functions.softMemoizeTry(this::flaky);
+    final Try<String> first = memoizer.apply(2);
+    assertSame(first, memoizer.apply(2));
+    assertThat(calls.get(), is(1));
+  }
+
+  @Test public void successSurvivesGarbageCollection() {
+    final Function<Integer, Try<String>> memoizer = Functions.softMemoizeTry(this::flaky);
+    assertThat(memoizer.apply(2).isSuccess(), is(true));
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    assertThat(memoizer.apply(2).isSuccess(), is(true));
+    assertThat(calls.get(), is(1));
+  }
+
+  @Test public void failureIsNotMemoized() {
+    final Function<Integer, Try<String>> memoizer = Functions.softMemoizeTry(this::flaky);
+    assertThat(memoizer.apply(1).isFailure(), is(true));
+    assertThat(memoizer.apply(1).isFailure(), is(true));
+    assertThat(calls.get(), is(2));
+  }
+
+  @Test public void failureIsMemoizedUntilExpiry() {
+    final AtomicLong now = new AtomicLong();
+    final Functions.TryMemoizer<Integer, String> memoizer = new Functions.TryMemoizer<>(this::flaky, 10L, now::get);
+
+    final Try<String> first = memoizer.apply(1);
+    now.set(9L);
+    assertSame(first, memoizer.apply(1));
+    assertThat(calls.get(), is(1));
+
+    now.set(10L);
+    assertThat(memoizer.apply(1).isFailure(), is(true));
+    assertThat(calls.get(), is(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void negativeTtl() {
+    Functions.softMemoizeTry(this::flaky, -1L, TimeUnit.SECONDS);
+  }
+
+  @Test(expected = NullPointerException.class) public void nullDescriptor() {
+    Functions.softMemoizeTry(this::flaky).apply(null);
+  }
+
+  @Test public void memoizedLift() {
+    final Function<Integer, Try<Integer>> lifted = Checked.memoizedLift(i -> {
+      calls.incrementAndGet();
+      if (i < 0) {
+        throw new TestException();
+      }
+      return i;
+    });
+    final Try<Integer> success = lifted.apply(1);
+    assertSame(success, lifted.apply(1));
+    assertThat(lifted.apply(-1).isFailure(), is(true));
+    assertThat(lifted.apply(-1).isFailure(), is(true));
+    assertThat(calls.get(), is(3));
+  }
+
+  @Test public void memoizedLiftWithFailureTtl() {
+    final Function<Integer, Try<Integer>> lifted = Checked.memoizedLift(i -> {
+      calls.incrementAndGet();
+      throw new TestException();
+    }, 1L, TimeUnit.HOURS);
+    assertSame(lifted.apply(1), lifted.apply(1));
+    assertThat(calls.get(), is(1));
+  }
+
+  @Test public void memoizedDelayedLift() {
+    final Function<Integer, Try<Integer>> lifted = Checked.memoizedDelayedLift(i -> {
+      calls.incrementAndGet();
+      return i;
+    });
+    final Try<Integer> delayed = lifted.apply(1);
+    assertThat(calls.get(), is(0));
+    assertThat(delayed.isSuccess(), is(true));
+    assertThat(lifted.apply(1).getOrElse(() -> 0), is(1));
+    assertThat(calls.get(), is(1));
+  }
+}
@@ -4,12 +4,16 @@ import org.junit.Test;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static io.atlassian.fugue.Try.failure;
 import static io.atlassian.fugue.Try.successful;
 import static java.util.Arrays.asList;
 import static java.util.Collections.shuffle;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -32,4 +36,32 @@ public class TrySuccessCollectorTest {
     assertThat(sequence.stream().collect(FugueCollectors.toTrySuccess()), is(failure(failure)));
   }
 
+  @Test public void toTrySuccess_parallelStreamOfSuccessValues_keepsEncounterOrder() {
+    assertThat(IntStream.range(0, 10_000).parallel().mapToObj(Try::successful).collect(FugueCollectors.toTrySuccess()), is(successful(IntStream.range(0,
+      10_000).boxed().collect(toList()))));
+  }
+
+  @Test public void toTrySuccess_parallelStreamWithFailures_returnsLeftMostFailure() {
+    final Exception[] failures = new Exception[10];
+    for (int i = 0; i < failures.length; i++) {
+      failures[i] = new Exception(String.valueOf(i));
+    }
+    assertThat(IntStream.range(0, 10_000).parallel().mapToObj(i -> (i % 1000 == 999) ? Try.<Integer> failure(failures[i / 1000]) : successful(i))
+      .collect(FugueCollectors.toTrySuccess()), is(failure(failures[0])));
+  }
+
+  @Test public void toTrySuccess_delayedFailure_isEvaluatedOnce() {
+    final AtomicInteger evaluations = new AtomicInteger();
+    final Exception failure = new Exception();
+    final Try<Integer> delayed = Try.delayedReevaluating(() -> {
+      evaluations.incrementAndGet();
+      return failure(failure);
+    });
+    assertThat(Stream.of(successful(1), delayed, successful(3)).collect(FugueCollectors.toTrySuccess()), is(failure(failure)));
+    assertThat(evaluations.get(), is(1));
+  }
+
+  @Test public void toTrySuccess_downstreamCollectorThrows_returnsFailure() {
+    assertThat(Stream.of(successful(1), successful(1)).collect(FugueCollectors.toTrySuccess(toMap(i -> i, i -> i))).isFailure(), is(true));
+  }
 }
@@ -0,0 +1,103 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static io.atlassian.fugue.Validation.failure;
+import static io.atlassian.fugue.Validation.success;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class ValidationTest {
+  private static final Semigroup<String> errors = (a, b) -> a + "," + b;
+
+  @Test public void successHasValue() {
+    final Validation<String, Integer> v = success(1);
+    assertThat(v.isSuccess(), is(true));
+    assertThat(v.isFailure(), is(false));
+    assertThat(v.get(), is(1));
+    assertThat(v.getOr(() -> 2), is(1));
+    assertThat(v.toEither(), is(Either.right(1)));
+    assertThat(v.toOption(), is(Option.some(1)));
+  }
+
+  @Test public void failureHasErrors() {
+    final Validation<String, Integer> v = failure("bad");
+    assertThat(v.isFailure(), is(true));
+    assertThat(v.getFailure(), is("bad"));
+    assertThat(v.getOr(() -> 2), is(2));
+    assertThat(v.toEither(), is(Either.left("bad")));
+    assertThat(v.toOption(), is(Option.none()));
+  }
+
+  @Test(expected = NoSuchElementException.class) public void getOfFailure() {
+    failure("bad").get();
+  }
+
+  @Test(expected = NoSuchElementException.class) public void getFailureOfSuccess() {
+    success(1).getFailure();
+  }
+
+  @Test public void fromEither() {
+    assertThat(Validation.fromEither(Either.right(1)), is(success(1)));
+    assertThat(Validation.fromEither(Either.left("bad")), is(failure("bad")));
+  }
+
+  @Test public void successAndFailureAreNotEqual() {
+    assertThat(success("a"), not(failure("a")));
+  }
+
+  @Test public void mapAndMapFailure() {
+    assertThat(Validation.<String, Integer> success(1).map(i -> i + 1), is(success(2)));
+    assertThat(Validation.<String, Integer> failure("bad").map(i -> i + 1), is(failure("bad")));
+    assertThat(Validation.<String, Integer> failure("bad").mapFailure(String::length), is(failure(3)));
+    assertThat(Validation.<String, Integer> success(1).mapFailure(String::length), is(success(1)));
+  }
+
+  @Test public void map2AccumulatesErrors() {
+    assertThat(Validation.map2(success(1), success(2), Integer::sum, errors), is(success(3)));
+    assertThat(Validation.map2(failure("a"), success(2), Integer::sum, errors), is(failure("a")));
+    assertThat(Validation.map2(Validation.<String, Integer> failure("a"), failure("b"), Integer::sum, errors), is(failure("a,b")));
+  }
+
+  @Test public void apAccumulatesErrors() {
+    final Function<Integer, Integer> inc = i -> i + 1;
+    assertThat(Validation.<String, Integer> success(1).ap(success(inc), errors), is(success(2)));
+    assertThat(Validation.<String, Integer> failure("a").ap(Validation.<String, Function<Integer, Integer>> failure("b"), errors), is(failure("a,b")));
+  }
+
+  @Test public void sequenceAllSuccesses() {
+    assertThat(Validation.sequence(asList(success(1), success(2)), errors), is(success(asList(1, 2))));
+  }
+
+  @Test public void sequenceAccumulatesAllErrorsInOrder() {
+    assertThat(Validation.sequence(asList(success(1), failure("a"), success(3), failure("b")), errors), is(failure("a,b")));
+  }
+
+  @Test public void traverseStopsCollectingValuesAfterFailure() {
+    final AtomicInteger collected = new AtomicInteger();
+    final Validation<String, Integer> result = Validation.traverse(asList(1, 2, 3, 4), i -> (i == 2) ? failure("2") : success(i), errors, Collectors
+      .reducing(0, i -> collected.incrementAndGet(), Integer::sum));
+    assertThat(result, is(failure("2")));
+    assertThat(collected.get(), is(1));
+  }
+
+  @Test public void toValidationCollector() {
+    assertThat(Stream.<Validation<String, Integer>> of(success(1), failure("a"), failure("b")).collect(FugueCollectors.toValidation(errors)),
+      is(failure("a,b")));
+    assertThat(Stream.<Validation<String, Integer>> of(success(1), success(2)).collect(FugueCollectors.toValidation(errors)), is(success(asList(1, 2))));
+  }
+
+  @Test public void toValidationCollectorParallelKeepsEncounterOrder() {
+    assertThat(IntStream.range(0, 1000).parallel().<Validation<String, Integer>> mapToObj(i -> (i % 100 == 0) ? failure(String.valueOf(i)) : success(i))
+      .collect(FugueCollectors.toValidation(errors)), is(failure("0,100,200,300,400,500,600,700,800,900")));
+  }
+}
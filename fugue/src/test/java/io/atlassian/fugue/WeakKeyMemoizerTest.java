@@ -0,0 +1,94 @@
+package io.atlassian.fugue;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static io.atlassian.fugue.Functions.WeakKeyMemoizer.weakKeyMemoizer;
+import static io.atlassian.fugue.Functions.weakKeyMemoize;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class WeakKeyMemoizerTest {
+
+  static Function<Object, String> supplier() {
+    return Functions.fromSupplier(() -> new String("test"));
+  }
+
+  @Test public void callingTwiceReturnsSame() throws Exception {
+    final Function<Object, String> memoizer = weakKeyMemoize(supplier());
+    final Object key = new Object();
+    assertSame(memoizer.apply(key), memoizer.apply(key));
+  }
+
+  @Test public void keysAreComparedByIdentity() throws Exception {
+    final Function<Object, String> memoizer = weakKeyMemoize(supplier());
+    assertNotSame(memoizer.apply(new String("key")), memoizer.apply(new String("key")));
+  }
+
+  @Test public void callingDifferentMemoizersReturnsDifferent() throws Exception {
+    final Object key = new Object();
+    assertNotSame(weakKeyMemoizer(supplier()).apply(key), weakKeyMemoizer(supplier()).apply(key));
+  }
+
+  @Test public void weakKeysOfTheSameKeyAreEqual() throws Exception {
+    final Functions.WeakKeyMemoizer<Object, String> memoizer = weakKeyMemoizer(supplier());
+    final Object key = new Object();
+    final String value = memoizer.apply(key);
+    // a second insert, as by a thread that missed at the same time, finds the
+    // first entry
+    assertSame(value, memoizer.map.putIfAbsent(new Functions.WeakKeyMemoizer.WeakKey<>(key, memoizer.queue), "other"));
+    assertThat(memoizer.map.size(), is(1));
+  }
+
+  @Test(expected = NullPointerException.class) public void nullDescriptor() throws Exception {
+    weakKeyMemoize(supplier()).apply(null);
+  }
+
+  @Test(expected = NullPointerException.class) public void nullValue() throws Exception {
+    weakKeyMemoize(o -> null).apply(new Object());
+  }
+
+  @Test public void many() throws Exception {
+    final AtomicInteger calls = new AtomicInteger();
+    final Function<Object, String> memoizer = weakKeyMemoize(o -> {
+      calls.incrementAndGet();
+      return o.toString();
+    });
+
+    final Object[] keys = new Object[1000];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = new Object();
+    }
+    for (int i = 0; i < 10; i++) {
+      System.gc();
+      for (final Object key : keys) {
+        assertSame(memoizer.apply(key), memoizer.apply(key));
+      }
+    }
+    assertThat(calls.get(), is(keys.length));
+  }
+
+  @Test public void losesKey() throws Exception {
+    final Functions.WeakKeyMemoizer<Object, String> memoizer = weakKeyMemoizer(supplier());
+
+    final Object other = new Object();
+    memoizer.apply(other);
+    Object key = new Object();
+    memoizer.apply(key);
+    final WeakReference<Object> ref = new WeakReference<>(key);
+    key = null;
+    for (int i = 0; i < 10 && memoizer.map.size() != 1; i++) {
+      System.gc();
+      memoizer.expungeStaleEntries();
+    }
+    assertNull(ref.get());
+    assertThat(memoizer.map.size(), is(1));
+    assertSame(memoizer.apply(other), memoizer.apply(other));
+  }
+}
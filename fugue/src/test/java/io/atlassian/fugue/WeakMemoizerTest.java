@@ -8,10 +8,13 @@ import java.util.function.Function;
 
 import static io.atlassian.fugue.Functions.WeakMemoizer.weakMemoizer;
 import static io.atlassian.fugue.Functions.weakMemoize;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class WeakMemoizerTest {
 
@@ -66,4 +69,19 @@ public class WeakMemoizerTest {
     assertNotNull(memoizer.apply(1));
     assertNull(one.get());
   }
+
+  @Test public void expungesOnMiss() throws Exception {
+    final Functions.WeakMemoizer<Integer, String> memoizer = weakMemoizer(supplier());
+
+    for (int i = 0; i < 100; i++) {
+      memoizer.apply(i);
+    }
+    for (int i = 0; i < 10 && !memoizer.map.isEmpty(); i++) {
+      System.gc();
+      memoizer.expungeStaleEntries();
+    }
+    assertTrue(memoizer.map.isEmpty());
+    memoizer.apply(1);
+    assertThat(memoizer.map.size(), is(1));
+  }
 }
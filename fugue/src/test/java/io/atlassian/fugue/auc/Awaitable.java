@@ -19,7 +19,7 @@ package io.atlassian.fugue.auc;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Class exists to support testing LazyReference it is not intended for general
+ * Class exists to support testing Lazy it is not intended for general
  * use. See atlassian.util.concurrent.Awaitable
  *
  * Something that can be awaited upon.
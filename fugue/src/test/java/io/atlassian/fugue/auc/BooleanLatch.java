@@ -21,7 +21,7 @@ import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 import java.util.concurrent.locks.Condition;
 
 /**
- * Class exists to support testing LazyReference it is not intended for general
+ * Class exists to support testing Lazy it is not intended for general
  * use. See atlassian.util.concurrent.BooleanLatch
  *
  * A {@link BooleanLatch} is a reusable latch that resets after it is released